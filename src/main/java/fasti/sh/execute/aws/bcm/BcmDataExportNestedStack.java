@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awscdk.NestedStack;
 import software.amazon.awscdk.NestedStackProps;
+import software.amazon.awscdk.Stack;
 import software.amazon.awscdk.services.bcmdataexports.CfnExport;
 import software.amazon.awscdk.services.bcmdataexports.CfnExport.DataQueryProperty;
 import software.amazon.awscdk.services.bcmdataexports.CfnExport.DestinationConfigurationsProperty;
@@ -23,15 +24,26 @@ public class BcmDataExportNestedStack extends NestedStack {
   private final BucketConstruct storage;
   private final CfnExport export;
 
+  record BcmDataExport(
+    BucketConstruct storage,
+    CfnExport export
+  ) {}
+
   public BcmDataExportNestedStack(Construct scope, Common common, DataExportConf conf, NestedStackProps props) {
     super(scope, "bcmdataexport", props);
 
     log.debug("billing and cost management configuration [common: {} data-export: {}]", common, conf);
 
-    this.storage = new BucketConstruct(this, common, conf.bucket());
+    var bcm = build(this, common, conf);
+    this.storage = bcm.storage();
+    this.export = bcm.export();
+  }
+
+  static BcmDataExport build(Stack stack, Common common, DataExportConf conf) {
+    var storage = new BucketConstruct(stack, common, conf.bucket());
 
-    this.export = CfnExport.Builder
-      .create(this, conf.name())
+    var export = CfnExport.Builder
+      .create(stack, conf.name())
       .export(
         ExportProperty
           .builder()
@@ -67,6 +79,8 @@ public class BcmDataExportNestedStack extends NestedStack {
       .tags(conf.tags().entrySet().stream().map(e -> ResourceTagProperty.builder().key(e.getKey()).value(e.getValue()).build()).toList())
       .build();
 
-    this.export().getNode().addDependency(this.storage());
+    export.getNode().addDependency(storage);
+
+    return new BcmDataExport(storage, export);
   }
 }
@@ -0,0 +1,39 @@
+package fasti.sh.execute.aws.bcm;
+
+import static fasti.sh.execute.serialization.Format.name;
+
+import fasti.sh.execute.aws.s3.BucketConstruct;
+import fasti.sh.model.aws.bcm.DataExportConf;
+import fasti.sh.model.main.Common;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.services.bcmdataexports.CfnExport;
+import software.constructs.Construct;
+
+/**
+ * Top-level stack variant of {@link BcmDataExportNestedStack} that deploys the data export and its bucket as their own CloudFormation
+ * stack, with the same contents and logical ids. Switching an existing deployment between the variants replaces its resources, see
+ * {@link fasti.sh.execute.aws.cdk.Stacks}.
+ *
+ * @author CDK Common Framework
+ * @see BcmDataExportNestedStack for the nested stack variant
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class BcmDataExportStack extends Stack {
+  private final BucketConstruct storage;
+  private final CfnExport export;
+
+  public BcmDataExportStack(Construct scope, Common common, DataExportConf conf, StackProps props) {
+    super(scope, name(common.id(), "bcmdataexport"), props);
+
+    log.debug("billing and cost management configuration [common: {} data-export: {}]", common, conf);
+
+    var bcm = BcmDataExportNestedStack.build(this, common, conf);
+    this.storage = bcm.storage();
+    this.export = bcm.export();
+  }
+}
@@ -0,0 +1,218 @@
+package fasti.sh.execute.aws.cdk;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.AspectOptions;
+import software.amazon.awscdk.AspectPriority;
+import software.amazon.awscdk.Aspects;
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.IAspect;
+import software.amazon.awscdk.Stack;
+import software.constructs.IConstruct;
+
+/**
+ * Synth-time aspect that computes the transitive reduction of the explicit dependency graph of every stack and drops redundant
+ * {@code DependsOn} edges.
+ *
+ * <p>
+ * The graph is built per stack from the CloudFormation resources it contains. A resource depends on every resource it was given through
+ * {@link CfnResource#addDependency(CfnResource)} and on every resource below a construct that it, or one of its ancestors, depends on
+ * through {@code getNode().addDependency(...)}. An edge {@code a -> c} is redundant when {@code c} is still reachable from {@code a}
+ * through another edge, for example {@code a -> b -> c}. Deployment order is unchanged, but independent resources no longer wait on each
+ * other and templates shrink.
+ *
+ * <p>
+ * <b>Conservative Rewrites:</b>
+ *
+ * <ul>
+ * <li><b>Same Stack</b> - Only edges between resources of the same template are considered
+ * <li><b>Untouched Resources</b> - Resources with dependencies outside their stack and nested stack resources keep their
+ * {@code DependsOn} as rendered, but still take part in the reachability check
+ * <li><b>Cycles</b> - A stack with a dependency cycle is reported and left unchanged
+ * </ul>
+ *
+ * <p>
+ * The rewrite is applied as a {@code DependsOn} override, so {@link #of(IConstruct, boolean)} registers the aspect at default priority,
+ * after the mutating aspects that add dependencies. With {@code apply} set to {@code false} the aspect only builds the report and runs as
+ * a read-only aspect. {@link #removed()} lists the edges dropped from rewritable resources, or that would be with {@code apply} off; edges
+ * of untouched resources are never listed.
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ *
+ * <pre>{@code
+ * var reduction = DependencyReductionAspect.of(app, true);
+ * app.synth();
+ *
+ * reduction.removed().forEach(edge -> log.info("dropped {}", edge));
+ * Files.writeString(Path.of("dependencies.dot"), reduction.dot());
+ * }</pre>
+ *
+ * @author CDK Common Framework
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class DependencyReductionAspect implements IAspect {
+  private static final String NESTED_STACK_TYPE = "AWS::CloudFormation::Stack";
+
+  private final boolean apply;
+  private final Map<String, Set<String>> graph = new LinkedHashMap<>();
+  private final List<Edge> removed = new ArrayList<>();
+
+  public record Edge(
+    String source,
+    String target
+  ) {
+    @Override
+    public String toString() {
+      return source() + " -> " + target();
+    }
+  }
+
+  public DependencyReductionAspect(boolean apply) {
+    this.apply = apply;
+  }
+
+  public static DependencyReductionAspect of(IConstruct scope, boolean apply) {
+    var aspect = new DependencyReductionAspect(apply);
+    var priority = apply ? AspectPriority.DEFAULT : AspectPriority.READONLY;
+    Aspects.of(scope).add(aspect, AspectOptions.builder().priority(priority).build());
+    return aspect;
+  }
+
+  @Override
+  public void visit(IConstruct node) {
+    if (Stack.isStack(node))
+      this.reduce((Stack) node);
+  }
+
+  public String dot() {
+    var edges = this
+      .graph()
+      .entrySet()
+      .stream()
+      .flatMap(e -> e.getValue().stream().map(target -> String.format("  \"%s\" -> \"%s\";", e.getKey(), target)))
+      .collect(Collectors.joining("\n"));
+
+    return "digraph dependencies {\n" + edges + (edges.isEmpty() ? "" : "\n") + "}\n";
+  }
+
+  private void reduce(Stack stack) {
+    var resources = new LinkedHashMap<String, CfnResource>();
+    resources(stack).forEach(r -> resources.put(r.getNode().getPath(), r));
+
+    var dependencies = new LinkedHashMap<String, Set<String>>();
+    var pinned = new HashSet<String>();
+    resources.forEach((path, resource) -> {
+      var targets = new LinkedHashSet<String>();
+      var declared = Stream
+        .concat(
+          resource.obtainResourceDependencies().stream(),
+          resource.getNode().getScopes().stream().flatMap(s -> s.getNode().getDependencies().stream()).flatMap(t -> cfn(t).stream()));
+
+      declared.map(t -> t.getNode().getPath()).filter(t -> !t.equals(path)).forEach(t -> {
+        if (resources.containsKey(t))
+          targets.add(t);
+        else
+          pinned.add(path);
+      });
+
+      if (NESTED_STACK_TYPE.equals(resource.getCfnResourceType()))
+        pinned.add(path);
+
+      dependencies.put(path, targets);
+    });
+
+    var reachable = new HashMap<String, Set<String>>();
+    for (var path : dependencies.keySet()) {
+      if (reach(path, dependencies, reachable, new HashSet<>()) == null) {
+        log.warn("dependency cycle in stack {} through {}, skipping reduction", stack.getNode().getPath(), path);
+        this.graph().putAll(dependencies);
+        return;
+      }
+    }
+
+    var dropped = 0;
+    for (var entry : dependencies.entrySet()) {
+      var source = entry.getKey();
+      var targets = entry.getValue();
+      if (pinned.contains(source)) {
+        this.graph().put(source, targets);
+        continue;
+      }
+
+      var kept = targets
+        .stream()
+        .filter(target -> targets.stream().noneMatch(other -> !other.equals(target) && reachable.get(other).contains(target)))
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+      this.graph().put(source, kept);
+      if (kept.size() == targets.size())
+        continue;
+
+      targets.stream().filter(t -> !kept.contains(t)).forEach(t -> this.removed().add(new Edge(source, t)));
+      dropped += targets.size() - kept.size();
+
+      if (this.apply())
+        this.override(resources.get(source), kept.stream().map(resources::get).toList());
+    }
+
+    log.debug("dependency reduction [stack: {} resources: {} dropped: {} apply: {}]", stack.getNode().getPath(), resources.size(), dropped,
+      this.apply());
+  }
+
+  private void override(CfnResource resource, List<CfnResource> targets) {
+    if (targets.isEmpty())
+      resource.addDeletionOverride("DependsOn");
+    else
+      resource.addOverride("DependsOn", targets.stream().map(CfnResource::getLogicalId).toList());
+  }
+
+  private static Set<String> reach(String path, Map<String, Set<String>> dependencies, Map<String, Set<String>> reachable,
+    Set<String> visiting) {
+    if (reachable.containsKey(path))
+      return reachable.get(path);
+    if (!visiting.add(path))
+      return null;
+
+    var reach = new HashSet<String>();
+    for (var target : dependencies.get(path)) {
+      var next = reach(target, dependencies, reachable, visiting);
+      if (next == null)
+        return null;
+
+      reach.add(target);
+      reach.addAll(next);
+    }
+
+    visiting.remove(path);
+    reachable.put(path, reach);
+    return reach;
+  }
+
+  private static List<CfnResource> resources(IConstruct scope) {
+    var found = new ArrayList<CfnResource>();
+    scope.getNode().getChildren().stream().filter(child -> !Stack.isStack(child)).forEach(child -> {
+      if (CfnResource.isCfnResource(child))
+        found.add((CfnResource) child);
+      found.addAll(resources(child));
+    });
+
+    return found;
+  }
+
+  private static List<CfnResource> cfn(IConstruct target) {
+    return target.getNode().findAll().stream().filter(CfnResource::isCfnResource).map(CfnResource.class::cast).toList();
+  }
+}
@@ -0,0 +1,188 @@
+package fasti.sh.execute.aws.cdk;
+
+import static fasti.sh.execute.serialization.Format.describe;
+import static fasti.sh.execute.serialization.Format.id;
+
+import fasti.sh.model.aws.cdk.ShardConf;
+import fasti.sh.model.main.Common;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.NestedStack;
+import software.amazon.awscdk.NestedStackProps;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+import software.constructs.IConstruct;
+
+/**
+ * Resource-count sharding construct that spreads large groups of constructs across as many nested stacks as needed to keep each template
+ * under the CloudFormation resource limit.
+ *
+ * <p>
+ * Constructs are added through {@link #add(String, int, Function)} with the number of resources they are expected to create and a factory
+ * that receives the scope to build into. Placement only uses that declared weight, so each factory runs exactly once, directly in its
+ * final shard, and anything it wires outside the shard (grants, dependencies, exports) refers to the construct that is deployed. The
+ * resources a factory actually created are counted afterwards and a declared weight that understates them is logged.
+ *
+ * <p>
+ * <b>Logical Id Stability:</b>
+ *
+ * <ul>
+ * <li><b>Shard Ids</b> - Shards are named {@code <name>.<index>} and never renamed; only shards that receive a construct are created
+ * <li><b>Relative Paths</b> - Constructs keep the id they would have had in the parent, only their stack changes
+ * <li><b>Sticky Layout</b> - Ids found in the {@code hosted:shards:<name>} context map or in {@link ShardConf#pinned()} always go to
+ * their recorded shard, whatever their size now. Only ids missing from both are placed, next-fit in declaration order, into shards after
+ * the highest recorded one, so adding constructs or growing existing ones never moves a recorded construct to another nested stack
+ * <li><b>Named Resources</b> - Moving a construct into a shard replaces its resources, and CloudFormation creates the replacement before
+ * it deletes the original. A resource with an explicit physical name, such as an alarm with an {@code alarmName}, then collides with
+ * itself, so shard named resources only in a new stack or after renaming them
+ * </ul>
+ *
+ * <p>
+ * Persist {@link #assignments()} (logged for every placed id) into the {@code hosted:shards:<name>} context after the first deploy of a
+ * layout, so the placement survives later changes to weights and declaration order.
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ *
+ * <pre>{@code
+ * var shards = new ShardsConstruct(this, common, new ShardConf("observability", 400, Map.of()));
+ *
+ * alarms.forEach(conf -> shards.add(id("alarm", conf.name()), 1, scope -> Alarm.Builder.create(scope, id("alarm", conf.name()))
+ *   .metric(metric(conf))
+ *   .threshold(conf.threshold())
+ *   .evaluationPeriods(conf.evaluationPeriods())
+ *   .build()));
+ * }</pre>
+ *
+ * <p>
+ * REST API integrations are not sharded: methods in a nested stack need a deployment that depends on that stack, which
+ * {@code RestApiConstruct} does not create, so they stay in the stack of their API.
+ *
+ * @author CDK Common Framework
+ * @see ShardConf for shard configuration
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class ShardsConstruct extends Construct {
+  public static final int DEFAULT_RESOURCE_BUDGET = 400;
+  public static final String LAYOUT = "hosted:shards:%s";
+
+  private final Common common;
+  private final ShardConf conf;
+  private final Map<Integer, NestedStack> shards = new TreeMap<>();
+  private final Map<Integer, Integer> weights = new TreeMap<>();
+  private final Map<Integer, Integer> counts = new TreeMap<>();
+  private final Map<String, Integer> assignments = new LinkedHashMap<>();
+  private final Map<String, Integer> layout;
+  private int current;
+
+  public ShardsConstruct(Construct scope, Common common, ShardConf conf) {
+    super(scope, id("shards", conf.name()));
+
+    log.debug("{} [common: {} conf: {}]", "ShardsConstruct", common, conf);
+
+    this.common = common;
+    this.conf = conf;
+    this.layout = layout(scope, conf);
+    this.current = this.layout().values().stream().mapToInt(index -> index + 1).max().orElse(0);
+
+    this.getNode().addValidation(this::validate);
+  }
+
+  public <T extends Construct> T add(String id, int weight, Function<Construct, T> factory) {
+    var recorded = this.layout().get(id);
+    var index = recorded != null ? recorded : this.place(id, weight);
+
+    var shard = this.shard(index);
+    var existing = children(shard);
+    var construct = factory.apply(shard);
+    var count = count(added(shard, existing));
+
+    if (count > weight)
+      log.warn("{} declared {} resources but created {}, later placements may overflow shard {}", id, weight, count, index);
+
+    this.weights().merge(index, weight, Integer::sum);
+    this.counts().merge(index, count, Integer::sum);
+    this.assignments().put(id, index);
+
+    if (recorded == null)
+      log.info("shard {} assigned {} [record under {} to keep it there]", index, id, String.format(LAYOUT, this.conf().name()));
+    if (this.counts().get(index) > this.budget())
+      log.warn("shard {} exceeds resource budget after adding {} [resources: {} budget: {}]", index, id, this.counts().get(index),
+        this.budget());
+
+    return construct;
+  }
+
+  public int budget() {
+    return this.conf().resourceBudget() > 0 ? this.conf().resourceBudget() : DEFAULT_RESOURCE_BUDGET;
+  }
+
+  public static int resources(IConstruct scope) {
+    if (Stack.isStack(scope))
+      return 0;
+
+    var self = CfnResource.isCfnResource(scope) ? 1 : 0;
+    return self + scope.getNode().getChildren().stream().mapToInt(ShardsConstruct::resources).sum();
+  }
+
+  /**
+   * Next-fit over the shards after the recorded layout; a construct heavier than the budget still gets a shard of its own.
+   */
+  private int place(String id, int weight) {
+    var used = this.weights().getOrDefault(this.current, 0);
+    if (used > 0 && used + weight > this.budget()) {
+      log.debug("shard {} overflows with {} [resources: {} budget: {}]", this.current, id, used + weight, this.budget());
+      this.current++;
+    }
+
+    return this.current;
+  }
+
+  private NestedStack shard(int index) {
+    return this.shards().computeIfAbsent(index, next -> new NestedStack(this, id(this.conf().name(), String.valueOf(next)),
+      NestedStackProps.builder().description(describe(this.common(), this.conf().name(), "shard", String.valueOf(next))).build()));
+  }
+
+  private List<String> validate() {
+    return this
+      .shards()
+      .entrySet()
+      .stream()
+      .filter(shard -> shard.getValue().getNode().getChildren().stream().mapToInt(ShardsConstruct::resources).sum() == 0)
+      .map(shard -> String.format("shard %s of %s has no resources, CloudFormation rejects an empty template", shard.getKey(),
+        this.conf().name()))
+      .toList();
+  }
+
+  private static Map<String, Integer> layout(Construct scope, ShardConf conf) {
+    var layout = new LinkedHashMap<String, Integer>();
+    if (scope.getNode().tryGetContext(String.format(LAYOUT, conf.name())) instanceof Map<?, ?> recorded)
+      recorded.forEach((id, index) -> layout.put(id.toString(), ((Number) index).intValue()));
+    Optional.ofNullable(conf.pinned()).ifPresent(layout::putAll);
+    return layout;
+  }
+
+  private static int count(List<IConstruct> added) {
+    return added.stream().mapToInt(ShardsConstruct::resources).sum();
+  }
+
+  private static HashSet<String> children(Construct shard) {
+    var ids = new HashSet<String>();
+    shard.getNode().getChildren().forEach(child -> ids.add(child.getNode().getId()));
+    return ids;
+  }
+
+  private static List<IConstruct> added(Construct shard, HashSet<String> existing) {
+    return shard.getNode().getChildren().stream().filter(child -> !existing.contains(child.getNode().getId())).toList();
+  }
+}
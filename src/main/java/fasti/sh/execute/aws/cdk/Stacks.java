@@ -0,0 +1,38 @@
+package fasti.sh.execute.aws.cdk;
+
+import java.util.Optional;
+import software.constructs.Construct;
+
+/**
+ * Deployment unit helpers for choosing between nested stacks and independently deployed top-level stacks.
+ *
+ * <p>
+ * Nested stacks deploy as one serialized update of their parent and roll back together. With {@code hosted:stacks:standalone} set to
+ * {@code true} in context, callers create the top-level variants ({@code EksStack}, {@code NetworkStack}, {@code SynthesizerStack},
+ * {@code BcmDataExportStack}) instead, so {@code cdk deploy --concurrency} can deploy independent units in parallel and a failure only
+ * rolls back its own unit.
+ *
+ * <p>
+ * The choice is fixed for the life of a deployment. A resource belongs to its stack as well as its logical id, so moving it between a
+ * nested stack and a top-level stack deletes it in one and creates it in the other: resources are replaced and explicitly named ones,
+ * such as the EKS cluster, collide on create. Only set {@code hosted:stacks:standalone} for new deployments.
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ *
+ * <pre>{@code
+ * Vpc vpc = Stacks.standalone(app)
+ *   ? new NetworkStack(app, common, networkConf, stackProps).vpc()
+ *   : new NetworkNestedStack(parent, common, networkConf, nestedStackProps).vpc();
+ * }</pre>
+ *
+ * @author CDK Common Framework
+ * @since 1.0.0
+ */
+public class Stacks {
+  public static final String STANDALONE = "hosted:stacks:standalone";
+
+  public static boolean standalone(Construct scope) {
+    return Optional.ofNullable(scope.getNode().tryGetContext(STANDALONE)).map(Object::toString).map(Boolean::parseBoolean).orElse(false);
+  }
+}
@@ -0,0 +1,174 @@
+package fasti.sh.execute.aws.cdk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import fasti.sh.execute.serialization.Mapper;
+import fasti.sh.model.aws.cdk.TemplateBudget;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.cxapi.CloudAssembly;
+
+/**
+ * Post-synth analyzer that reports the size of every template in a cloud assembly, including nested stack templates, and checks it against
+ * a {@link TemplateBudget}.
+ *
+ * <p>
+ * Each {@link Report} carries resource, output, export and parameter counts, the template size in bytes and the construct paths that
+ * contribute the most bytes. Construct paths come from the {@code aws:cdk:path} resource metadata and fall back to the logical id when path
+ * metadata is disabled.
+ *
+ * <p>
+ * {@link #enforce(CloudAssembly, TemplateBudget)} logs every finding and throws when any limit is exceeded, so it can gate CI right after
+ * {@code app.synth()}.
+ *
+ * @author CDK Common Framework
+ * @see TemplateBudgetAspect for synth-time resource, output and parameter checks
+ * @since 1.0.0
+ */
+@Slf4j
+public class TemplateAnalyzer {
+  private static final String TEMPLATE_SUFFIX = ".template.json";
+
+  public enum Severity {
+    WARNING,
+    ERROR
+  }
+
+  public record Contributor(
+    String path,
+    int resources,
+    long bytes
+  ) {}
+
+  public record Report(
+    String template,
+    int resources,
+    int outputs,
+    int exports,
+    int parameters,
+    long bytes,
+    List<Contributor> contributors
+  ) {}
+
+  public record Finding(
+    String template,
+    String metric,
+    long value,
+    long limit,
+    Severity severity
+  ) {
+    @Override
+    public String toString() {
+      return String.format("%s template %s %s: %d of %d", severity(), template(), metric(), value(), limit());
+    }
+  }
+
+  @SneakyThrows
+  public static List<Report> analyze(CloudAssembly assembly, int contributors) {
+    try (Stream<Path> files = Files.list(Path.of(assembly.getDirectory()))) {
+      return files
+        .filter(file -> file.getFileName().toString().endsWith(TEMPLATE_SUFFIX))
+        .sorted()
+        .map(file -> report(file, contributors))
+        .toList();
+    }
+  }
+
+  public static List<Finding> check(List<Report> reports, TemplateBudget budget) {
+    var findings = new ArrayList<Finding>();
+    reports.forEach(report -> {
+      finding(report, "resources", report.resources(), budget.resources(), budget.warnPercent()).ifPresent(findings::add);
+      finding(report, "outputs", report.outputs(), budget.outputs(), budget.warnPercent()).ifPresent(findings::add);
+      finding(report, "parameters", report.parameters(), budget.parameters(), budget.warnPercent()).ifPresent(findings::add);
+      finding(report, "bytes", report.bytes(), budget.bytes(), budget.warnPercent()).ifPresent(findings::add);
+    });
+
+    return findings;
+  }
+
+  public static List<Report> enforce(CloudAssembly assembly, TemplateBudget budget) {
+    var reports = analyze(assembly, budget.contributors());
+    reports
+      .forEach(report -> log
+        .info("template {} [resources: {} outputs: {} exports: {} parameters: {} bytes: {} contributors: {}]", report.template(),
+          report.resources(), report.outputs(), report.exports(), report.parameters(), report.bytes(), report.contributors()));
+
+    var findings = check(reports, budget);
+    findings.stream().filter(f -> f.severity() == Severity.WARNING).forEach(f -> log.warn("{}", f));
+
+    var errors = findings.stream().filter(f -> f.severity() == Severity.ERROR).toList();
+    if (!errors.isEmpty()) {
+      errors.forEach(f -> log.error("{}", f));
+      throw new IllegalStateException("template budget exceeded: " + errors);
+    }
+
+    return reports;
+  }
+
+  static Severity severity(long value, long limit, int warnPercent) {
+    if (limit <= 0)
+      return null;
+    if (value > limit)
+      return Severity.ERROR;
+    if (value * 100 >= limit * warnPercent)
+      return Severity.WARNING;
+
+    return null;
+  }
+
+  private static Optional<Finding> finding(Report report, String metric, long value, long limit, int warnPercent) {
+    return Optional
+      .ofNullable(severity(value, limit, warnPercent))
+      .map(severity -> new Finding(report.template(), metric, value, limit, severity));
+  }
+
+  @SneakyThrows
+  private static Report report(Path file, int limit) {
+    var body = Files.readString(file);
+    var template = Mapper.json().readTree(body);
+    var name = file.getFileName().toString();
+
+    var contributors = new LinkedHashMap<String, Contributor>();
+    template.path("Resources").properties().forEach(entry -> {
+      var path = path(entry.getKey(), entry.getValue());
+      var bytes = entry.getValue().toString().length();
+      contributors
+        .merge(path, new Contributor(path, 1, bytes),
+          (a, b) -> new Contributor(path, a.resources() + b.resources(), a.bytes() + b.bytes()));
+    });
+
+    var exports = 0;
+    for (var output : template.path("Outputs"))
+      exports += output.has("Export") ? 1 : 0;
+
+    return new Report(
+      name.substring(0, name.length() - TEMPLATE_SUFFIX.length()),
+      template.path("Resources").size(),
+      template.path("Outputs").size(),
+      exports,
+      template.path("Parameters").size(),
+      body.getBytes(StandardCharsets.UTF_8).length,
+      contributors
+        .values()
+        .stream()
+        .sorted(Comparator.comparingLong(Contributor::bytes).reversed())
+        .limit(Math.max(limit, 0))
+        .toList());
+  }
+
+  private static String path(String logicalId, JsonNode resource) {
+    var path = resource.path("Metadata").path("aws:cdk:path").asText(null);
+    if (path == null)
+      return logicalId;
+
+    return path.endsWith("/Resource") || path.endsWith("/Default") ? path.substring(0, path.lastIndexOf('/')) : path;
+  }
+}
@@ -0,0 +1,117 @@
+package fasti.sh.execute.aws.cdk;
+
+import fasti.sh.model.aws.cdk.TemplateBudget;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Annotations;
+import software.amazon.awscdk.CfnOutput;
+import software.amazon.awscdk.CfnParameter;
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.IAspect;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+import software.constructs.IConstruct;
+
+/**
+ * Synth-time aspect that counts resources, outputs and parameters of every stack and nested stack and annotates the stack when a count
+ * approaches or exceeds its {@link TemplateBudget}.
+ *
+ * <p>
+ * Errors are reported through {@link Annotations#addError(String)} and fail {@code cdk synth}; warnings fail it under {@code --strict}.
+ * Template byte size is only known once the template is rendered and is checked by {@link TemplateAnalyzer} on the synthesized assembly.
+ *
+ * <p>
+ * <b>Context Keys:</b>
+ *
+ * <ul>
+ * <li>{@code hosted:budget:resources} - Resource limit per template
+ * <li>{@code hosted:budget:outputs} - Output limit per template
+ * <li>{@code hosted:budget:parameters} - Parameter limit per template
+ * <li>{@code hosted:budget:bytes} - Template size limit in bytes
+ * <li>{@code hosted:budget:warn} - Percentage of a limit at which a warning is raised
+ * <li>{@code hosted:budget:contributors} - Number of largest construct paths listed per template
+ * </ul>
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ *
+ * <pre>{@code
+ * var budget = TemplateBudgetAspect.budget(app);
+ * Aspects.of(app).add(new TemplateBudgetAspect(budget));
+ *
+ * TemplateAnalyzer.enforce(app.synth(), budget);
+ * }</pre>
+ *
+ * @author CDK Common Framework
+ * @see TemplateAnalyzer for post-synth template size checks
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class TemplateBudgetAspect implements IAspect {
+  private final TemplateBudget budget;
+
+  public TemplateBudgetAspect(TemplateBudget budget) {
+    this.budget = budget;
+  }
+
+  public static TemplateBudget budget(Construct scope) {
+    var defaults = TemplateBudget.defaults();
+    return new TemplateBudget(
+      (int) context(scope, "resources", defaults.resources()),
+      (int) context(scope, "outputs", defaults.outputs()),
+      (int) context(scope, "parameters", defaults.parameters()),
+      context(scope, "bytes", defaults.bytes()),
+      (int) context(scope, "warn", defaults.warnPercent()),
+      (int) context(scope, "contributors", defaults.contributors()));
+  }
+
+  @Override
+  public void visit(IConstruct node) {
+    if (!Stack.isStack(node))
+      return;
+
+    var stack = (Stack) node;
+    var resources = count(stack, CfnResource.class);
+    var outputs = count(stack, CfnOutput.class);
+    var parameters = count(stack, CfnParameter.class);
+
+    log.debug("template budget [stack: {} resources: {} outputs: {} parameters: {}]", stack.getNode().getPath(), resources, outputs,
+      parameters);
+
+    check(stack, "resources", resources, this.budget().resources());
+    check(stack, "outputs", outputs, this.budget().outputs());
+    check(stack, "parameters", parameters, this.budget().parameters());
+  }
+
+  private void check(Stack stack, String metric, long value, long limit) {
+    var severity = TemplateAnalyzer.severity(value, limit, this.budget().warnPercent());
+    if (severity == null)
+      return;
+
+    var message = String.format("template %s %s: %d of %d", stack.getNode().getPath(), metric, value, limit);
+    if (severity == TemplateAnalyzer.Severity.ERROR)
+      Annotations.of(stack).addError(message);
+    else
+      Annotations.of(stack).addWarningV2("fasti.sh:template-budget:" + metric, message);
+  }
+
+  private static int count(IConstruct scope, Class<?> type) {
+    return scope
+      .getNode()
+      .getChildren()
+      .stream()
+      .filter(child -> !Stack.isStack(child))
+      .mapToInt(child -> (type.isInstance(child) ? 1 : 0) + count(child, type))
+      .sum();
+  }
+
+  private static long context(Construct scope, String key, long fallback) {
+    return Optional
+      .ofNullable(scope.getNode().tryGetContext("hosted:budget:" + key))
+      .map(Object::toString)
+      .map(Long::parseLong)
+      .orElse(fallback);
+  }
+}
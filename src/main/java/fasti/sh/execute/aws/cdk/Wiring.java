@@ -0,0 +1,93 @@
+package fasti.sh.execute.aws.cdk;
+
+import static fasti.sh.execute.serialization.Format.exported;
+import static fasti.sh.execute.serialization.Format.id;
+import static fasti.sh.execute.serialization.Format.parameter;
+
+import fasti.sh.model.main.Common;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.CfnOutput;
+import software.amazon.awscdk.Tags;
+import software.amazon.awscdk.services.ssm.ParameterDataType;
+import software.amazon.awscdk.services.ssm.StringParameter;
+import software.constructs.Construct;
+
+/**
+ * Cross-stack value publishing through CloudFormation exports, namespaced SSM parameters, or both.
+ *
+ * <p>
+ * An export locks its producer: it cannot change or remove the value while any consumer imports it, so the stacks must deploy strictly in
+ * sequence. An SSM parameter does not lock the producer. The consumer reads it with {@link #resolve(Construct, String)}, which
+ * CloudFormation resolves on every deploy, so producer and consumer stacks can update on their own and in parallel.
+ *
+ * <p>
+ * The mode is read from {@code hosted:stacks:wiring} in context:
+ *
+ * <ul>
+ * <li>{@code exports} - Outputs are exported under {@link fasti.sh.execute.serialization.Format#exported} names (default)
+ * <li>{@code parameters} - Values are written to SSM parameters under {@link fasti.sh.execute.serialization.Format#parameter} names and
+ * outputs are not exported
+ * <li>{@code both} - Both of the above, for migrating consumers off the exports before switching to {@code parameters}
+ * </ul>
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ *
+ * <pre>{@code
+ * // producer
+ * Wiring.publish(this, common, id(common.id(), "vpc.id"), "vpcid", vpc.getVpcId(), describe(common));
+ *
+ * // consumer, in another stack
+ * String vpcId = Wiring.resolve(this, "vpcid");
+ * }</pre>
+ *
+ * @author CDK Common Framework
+ * @since 1.0.0
+ */
+@Slf4j
+public class Wiring {
+  public static final String MODE = "hosted:stacks:wiring";
+
+  public enum Mode {
+    EXPORTS,
+    PARAMETERS,
+    BOTH
+  }
+
+  public static Mode mode(Construct scope) {
+    return Optional
+      .ofNullable(scope.getNode().tryGetContext(MODE))
+      .map(Object::toString)
+      .map(String::toUpperCase)
+      .map(Mode::valueOf)
+      .orElse(Mode.EXPORTS);
+  }
+
+  public static CfnOutput publish(Construct scope, Common common, String id, String suffix, String value, String description) {
+    var mode = mode(scope);
+    log.debug("publishing {} [mode: {}]", suffix, mode);
+
+    var output = CfnOutput.Builder.create(scope, id).value(value).description(description);
+    if (mode != Mode.PARAMETERS)
+      output.exportName(exported(scope, suffix));
+
+    if (mode != Mode.EXPORTS) {
+      var published = StringParameter.Builder
+        .create(scope, id(id, "parameter"))
+        .parameterName(parameter(scope, suffix))
+        .stringValue(value)
+        .description(description)
+        .dataType(ParameterDataType.TEXT)
+        .build();
+
+      common.tags().forEach((k, v) -> Tags.of(published).add(k, v));
+    }
+
+    return output.build();
+  }
+
+  public static String resolve(Construct scope, String suffix) {
+    return StringParameter.valueForStringParameter(scope, parameter(scope, suffix));
+  }
+}
@@ -10,7 +10,6 @@ import java.util.Map;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awscdk.CfnJson;
 import software.amazon.awscdk.customresources.AwsCustomResource;
 import software.amazon.awscdk.customresources.AwsCustomResourcePolicy;
 import software.amazon.awscdk.customresources.AwsSdkCall;
@@ -162,10 +161,7 @@ public class IdentityPoolConstruct extends Construct {
     RestApi api) {
     super(scope, "identitypool");
 
-    var conf = parse(
-      scope,
-      identityPool,
-      Map.of("hosted:api:id", CfnJson.Builder.create(this, "api.id").value(api.getRestApiId()).build().getValue()));
+    var conf = parse(scope, identityPool, Map.of("hosted:api:id", api.getRestApiId()));
 
     log.debug("{} [common: {} conf: {}]", "IdentityPoolConstruct", common, conf);
 
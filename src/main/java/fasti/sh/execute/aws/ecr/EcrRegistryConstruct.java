@@ -0,0 +1,131 @@
+package fasti.sh.execute.aws.ecr;
+
+import static fasti.sh.execute.serialization.Format.id;
+
+import fasti.sh.execute.serialization.Template;
+import fasti.sh.model.aws.ecr.EcrRegistry;
+import fasti.sh.model.aws.ecr.PullThroughCache;
+import fasti.sh.model.aws.ecr.Replication;
+import fasti.sh.model.main.Common;
+import java.security.InvalidParameterException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.ecr.CfnPullThroughCacheRule;
+import software.amazon.awscdk.services.ecr.CfnReplicationConfiguration;
+import software.amazon.awscdk.services.ecr.CfnReplicationConfiguration.ReplicationConfigurationProperty;
+import software.amazon.awscdk.services.ecr.CfnReplicationConfiguration.ReplicationDestinationProperty;
+import software.amazon.awscdk.services.ecr.CfnReplicationConfiguration.ReplicationRuleProperty;
+import software.amazon.awscdk.services.ecr.CfnReplicationConfiguration.RepositoryFilterProperty;
+import software.amazon.awscdk.services.iam.Grant;
+import software.amazon.awscdk.services.iam.GrantOnPrincipalOptions;
+import software.amazon.awscdk.services.iam.IGrantable;
+import software.constructs.Construct;
+
+/**
+ * Registry level ECR configuration: pull-through cache rules for public upstream registries and replication to other regions.
+ *
+ * <p>
+ * With a cache rule in place, nodes pull {@code <account>.dkr.ecr.<region>.amazonaws.com/<prefix>/<image>} instead of the upstream
+ * registry, so images come from ECR through the VPC endpoint rather than over NAT and upstream rate limits only apply to the first pull.
+ * Helm values templates rewrite upstream references with the {@code hosted:image} template lambda for every upstream listed in the
+ * {@code hosted:ecr:cache} context map, which has to name the same prefix as the rule here. The first pull of an image creates its
+ * repository, which needs the grants from {@link #grantPullThrough(IGrantable)} on the node role on top of the usual ECR read-only policy.
+ *
+ * <p>
+ * Both resources are singletons of the registry, so create this construct once per account and region.
+ *
+ * @author CDK Common Framework
+ * @see EcrRegistry for the registry configuration
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class EcrRegistryConstruct extends Construct {
+  private static final Set<String> CREDENTIALED = Set.of("registry-1.docker.io", "ghcr.io", "registry.gitlab.com");
+
+  private final List<CfnPullThroughCacheRule> pullThroughCacheRules;
+  private final CfnReplicationConfiguration replication;
+
+  public EcrRegistryConstruct(Construct scope, Common common, EcrRegistry conf) {
+    super(scope, "ecr-registry");
+
+    log.debug("{} [common: {} conf: {}]", "EcrRegistryConstruct", common, conf);
+
+    this.pullThroughCacheRules = Optional
+      .ofNullable(conf.pullThroughCaches())
+      .orElseGet(List::of)
+      .stream()
+      .map(this::pullThroughCache)
+      .toList();
+
+    this.replication = Optional
+      .ofNullable(conf.replication())
+      .filter(replication -> replication.regions() != null && !replication.regions().isEmpty())
+      .map(this::replication)
+      .orElse(null);
+  }
+
+  /**
+   * Lets a node or pod role create cache repositories and import upstream images on the first pull through a cache rule.
+   */
+  public Grant grantPullThrough(IGrantable grantee) {
+    return Grant
+      .addToPrincipal(
+        GrantOnPrincipalOptions
+          .builder()
+          .grantee(grantee)
+          .actions(List.of("ecr:CreateRepository", "ecr:BatchImportUpstreamImage"))
+          .resourceArns(List.of("*"))
+          .build());
+  }
+
+  private CfnPullThroughCacheRule pullThroughCache(PullThroughCache conf) {
+    var prefix = Optional.ofNullable(conf.prefix()).orElseGet(() -> PullThroughCache.PREFIXES.get(conf.upstream()));
+    if (prefix == null)
+      throw new InvalidParameterException(String.format("pull through cache for %s needs a prefix", conf.upstream()));
+    if (CREDENTIALED.contains(conf.upstream()) && conf.credentialArn() == null)
+      throw new InvalidParameterException(String.format("pull through cache for %s needs a credentialArn", conf.upstream()));
+
+    var rewritten = Template.caches(this).get(conf.upstream());
+    if (rewritten != null && !rewritten.equals(prefix))
+      throw new InvalidParameterException(
+        String.format("pull through cache for %s uses prefix %s but %s rewrites images to %s", conf.upstream(), prefix, Template.CACHE,
+          rewritten));
+
+    return CfnPullThroughCacheRule.Builder
+      .create(this, id("pull-through-cache", prefix))
+      .ecrRepositoryPrefix(prefix)
+      .upstreamRegistryUrl(conf.upstream())
+      .credentialArn(conf.credentialArn())
+      .build();
+  }
+
+  private CfnReplicationConfiguration replication(Replication conf) {
+    var account = Stack.of(this).getAccount();
+    var destinations = conf
+      .regions()
+      .stream()
+      .map(region -> ReplicationDestinationProperty.builder().region(region).registryId(account).build())
+      .toList();
+
+    var rule = ReplicationRuleProperty.builder().destinations(destinations);
+    Optional
+      .ofNullable(conf.prefixes())
+      .filter(prefixes -> !prefixes.isEmpty())
+      .map(
+        prefixes -> prefixes
+          .stream()
+          .map(prefix -> RepositoryFilterProperty.builder().filter(prefix).filterType("PREFIX_MATCH").build())
+          .toList())
+      .ifPresent(rule::repositoryFilters);
+
+    return CfnReplicationConfiguration.Builder
+      .create(this, "replication")
+      .replicationConfiguration(ReplicationConfigurationProperty.builder().rules(List.of(rule.build())).build())
+      .build();
+  }
+}
@@ -4,7 +4,9 @@ import static fasti.sh.execute.serialization.Format.id;
 
 import fasti.sh.execute.aws.kms.KmsConstruct;
 import fasti.sh.model.aws.ecr.EcrRepository;
+import fasti.sh.model.aws.ecr.Soci;
 import fasti.sh.model.main.Common;
+import java.util.Optional;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awscdk.Tags;
@@ -16,6 +18,7 @@ import software.constructs.Construct;
 @Getter
 public class EcrRepositoryConstruct extends Construct {
   private final Repository repository;
+  private final SociIndexConstruct soci;
 
   public EcrRepositoryConstruct(Construct scope, Common common, EcrRepository conf) {
     super(scope, id("ecr", conf.name()));
@@ -40,6 +43,11 @@ public class EcrRepositoryConstruct extends Construct {
     }
 
     this.repository = ecr.build();
+    this.soci = Optional
+      .ofNullable(conf.soci())
+      .filter(Soci::enabled)
+      .map(soci -> new SociIndexConstruct(this, common, soci, this.repository()))
+      .orElse(null);
 
     common.tags().forEach((k, v) -> Tags.of(this.repository()).add(k, v));
   }
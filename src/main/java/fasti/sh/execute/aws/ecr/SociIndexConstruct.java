@@ -0,0 +1,171 @@
+package fasti.sh.execute.aws.ecr;
+
+import fasti.sh.model.aws.ecr.Soci;
+import fasti.sh.model.main.Common;
+import java.security.InvalidParameterException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.services.codebuild.BuildEnvironment;
+import software.amazon.awscdk.services.codebuild.BuildEnvironmentVariable;
+import software.amazon.awscdk.services.codebuild.BuildSpec;
+import software.amazon.awscdk.services.codebuild.ComputeType;
+import software.amazon.awscdk.services.codebuild.LinuxBuildImage;
+import software.amazon.awscdk.services.codebuild.Project;
+import software.amazon.awscdk.services.ecr.IRepository;
+import software.amazon.awscdk.services.events.EventField;
+import software.amazon.awscdk.services.events.EventPattern;
+import software.amazon.awscdk.services.events.Rule;
+import software.amazon.awscdk.services.events.RuleTargetInput;
+import software.amazon.awscdk.services.events.targets.CodeBuildProject;
+import software.amazon.awscdk.services.events.targets.CodeBuildProjectProps;
+import software.constructs.Construct;
+
+/**
+ * Builds a Seekable OCI index for every tagged image pushed to a repository, so Fargate and EKS nodes running the SOCI snapshotter lazily
+ * load the image and start the container before the full pull finishes.
+ *
+ * <p>
+ * A successful push raises an EventBridge {@code ECR Image Action} event, which starts a CodeBuild project with the pushed digest. The
+ * build pulls the image into containerd, runs {@code soci create} and pushes the index back to the repository as a referrer of the image.
+ * Multi-arch images are pulled and indexed for every platform they contain, or for {@link Soci#platforms()} when given, so nodes of each
+ * architecture find an index for their own manifest. Index pushes carry no tag and so never trigger another build. The x86_64 build image
+ * installs the {@code linux-amd64} soci release and refuses to unpack it unless it matches the configured {@link Soci#sha256()}.
+ *
+ * @author CDK Common Framework
+ * @see Soci for the index settings
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class SociIndexConstruct extends Construct {
+  public static final String VERSION = "0.9.0";
+
+  private static final Pattern PLATFORM = Pattern.compile("^[a-z0-9]+/[a-z0-9_]+(/[a-z0-9]+)?$");
+  private static final Pattern SHA256 = Pattern.compile("^[a-f0-9]{64}$");
+
+  private final Project project;
+  private final Rule rule;
+
+  public SociIndexConstruct(Construct scope, Common common, Soci conf, IRepository repository) {
+    super(scope, "soci");
+
+    log.debug("{} [common: {} conf: {}]", "SociIndexConstruct", common, conf);
+
+    var version = Optional.ofNullable(conf.version()).orElse(VERSION);
+    if (conf.sha256() == null || !SHA256.matcher(conf.sha256().toLowerCase()).matches())
+      throw new InvalidParameterException(String.format("soci release %s needs the sha256 of its linux-amd64 tarball", version));
+
+    var variables = new LinkedHashMap<String, BuildEnvironmentVariable>();
+    variables.put("SOCI_VERSION", variable(version));
+    variables.put("SOCI_SHA256", variable(conf.sha256().toLowerCase()));
+    variables.put("MIN_LAYER_SIZE", variable(String.valueOf(conf.minLayerSize() > 0 ? conf.minLayerSize() : 10485760L)));
+    variables.put("REPOSITORY_URI", variable(repository.getRepositoryUri()));
+    variables.put("PLATFORMS", variable(platforms(conf.platforms())));
+
+    this.project = Project.Builder
+      .create(this, "project")
+      .description(String.format("SOCI index builder for %s", repository.getRepositoryName()))
+      .environment(
+        BuildEnvironment.builder().buildImage(LinuxBuildImage.STANDARD_7_0).computeType(ComputeType.MEDIUM).privileged(true).build())
+      .environmentVariables(variables)
+      .buildSpec(BuildSpec.fromObject(buildspec()))
+      .timeout(Duration.minutes(30))
+      .build();
+    repository.grantPullPush(this.project());
+
+    var detail = new LinkedHashMap<String, Object>();
+    detail.put("action-type", List.of("PUSH"));
+    detail.put("result", List.of("SUCCESS"));
+    detail.put("repository-name", List.of(repository.getRepositoryName()));
+    detail.put("image-tag", tags(conf.tagPrefixes()));
+
+    var override = new LinkedHashMap<String, Object>();
+    override.put("name", "IMAGE_DIGEST");
+    override.put("type", "PLAINTEXT");
+    override.put("value", EventField.fromPath("$.detail.image-digest"));
+
+    this.rule = Rule.Builder
+      .create(this, "rule")
+      .description(String.format("Index images pushed to %s", repository.getRepositoryName()))
+      .eventPattern(EventPattern.builder().source(List.of("aws.ecr")).detailType(List.of("ECR Image Action")).detail(detail).build())
+      .targets(
+        List
+          .of(
+            new CodeBuildProject(
+              this.project(),
+              CodeBuildProjectProps
+                .builder()
+                .event(RuleTargetInput.fromObject(Map.of("environmentVariablesOverride", List.of(override))))
+                .retryAttempts(2)
+                .build())))
+      .build();
+  }
+
+  private static BuildEnvironmentVariable variable(String value) {
+    return BuildEnvironmentVariable.builder().value(value).build();
+  }
+
+  /**
+   * containerd and soci platform flags, {@code --all-platforms} unless the configuration narrows the index to some platforms.
+   *
+   * @throws InvalidParameterException
+   *           if a platform is not an {@code os/arch[/variant]} specifier
+   */
+  private static String platforms(List<String> platforms) {
+    if (platforms == null || platforms.isEmpty())
+      return "--all-platforms";
+
+    platforms
+      .stream()
+      .filter(platform -> !PLATFORM.matcher(platform).matches())
+      .findFirst()
+      .ifPresent(platform -> {
+        throw new InvalidParameterException(String.format("soci platform %s is not an os/arch[/variant] specifier", platform));
+      });
+
+    return String.join(" ", platforms.stream().map(platform -> "--platform " + platform).toList());
+  }
+
+  /**
+   * Tagged pushes only, optionally narrowed to tag prefixes; the untagged index manifests this project pushes fall outside the pattern.
+   */
+  private static List<Object> tags(List<String> prefixes) {
+    if (prefixes == null || prefixes.isEmpty())
+      return List.of(Map.of("exists", true));
+
+    return prefixes.stream().<Object>map(prefix -> Map.of("prefix", prefix)).toList();
+  }
+
+  private static Map<String, Object> buildspec() {
+    var install = List
+      .of(
+        "curl -fsSL -o /tmp/soci.tar.gz https://github.com/awslabs/soci-snapshotter/releases/download/v${SOCI_VERSION}/"
+          + "soci-snapshotter-${SOCI_VERSION}-linux-amd64.tar.gz",
+        "echo \"${SOCI_SHA256}  /tmp/soci.tar.gz\" | sha256sum -c -",
+        "tar -xzf /tmp/soci.tar.gz -C /usr/local/bin soci",
+        "nohup containerd > /tmp/containerd.log 2>&1 &",
+        "timeout 30 sh -c 'until ctr version > /dev/null 2>&1; do sleep 1; done'");
+    var build = List
+      .of(
+        "PASSWORD=$(aws ecr get-login-password)",
+        "IMAGE=${REPOSITORY_URI}@${IMAGE_DIGEST}",
+        "ctr image pull ${PLATFORMS} --user AWS:${PASSWORD} ${IMAGE}",
+        "soci create ${PLATFORMS} --min-layer-size ${MIN_LAYER_SIZE} ${IMAGE}",
+        "soci push ${PLATFORMS} --user AWS:${PASSWORD} ${IMAGE}");
+
+    var phases = new LinkedHashMap<String, Object>();
+    phases.put("install", Map.of("commands", install));
+    phases.put("build", Map.of("commands", build));
+
+    var buildspec = new LinkedHashMap<String, Object>();
+    buildspec.put("version", "0.2");
+    buildspec.put("phases", phases);
+    return buildspec;
+  }
+}
@@ -0,0 +1,78 @@
+package fasti.sh.execute.aws.eks;
+
+import static fasti.sh.execute.serialization.Format.id;
+
+import fasti.sh.model.aws.eks.TenancyConf;
+import fasti.sh.model.aws.eks.Tenant;
+import fasti.sh.model.main.Common;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Aws;
+import software.amazon.awscdk.services.eks.CfnAccessEntry;
+import software.amazon.awscdk.services.eks.CfnAccessEntry.AccessPolicyProperty;
+import software.amazon.awscdk.services.eks.CfnAccessEntry.AccessScopeProperty;
+import software.amazon.awscdk.services.eks.ICluster;
+import software.constructs.Construct;
+
+/**
+ * Grants tenant roles access to a cluster through EKS access entries instead of the aws-auth ConfigMap.
+ *
+ * <p>
+ * Each entry is a plain CloudFormation resource, so tenant changes deploy in parallel without a kubectl call or a role lookup per tenant.
+ * Administrators get the {@code AmazonEKSClusterAdminPolicy} across the cluster; users keep their username and the {@code eks:read-only}
+ * group, so the RBAC bindings written for the aws-auth mapping still apply. The cluster must use an authentication mode that includes the
+ * access entry API.
+ *
+ * @author CDK Common Framework
+ * @see TenancyConf#accessEntries() for enabling this mode
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class AccessEntriesConstruct extends Construct {
+  public static final String ADMIN_POLICY = "AmazonEKSClusterAdminPolicy";
+  public static final String READ_ONLY_GROUP = "eks:read-only";
+
+  private final List<CfnAccessEntry> administrators = new ArrayList<>();
+  private final List<CfnAccessEntry> users = new ArrayList<>();
+
+  public AccessEntriesConstruct(Construct scope, Common common, TenancyConf conf, ICluster cluster) {
+    super(scope, id("access-entries", cluster.getNode().getId()));
+
+    log.debug("{} [common: {} conf: {}]", "AccessEntriesConstruct", common, conf);
+
+    Optional.ofNullable(conf.administrators()).orElseGet(List::of).forEach(admin -> this.administrators().add(admin(cluster, admin)));
+    Optional.ofNullable(conf.users()).orElseGet(List::of).forEach(user -> this.users().add(user(cluster, user)));
+  }
+
+  private CfnAccessEntry admin(ICluster cluster, Tenant administrator) {
+    return CfnAccessEntry.Builder
+      .create(this, String.format("%s-admin", administrator.role()))
+      .clusterName(cluster.getClusterName())
+      .principalArn(administrator.role())
+      .type("STANDARD")
+      .accessPolicies(
+        List
+          .of(
+            AccessPolicyProperty
+              .builder()
+              .policyArn(String.format("arn:%s:eks::aws:cluster-access-policy/%s", Aws.PARTITION, ADMIN_POLICY))
+              .accessScope(AccessScopeProperty.builder().type("cluster").build())
+              .build()))
+      .build();
+  }
+
+  private CfnAccessEntry user(ICluster cluster, Tenant user) {
+    return CfnAccessEntry.Builder
+      .create(this, String.format("%s-user", user.role()))
+      .clusterName(cluster.getClusterName())
+      .principalArn(user.role())
+      .type("STANDARD")
+      .username(user.username())
+      .kubernetesGroups(List.of(READ_ONLY_GROUP))
+      .build();
+  }
+}
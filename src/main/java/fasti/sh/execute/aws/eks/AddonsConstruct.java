@@ -7,73 +7,226 @@ import fasti.sh.execute.aws.eks.addon.AwsLoadBalancerConstruct;
 import fasti.sh.execute.aws.eks.addon.AwsSecretsStoreConstruct;
 import fasti.sh.execute.aws.eks.addon.CertManagerConstruct;
 import fasti.sh.execute.aws.eks.addon.GrafanaConstruct;
+import fasti.sh.execute.aws.eks.addon.HeadroomConstruct;
 import fasti.sh.execute.aws.eks.addon.KarpenterConstruct;
-import fasti.sh.execute.serialization.Mapper;
-import fasti.sh.execute.serialization.Template;
+import fasti.sh.execute.aws.eks.addon.KedaConstruct;
+import fasti.sh.execute.aws.eks.addon.MetricsServerConstruct;
+import fasti.sh.execute.aws.eks.addon.NodeLocalDnsConstruct;
+import fasti.sh.execute.aws.secretsmanager.SecretLookup;
 import fasti.sh.model.aws.eks.KubernetesConf;
 import fasti.sh.model.aws.eks.addon.AddonsConf;
+import fasti.sh.model.aws.eks.addon.core.AlloyOperatorAddon;
+import fasti.sh.model.aws.eks.addon.core.GrafanaAddon;
+import fasti.sh.model.aws.eks.addon.managed.ManagedAddons;
 import fasti.sh.model.main.Common;
+import java.security.InvalidParameterException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 import lombok.Getter;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awscdk.services.eks.Cluster;
+import software.amazon.awscdk.services.sqs.IQueue;
 import software.constructs.Construct;
 
 @Slf4j
 @Getter
 public class AddonsConstruct extends Construct {
+  public static final String ALLOY_OPERATOR = "alloyOperator";
+  public static final String GRAFANA = "grafana";
+  public static final String CERT_MANAGER = "certManager";
+  public static final String AWS_SECRETS_STORE = "awsSecretsStore";
+  public static final String KARPENTER = "karpenter";
+  public static final String AWS_LOAD_BALANCER = "awsLoadBalancer";
+  public static final String NODE_LOCAL_DNS = "nodeLocalDns";
+  public static final String METRICS_SERVER = "metricsServer";
+  public static final String KEDA = "keda";
+  public static final String HEADROOM = "headroom";
+
+  private static final List<String> ADDONS = List
+    .of(
+      ALLOY_OPERATOR, GRAFANA, CERT_MANAGER, AWS_SECRETS_STORE, KARPENTER, AWS_LOAD_BALANCER, NODE_LOCAL_DNS, METRICS_SERVER, KEDA,
+      HEADROOM);
+
+  /**
+   * Install order used when the addon document declares no dependencies, each addon waiting on the one before it.
+   */
+  public static final Map<String, List<String>> SERIAL = Map
+    .of(
+      GRAFANA, List.of(ALLOY_OPERATOR),
+      CERT_MANAGER, List.of(GRAFANA),
+      AWS_SECRETS_STORE, List.of(CERT_MANAGER),
+      KARPENTER, List.of(AWS_SECRETS_STORE),
+      AWS_LOAD_BALANCER, List.of(KARPENTER),
+      NODE_LOCAL_DNS, List.of(AWS_LOAD_BALANCER),
+      METRICS_SERVER, List.of(NODE_LOCAL_DNS),
+      KEDA, List.of(METRICS_SERVER),
+      HEADROOM, List.of(KEDA));
+
   private final AlloyOperatorConstruct alloyOperator;
   private final GrafanaConstruct grafana;
   private final CertManagerConstruct certManager;
   private final AwsSecretsStoreConstruct awsSecretsStore;
   private final KarpenterConstruct karpenter;
   private final AwsLoadBalancerConstruct awsLoadBalancer;
+  private final NodeLocalDnsConstruct nodeLocalDns;
+  private final MetricsServerConstruct metricsServer;
+  private final KedaConstruct keda;
+  private final HeadroomConstruct headroom;
 
-  @SneakyThrows
   public AddonsConstruct(Construct scope, Common common, KubernetesConf conf, Cluster cluster) {
+    this(scope, common, conf, AddonsContext.of(scope, conf), cluster);
+  }
+
+  public AddonsConstruct(Construct scope, Common common, KubernetesConf conf, AddonsContext context, Cluster cluster) {
+    this(scope, common, conf, context, cluster, List.of());
+  }
+
+  /**
+   * @param queues
+   *          SQS queues created with the cluster, such as the interrupt queue, that KEDA may scale workloads on
+   */
+  public AddonsConstruct(Construct scope, Common common, KubernetesConf conf, AddonsContext context, Cluster cluster, List<IQueue> queues) {
     super(scope, id("eks.addons", conf.name()));
 
     log.debug("{} [common: {} conf: {}]", "AddonsConstruct", common, conf);
 
-    var addons = Mapper
-      .get()
-      .readValue(
-        Template
-          .parse(
-            scope,
-            conf.addons(),
-            Map
-              .of(
-                "hosted:eks:grafana:secret",
-                scope.getNode().getContext("hosted:eks:grafana:secret").toString())),
-        AddonsConf.class);
+    // grafana cannot be configured without its secret, fail fast instead of rendering an empty value
+    scope.getNode().getContext(AddonsContext.GRAFANA_SECRET);
 
-    this.alloyOperator = new AlloyOperatorConstruct(this, common, addons.alloyOperator(), cluster);
+    var addons = context.conf();
+    var dependencies = dependencies(addons);
 
-    this.grafana = new GrafanaConstruct(this, common, addons.grafana(), cluster);
-    this.grafana().getNode().addDependency(this.alloyOperator());
+    // alloy and grafana read the same secret, start the lookup before either is built
+    Stream
+      .of(
+        Optional.ofNullable(addons.alloyOperator()).map(AlloyOperatorAddon::secret),
+        Optional.ofNullable(addons.grafana()).map(GrafanaAddon::secret))
+      .flatMap(Optional::stream)
+      .filter(secret -> !secret.isEmpty())
+      .distinct()
+      .forEach(secret -> SecretLookup.get().prefetch(scope, common, secret));
 
+    this.alloyOperator = new AlloyOperatorConstruct(this, common, addons.alloyOperator(), cluster);
+    this.grafana = new GrafanaConstruct(this, common, addons.grafana(), cluster);
     this.certManager = new CertManagerConstruct(this, common, addons.certManager(), cluster);
-    this.certManager().getNode().addDependency(this.grafana());
-
     this.awsSecretsStore = new AwsSecretsStoreConstruct(this, common, addons.awsSecretsStore(), cluster);
-    this.awsSecretsStore().getNode().addDependency(this.grafana(), this.certManager(), this.certManager());
+    this.karpenter = new KarpenterConstruct(this, common, addons.karpenter(), cluster, conf.name());
+    this.awsLoadBalancer = new AwsLoadBalancerConstruct(this, common, addons.awsLoadBalancer(), cluster);
+    this.nodeLocalDns = Optional
+      .ofNullable(addons.nodeLocalDns())
+      .map(
+        nodeLocalDns -> new NodeLocalDnsConstruct(this, common, nodeLocalDns,
+          Optional.ofNullable(addons.managed()).map(ManagedAddons::kubeProxy).orElse(null), cluster))
+      .orElse(null);
+    this.metricsServer = Optional
+      .ofNullable(addons.metricsServer())
+      .map(metricsServer -> new MetricsServerConstruct(this, common, metricsServer, cluster))
+      .orElse(null);
+    this.keda = Optional.ofNullable(addons.keda()).map(keda -> new KedaConstruct(this, common, keda, cluster, queues)).orElse(null);
+    this.headroom = Optional
+      .ofNullable(addons.headroom())
+      .map(headroom -> new HeadroomConstruct(this, common, headroom, cluster))
+      .orElse(null);
 
-    this.karpenter = new KarpenterConstruct(this, common, addons.karpenter(), cluster);
-    this
-      .karpenter()
-      .getNode()
-      .addDependency(this.grafana(), this.certManager(), this.awsSecretsStore());
+    var constructs = new LinkedHashMap<String, Construct>();
+    constructs.put(ALLOY_OPERATOR, this.alloyOperator());
+    constructs.put(GRAFANA, this.grafana());
+    constructs.put(CERT_MANAGER, this.certManager());
+    constructs.put(AWS_SECRETS_STORE, this.awsSecretsStore());
+    constructs.put(KARPENTER, this.karpenter());
+    constructs.put(AWS_LOAD_BALANCER, this.awsLoadBalancer());
+    constructs.put(NODE_LOCAL_DNS, this.nodeLocalDns());
+    constructs.put(METRICS_SERVER, this.metricsServer());
+    constructs.put(KEDA, this.keda());
+    constructs.put(HEADROOM, this.headroom());
 
-    this.awsLoadBalancer = new AwsLoadBalancerConstruct(this, common, addons.awsLoadBalancer(), cluster);
-    this
-      .awsLoadBalancer()
-      .getNode()
-      .addDependency(
-        this.grafana(),
-        this.certManager(),
-        this.awsSecretsStore(),
-        this.karpenter());
+    dependencies.forEach((addon, after) -> after.forEach(target -> depend(constructs.get(addon), constructs.get(target))));
+  }
+
+  /**
+   * Makes one addon wait for another. Manifest batching collects an addon's manifests into a wave under the cluster, outside the addon's
+   * own tree, so an addon made only of manifests also carries the dependency on its wave, on either side of it.
+   */
+  public static void depend(Construct addon, Construct target) {
+    var targets = dependables(target).toArray(Construct[]::new);
+    dependables(addon).forEach(dependable -> dependable.getNode().addDependency(targets));
+  }
+
+  private static List<Construct> dependables(Construct addon) {
+    if (addon instanceof HeadroomConstruct headroom)
+      return List.of(headroom, headroom.namespace());
+    if (addon instanceof NodeLocalDnsConstruct nodeLocalDns)
+      return List.of(nodeLocalDns, nodeLocalDns.manifests().get(0));
+    return List.of(addon);
+  }
+
+  /**
+   * Resolves the addon dependency graph, falling back to {@link #SERIAL} when the addon document declares none; the mapper reads a missing
+   * or null map as empty, so an empty map means none. Optional addons left out of the document are dropped from the graph, and whatever
+   * waited on them waits on their own dependencies instead, so the order holds.
+   *
+   * @throws InvalidParameterException
+   *           if an unknown addon is referenced or the dependencies form a cycle
+   */
+  public static Map<String, List<String>> dependencies(AddonsConf addons) {
+    var declared = Optional.ofNullable(addons.dependencies()).filter(d -> !d.isEmpty()).orElse(SERIAL);
+
+    for (var entry : declared.entrySet()) {
+      if (!ADDONS.contains(entry.getKey()))
+        throw new InvalidParameterException("unknown addon in dependencies " + entry.getKey());
+
+      for (var target : entry.getValue())
+        if (!ADDONS.contains(target))
+          throw new InvalidParameterException(String.format("unknown dependency %s of addon %s", target, entry.getKey()));
+    }
+
+    var resolved = new LinkedHashMap<String, List<String>>();
+    ADDONS.forEach(addon -> resolved.put(addon, List.copyOf(declared.getOrDefault(addon, List.of()))));
+
+    var visited = new HashSet<String>();
+    ADDONS.forEach(addon -> acyclic(addon, resolved, visited, new LinkedHashSet<>()));
+
+    var present = present(addons);
+    var installed = new LinkedHashMap<String, List<String>>();
+    present
+      .forEach(
+        addon -> installed
+          .put(addon, resolved.get(addon).stream().flatMap(target -> installed(target, resolved, present)).distinct().toList()));
+
+    log.debug("addon dependencies {}", installed);
+    return installed;
+  }
+
+  private static List<String> present(AddonsConf addons) {
+    var optional = Map
+      .<String, Optional<?>>of(
+        NODE_LOCAL_DNS, Optional.ofNullable(addons.nodeLocalDns()),
+        METRICS_SERVER, Optional.ofNullable(addons.metricsServer()),
+        KEDA, Optional.ofNullable(addons.keda()),
+        HEADROOM, Optional.ofNullable(addons.headroom()));
+
+    return ADDONS.stream().filter(addon -> optional.getOrDefault(addon, Optional.of(addon)).isPresent()).toList();
+  }
+
+  private static Stream<String> installed(String target, Map<String, List<String>> dependencies, List<String> present) {
+    if (present.contains(target))
+      return Stream.of(target);
+
+    return dependencies.get(target).stream().flatMap(next -> installed(next, dependencies, present));
+  }
+
+  private static void acyclic(String addon, Map<String, List<String>> dependencies, Set<String> visited, LinkedHashSet<String> path) {
+    if (!path.add(addon))
+      throw new InvalidParameterException("addon dependency cycle " + String.join(" -> ", path) + " -> " + addon);
+    if (visited.add(addon))
+      dependencies.get(addon).forEach(target -> acyclic(target, dependencies, visited, path));
+
+    path.remove(addon);
   }
 }
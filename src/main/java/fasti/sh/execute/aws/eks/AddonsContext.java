@@ -0,0 +1,46 @@
+package fasti.sh.execute.aws.eks;
+
+import fasti.sh.execute.serialization.Mapper;
+import fasti.sh.execute.serialization.Template;
+import fasti.sh.model.aws.eks.KubernetesConf;
+import fasti.sh.model.aws.eks.addon.AddonsConf;
+import java.util.HashMap;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import software.constructs.Construct;
+
+/**
+ * Addon configuration for a single cluster, rendered and bound once and shared by {@link ManagedAddonsConstruct} and
+ * {@link AddonsConstruct}.
+ *
+ * <p>
+ * The addon document is rendered with the {@code hosted:eks:grafana:secret} context variable when it is set, so both constructs see the
+ * same values and the document is parsed only once per cluster.
+ *
+ * @author CDK Common Framework
+ * @see AddonsConf for the addon document model
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class AddonsContext {
+  public static final String GRAFANA_SECRET = "hosted:eks:grafana:secret";
+
+  private final AddonsConf conf;
+
+  public AddonsContext(AddonsConf conf) {
+    this.conf = conf;
+  }
+
+  @SneakyThrows
+  public static AddonsContext of(Construct scope, KubernetesConf conf) {
+    var values = new HashMap<String, Object>();
+    Optional.ofNullable(scope.getNode().tryGetContext(GRAFANA_SECRET)).ifPresent(secret -> values.put(GRAFANA_SECRET, secret.toString()));
+
+    log.debug("{} [cluster: {} addons: {}]", "AddonsContext", conf.name(), conf.addons());
+
+    return new AddonsContext(Mapper.get().readValue(Template.parse(scope, conf.addons(), values), AddonsConf.class));
+  }
+}
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import fasti.sh.execute.aws.sqs.SqsConstruct;
 import fasti.sh.execute.serialization.Mapper;
 import fasti.sh.execute.serialization.Template;
+import fasti.sh.model.aws.eks.ImageCacheConf;
 import fasti.sh.model.aws.eks.KubernetesConf;
 import fasti.sh.model.aws.eks.NodeGroup;
 import fasti.sh.model.aws.eks.RbacConf;
@@ -25,15 +26,16 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awscdk.NestedStack;
 import software.amazon.awscdk.NestedStackProps;
+import software.amazon.awscdk.Stack;
 import software.amazon.awscdk.cdk.lambdalayer.kubectl.v33.KubectlV33Layer;
 import software.amazon.awscdk.services.ec2.SubnetSelection;
 import software.amazon.awscdk.services.ec2.SubnetType;
 import software.amazon.awscdk.services.ec2.Vpc;
+import software.amazon.awscdk.services.eks.AuthenticationMode;
 import software.amazon.awscdk.services.eks.AwsAuthMapping;
 import software.amazon.awscdk.services.eks.Cluster;
 import software.amazon.awscdk.services.eks.ClusterLoggingTypes;
 import software.amazon.awscdk.services.eks.EndpointAccess;
-import software.amazon.awscdk.services.eks.KubernetesManifest;
 import software.amazon.awscdk.services.eks.KubernetesVersion;
 import software.amazon.awscdk.services.iam.Role;
 import software.amazon.awscdk.services.sqs.IQueue;
@@ -111,6 +113,7 @@ import software.constructs.Construct;
  * @see NodeGroupsConstruct for worker node management
  * @see AddonsConstruct for Helm chart deployments
  * @see ObservabilityConstruct for monitoring and alerting
+ * @see EksStack for the same cluster as an independently deployed stack
  * @since 1.0.0
  */
 @Slf4j
@@ -123,36 +126,67 @@ public class EksNestedStack extends NestedStack {
   private final AddonsConstruct addonsConstruct;
   // private final ObservabilityConstruct observabilityConstruct;
 
-  @SneakyThrows
+  record Eks(
+    Cluster cluster,
+    IQueue interruptQueue,
+    ManagedAddonsConstruct managedAddonsConstruct,
+    NodeGroupsConstruct nodeGroupsConstruct,
+    AddonsConstruct addonsConstruct
+  ) {}
+
   public EksNestedStack(Construct scope, Common common, KubernetesConf conf, Vpc vpc, NestedStackProps props) {
     super(scope, "eks", props);
 
     log.debug("{} [common: {} conf: {} props: {}]", "EksNestedStack", common, conf, props);
 
-    this.cluster = cluster(common, conf, vpc);
+    var eks = build(this, common, conf, vpc);
+    this.cluster = eks.cluster();
+    this.interruptQueue = eks.interruptQueue();
+    this.managedAddonsConstruct = eks.managedAddonsConstruct();
+    this.nodeGroupsConstruct = eks.nodeGroupsConstruct();
+    this.addonsConstruct = eks.addonsConstruct();
+  }
 
-    var sqs = Mapper.get().readValue(Template.parse(this, conf.sqs()), Sqs.class);
-    this.interruptQueue = new SqsConstruct(this, common, sqs).sqs().getQueue();
+  /**
+   * Builds the cluster and everything around it into the given stack, shared by {@link EksNestedStack} and {@link EksStack} so both emit
+   * identical logical ids.
+   */
+  @SneakyThrows
+  static Eks build(Stack stack, Common common, KubernetesConf conf, Vpc vpc) {
+    var cluster = cluster(stack, common, conf, vpc);
 
-    this.managedAddonsConstruct = new ManagedAddonsConstruct(this, common, conf, this.cluster());
+    var sqs = Mapper.get().readValue(Template.parse(stack, conf.sqs()), Sqs.class);
+    var interruptQueue = new SqsConstruct(stack, common, sqs).sqs().getQueue();
+
+    var addons = AddonsContext.of(stack, conf);
+    var managedAddonsConstruct = new ManagedAddonsConstruct(stack, common, conf, addons, cluster);
 
     var configuration = Mapper
       .get()
-      .readValue(Template.parse(this, conf.nodeGroups()), new TypeReference<List<NodeGroup>>() {});
-    this.nodeGroupsConstruct = new NodeGroupsConstruct(this, conf.name(), common, configuration, this.cluster());
-    this.nodeGroupsConstruct().getNode().addDependency(this.interruptQueue());
+      .readValue(Template.parse(stack, conf.nodeGroups()), new TypeReference<List<NodeGroup>>() {});
+    var nodeGroupsConstruct = new NodeGroupsConstruct(stack, conf.name(), common, configuration, cluster);
+    nodeGroupsConstruct.getNode().addDependency(interruptQueue);
+
+    if (conf.imageCache() != null) {
+      var imageCache = Mapper.get().readValue(Template.parse(stack, conf.imageCache()), ImageCacheConf.class);
+      new ImageCacheConstruct(stack, common, imageCache, conf.version(), cluster);
+    }
 
-    this.addonsConstruct = new AddonsConstruct(this, common, conf, this.cluster());
-    this.addonsConstruct().getNode().addDependency(this.managedAddonsConstruct(), this.nodeGroupsConstruct());
+    var addonsConstruct = new AddonsConstruct(stack, common, conf, addons, cluster, List.of(interruptQueue));
+    addonsConstruct.getNode().addDependency(managedAddonsConstruct, nodeGroupsConstruct);
 
-    // this.observabilityConstruct = new ObservabilityConstruct(this, common, conf.observability());
-    // this
-    // .observabilityConstruct()
+    if (ManifestBatchConstruct.enabled(stack))
+      ManifestBatchConstruct.of(cluster).flush();
+
+    // var observabilityConstruct = new ObservabilityConstruct(stack, common, conf.observability());
+    // observabilityConstruct
     // .getNode()
     // .addDependency(
-    // this.managedAddonsConstruct(),
-    // this.nodeGroupsConstruct(),
-    // this.addonsConstruct());
+    // managedAddonsConstruct,
+    // nodeGroupsConstruct,
+    // addonsConstruct);
+
+    return new Eks(cluster, interruptQueue, managedAddonsConstruct, nodeGroupsConstruct, addonsConstruct);
   }
 
   private static EndpointAccess type(String endpointAccess) {
@@ -171,9 +205,9 @@ public class EksNestedStack extends NestedStack {
   }
 
   @SneakyThrows
-  private Cluster cluster(Common common, KubernetesConf conf, Vpc vpc) {
-    var eks = Cluster.Builder
-      .create(this, conf.name())
+  private static Cluster cluster(Stack stack, Common common, KubernetesConf conf, Vpc vpc) {
+    var builder = Cluster.Builder
+      .create(stack, conf.name())
       .clusterName(conf.name())
       .version(KubernetesVersion.of(conf.version()))
       .endpointAccess(type(conf.endpointAccess()))
@@ -185,7 +219,7 @@ public class EksNestedStack extends NestedStack {
           .map(type -> SubnetSelection.builder().subnetType(SubnetType.valueOf(type.toUpperCase())).build())
           .toList())
       .placeClusterHandlerInVpc(true)
-      .kubectlLayer(new KubectlV33Layer(this, id("kubectl", conf.name())))
+      .kubectlLayer(new KubectlV33Layer(stack, id("kubectl", conf.name())))
       .defaultCapacity(0)
       .clusterLogging(
         conf
@@ -195,28 +229,38 @@ public class EksNestedStack extends NestedStack {
           .map(ClusterLoggingTypes::valueOf)
           .toList())
       .prune(conf.prune())
-      .tags(Common.Maps.from(common.tags(), conf.tags()))
-      .build();
+      .tags(Common.Maps.from(common.tags(), conf.tags()));
+
+    var tenancy = tenancy(stack, conf);
+    if (tenancy.accessEntries())
+      builder.authenticationMode(AuthenticationMode.API_AND_CONFIG_MAP);
 
-    rbac(conf, eks);
-    awsAuthConfigMap(conf, eks);
+    var eks = Kubectl.configure(builder, conf.kubectl()).build();
+    OidcTrustConstruct.of(eks, conf.name());
+
+    rbac(stack, conf, eks);
+    if (tenancy.accessEntries())
+      new AccessEntriesConstruct(stack, common, tenancy, eks);
+    else
+      awsAuthConfigMap(stack, tenancy, eks);
 
     return eks;
   }
 
   @SneakyThrows
-  private void awsAuthConfigMap(KubernetesConf conf, Cluster eks) {
-    var mapper = Mapper.get();
+  private static TenancyConf tenancy(Stack stack, KubernetesConf conf) {
     var parsed = Template
       .parse(
-        this,
+        stack,
         conf.tenancy(),
         Map
           .ofEntries(
-            Map.entry("hosted:eks:administrators", tenant("hosted:eks:administrators")),
-            Map.entry("hosted:eks:users", tenant("hosted:eks:users"))));
-    var tenancy = mapper.readValue(parsed, TenancyConf.class);
+            Map.entry("hosted:eks:administrators", tenant(stack, "hosted:eks:administrators")),
+            Map.entry("hosted:eks:users", tenant(stack, "hosted:eks:users"))));
+    return Mapper.get().readValue(parsed, TenancyConf.class);
+  }
 
+  private static void awsAuthConfigMap(Stack stack, TenancyConf tenancy, Cluster eks) {
     tenancy
       .administrators()
       .forEach(
@@ -225,7 +269,7 @@ public class EksNestedStack extends NestedStack {
           .addMastersRole(
             Role
               .fromRoleArn(
-                this,
+                stack,
                 String.format("%s-admin-lookup", administrator.role()),
                 administrator.role())));
 
@@ -238,7 +282,7 @@ public class EksNestedStack extends NestedStack {
             user -> eks
               .getAwsAuth()
               .addRoleMapping(
-                Role.fromRoleArn(this, String.format("%s-user-lookup", user.role()), user.role()),
+                Role.fromRoleArn(stack, String.format("%s-user-lookup", user.role()), user.role()),
                 AwsAuthMapping
                   .builder()
                   .username(user.username())
@@ -246,9 +290,9 @@ public class EksNestedStack extends NestedStack {
                   .build())));
   }
 
-  private void rbac(KubernetesConf conf, Cluster eks) throws JsonProcessingException {
+  private static void rbac(Stack stack, KubernetesConf conf, Cluster eks) throws JsonProcessingException {
     var mapper = Mapper.get();
-    var parsed = Template.parse(this, conf.rbac());
+    var parsed = Template.parse(stack, conf.rbac());
     var rbac = Serialization.unmarshal(parsed, RbacConf.class);
 
     var userClusterRoleBindingManifest = mapper
@@ -257,14 +301,8 @@ public class EksNestedStack extends NestedStack {
           .asYaml(
             rbac.userClusterRoleBinding()),
         new TypeReference<Map<String, Object>>() {});
-    KubernetesManifest.Builder
-      .create(this, "user-cluster-role-binding")
-      .cluster(eks)
-      .overwrite(true)
-      .prune(true)
-      .skipValidation(true)
-      .manifest(List.of(userClusterRoleBindingManifest))
-      .build();
+    ManifestBatchConstruct
+      .manifest(stack, "user-cluster-role-binding", eks, ManifestBatchConstruct.CLUSTER_WAVE, userClusterRoleBindingManifest);
 
     var userClusterRoleManifest = mapper
       .readValue(
@@ -272,18 +310,11 @@ public class EksNestedStack extends NestedStack {
           .asYaml(
             rbac.userClusterRole()),
         new TypeReference<Map<String, Object>>() {});
-    KubernetesManifest.Builder
-      .create(this, "user-cluster-role")
-      .cluster(eks)
-      .overwrite(true)
-      .prune(true)
-      .skipValidation(true)
-      .manifest(List.of(userClusterRoleManifest))
-      .build();
+    ManifestBatchConstruct.manifest(stack, "user-cluster-role", eks, ManifestBatchConstruct.CLUSTER_WAVE, userClusterRoleManifest);
   }
 
-  private List<Tenant> tenant(String type) {
-    var tenants = this.getNode().tryGetContext(type);
+  private static List<Tenant> tenant(Stack stack, String type) {
+    var tenants = stack.getNode().tryGetContext(type);
     var results = new ArrayList<Tenant>();
     if (tenants instanceof List<?> t) {
       for (var admin : t) {
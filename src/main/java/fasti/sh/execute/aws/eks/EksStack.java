@@ -0,0 +1,63 @@
+package fasti.sh.execute.aws.eks;
+
+import static fasti.sh.execute.serialization.Format.name;
+
+import fasti.sh.model.aws.eks.KubernetesConf;
+import fasti.sh.model.main.Common;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.services.ec2.Vpc;
+import software.amazon.awscdk.services.eks.Cluster;
+import software.amazon.awscdk.services.sqs.IQueue;
+import software.constructs.Construct;
+
+/**
+ * Top-level stack variant of {@link EksNestedStack} that deploys the cluster as its own CloudFormation stack.
+ *
+ * <p>
+ * The stack contents and logical ids are the same as the nested variant. As an independent stack it can be deployed concurrently with
+ * other units ({@code cdk deploy --concurrency}) and a failed update only rolls back the cluster. References to resources in other stacks,
+ * such as the VPC, are passed by CDK through stack exports.
+ *
+ * <p>
+ * Use it for new clusters only. Switching an existing deployment from {@link EksNestedStack} recreates every resource in a new stack and
+ * the named cluster collides with the one still owned by the nested stack.
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ *
+ * <pre>{@code
+ * if (Stacks.standalone(app)) {
+ *   var network = new NetworkStack(app, common, networkConf, stackProps);
+ *   var eks = new EksStack(app, common, kubernetesConf, network.vpc(), stackProps);
+ * }
+ * }</pre>
+ *
+ * @author CDK Common Framework
+ * @see EksNestedStack for the nested stack variant
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class EksStack extends Stack {
+  private final Cluster cluster;
+  private final IQueue interruptQueue;
+  private final ManagedAddonsConstruct managedAddonsConstruct;
+  private final NodeGroupsConstruct nodeGroupsConstruct;
+  private final AddonsConstruct addonsConstruct;
+
+  public EksStack(Construct scope, Common common, KubernetesConf conf, Vpc vpc, StackProps props) {
+    super(scope, name(common.id(), "eks"), props);
+
+    log.debug("{} [common: {} conf: {} props: {}]", "EksStack", common, conf, props);
+
+    var eks = EksNestedStack.build(this, common, conf, vpc);
+    this.cluster = eks.cluster();
+    this.interruptQueue = eks.interruptQueue();
+    this.managedAddonsConstruct = eks.managedAddonsConstruct();
+    this.nodeGroupsConstruct = eks.nodeGroupsConstruct();
+    this.addonsConstruct = eks.addonsConstruct();
+  }
+}
@@ -0,0 +1,212 @@
+package fasti.sh.execute.aws.eks;
+
+import static fasti.sh.execute.serialization.Format.id;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.serialization.Mapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import software.amazon.awscdk.Token;
+import software.amazon.awscdk.services.eks.HelmChart;
+import software.amazon.awscdk.services.s3.assets.Asset;
+import software.constructs.Construct;
+
+/**
+ * Points a Helm chart release either at its upstream repository or at a copy of the chart packaged as an S3 asset.
+ *
+ * <p>
+ * Mirrored charts are pulled once with the {@code helm} CLI into a local cache keyed by repository, chart and version, then uploaded with
+ * the other stack assets, so the kubectl handler installs them from the asset bucket instead of reaching the upstream repository on every
+ * deploy. The cache defaults to {@code ~/.cache/cdk-helm} and can be moved with the {@code hosted:eks:helm:cache} context value, for
+ * example onto a build cache volume; {@code hosted:eks:helm:binary} overrides the CLI path.
+ *
+ * <p>
+ * Rendered values are inlined into the template as the release's {@code Values} property unless their JSON form is larger than the
+ * {@code hosted:eks:helm:values:threshold} context value in bytes. Larger values are baked into the packaged chart instead: the chart's own
+ * {@code values.yaml} is merged with them the way {@code helm install -f} would and the result is cached next to the pulled chart under a
+ * hash of the values, so the template only carries the asset reference. The kubectl handler has no other way to read values from S3, so
+ * charts over the threshold are packaged even when {@code mirror} is off, and need a pinned version like mirrored ones. Top level keys
+ * holding deploy time tokens, such as role ARNs, cannot be written at synth and stay inline.
+ *
+ * @author CDK Common Framework
+ * @see fasti.sh.model.aws.eks.HelmChart#mirror() for enabling the mirror
+ * @since 1.0.0
+ */
+@Slf4j
+public class HelmChartSource {
+  public static final String CACHE = "hosted:eks:helm:cache";
+  public static final String BINARY = "hosted:eks:helm:binary";
+  public static final String THRESHOLD = "hosted:eks:helm:values:threshold";
+
+  public static HelmChart.Builder configure(
+    Construct scope,
+    HelmChart.Builder builder,
+    fasti.sh.model.aws.eks.HelmChart conf,
+    Map<String, Object> values
+  ) {
+    var threshold = threshold(scope);
+    var offload = threshold > 0 && json(values).length() > threshold;
+    if (!conf.mirror() && !offload)
+      return builder.chart(conf.name()).repository(conf.repository()).version(conf.version()).values(values);
+
+    var chart = cached(scope, conf);
+    var inline = values;
+    if (offload) {
+      var baked = new LinkedHashMap<String, Object>();
+      inline = new LinkedHashMap<>();
+      for (var entry : values.entrySet())
+        (Token.isUnresolved(json(entry.getValue())) ? inline : baked).put(entry.getKey(), entry.getValue());
+      chart = baked(chart, conf, baked);
+
+      log.debug("offloading values of chart {} over {} bytes [path: {} inline: {}]", conf.name(), threshold, chart, inline.keySet());
+    }
+
+    var asset = Asset.Builder.create(scope, id(conf.name(), "chart")).path(chart.toString()).build();
+
+    log.debug("mirroring chart {} {} from {} [path: {}]", conf.name(), conf.version(), conf.repository(), chart);
+
+    builder.chartAsset(asset);
+    return offload && inline.isEmpty() ? builder : builder.values(inline);
+  }
+
+  private static long threshold(Construct scope) {
+    return Optional.ofNullable(scope.getNode().tryGetContext(THRESHOLD)).map(Object::toString).map(Long::parseLong).orElse(0L);
+  }
+
+  @SneakyThrows
+  private static String json(Object value) {
+    return Mapper.json().writeValueAsString(value);
+  }
+
+  /**
+   * A copy of the cached chart whose {@code values.yaml} carries the rendered values, keyed by their hash so unchanged values reuse the
+   * copy and the asset hash.
+   */
+  @SneakyThrows
+  static Path baked(Path chart, fasti.sh.model.aws.eks.HelmChart conf, Map<String, Object> values) {
+    var rendered = Mapper.get().writeValueAsString(values);
+    var key = chart.getParent().resolve(String.format("%s-values-%s", conf.name(), DigestUtils.sha256Hex(rendered).substring(0, 16)));
+    var target = key.resolve(conf.name());
+
+    if (Files.isRegularFile(target.resolve("Chart.yaml")))
+      return target;
+
+    Files.createDirectories(key);
+    var staging = Files.createTempDirectory(key, ".bake-");
+    try {
+      var copy = staging.resolve(conf.name());
+      FileUtils.copyDirectory(chart.toFile(), copy.toFile());
+
+      var file = copy.resolve("values.yaml");
+      var defaults = Files.isRegularFile(file)
+        ? Mapper.get().readValue(Files.readString(file), new TypeReference<Map<String, Object>>() {})
+        : null;
+      Files.writeString(file, Mapper.get().writeValueAsString(merge(Optional.ofNullable(defaults).orElseGet(Map::of), values)));
+
+      Files.move(copy, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (FileSystemException e) {
+      // a concurrent bake got there first, which surfaces as either an existing or a non-empty target depending on the file system
+      if (!Files.isRegularFile(target.resolve("Chart.yaml")))
+        throw e;
+      log.debug("values of chart {} were baked concurrently [path: {}]", conf.name(), target);
+    } finally {
+      FileUtils.deleteQuietly(staging.toFile());
+    }
+
+    return target;
+  }
+
+  /**
+   * Helm's override semantics: maps merge key by key, anything else replaces the default.
+   */
+  @SuppressWarnings("unchecked")
+  static Map<String, Object> merge(Map<String, Object> defaults, Map<String, Object> overrides) {
+    var merged = new LinkedHashMap<>(defaults);
+    overrides.forEach((key, value) -> {
+      if (value instanceof Map<?, ?> map && merged.get(key) instanceof Map<?, ?> current)
+        merged.put(key, merge((Map<String, Object>) current, (Map<String, Object>) map));
+      else
+        merged.put(key, value);
+    });
+    return merged;
+  }
+
+  /**
+   * The unpacked chart directory for the release, pulling it into the cache on a miss. Pulls land in a staging directory first and are
+   * moved into place, so an interrupted pull never leaves a partial chart behind for the next synth to pick up.
+   */
+  @SneakyThrows
+  static Path cached(Construct scope, fasti.sh.model.aws.eks.HelmChart conf) {
+    var packaged = conf.mirror()
+      ? "it is mirrored"
+      : String.format("its values are over %s and are baked into a packaged copy", THRESHOLD);
+    if (conf.version() == null || conf.version().isBlank())
+      throw new InvalidParameterException(
+        String.format("chart %s needs a pinned version to be pulled into the chart cache, %s", conf.name(), packaged));
+    if (conf.repository() == null || conf.repository().isBlank())
+      throw new InvalidParameterException(
+        String.format("chart %s needs a repository to be pulled into the chart cache, %s", conf.name(), packaged));
+
+    var root = Optional
+      .ofNullable(scope.getNode().tryGetContext(CACHE))
+      .map(Object::toString)
+      .map(Path::of)
+      .orElseGet(() -> Path.of(System.getProperty("user.home"), ".cache", "cdk-helm"));
+    var key = root.resolve(conf.repository().replaceAll("[^A-Za-z0-9.-]+", "_")).resolve(conf.name()).resolve(conf.version());
+    var chart = key.resolve(conf.name());
+
+    if (Files.isRegularFile(chart.resolve("Chart.yaml")))
+      return chart;
+
+    Files.createDirectories(key);
+    var staging = Files.createTempDirectory(key, ".pull-");
+    try {
+      pull(scope, conf, staging);
+      Files.move(staging.resolve(conf.name()), chart, StandardCopyOption.ATOMIC_MOVE);
+    } catch (FileSystemException e) {
+      // a concurrent pull got there first, which surfaces as either an existing or a non-empty target depending on the file system
+      if (!Files.isRegularFile(chart.resolve("Chart.yaml")))
+        throw e;
+      log.debug("chart {} {} was cached concurrently [path: {}]", conf.name(), conf.version(), chart);
+    } finally {
+      FileUtils.deleteQuietly(staging.toFile());
+    }
+
+    return chart;
+  }
+
+  private static void pull(Construct scope, fasti.sh.model.aws.eks.HelmChart conf, Path destination) throws InterruptedException {
+    var binary = Optional.ofNullable(scope.getNode().tryGetContext(BINARY)).map(Object::toString).orElse("helm");
+
+    var command = new ArrayList<>(List.of(binary, "pull"));
+    if (conf.repository().startsWith("oci://"))
+      command.add(conf.repository().replaceAll("/+$", "") + "/" + conf.name());
+    else
+      command.addAll(List.of(conf.name(), "--repo", conf.repository()));
+    command.addAll(List.of("--version", conf.version(), "--untar", "--untardir", destination.toString()));
+
+    try {
+      var process = new ProcessBuilder(command).redirectErrorStream(true).start();
+      var output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+      if (process.waitFor() != 0)
+        throw new RuntimeException(String.format("error mirroring chart %s %s from %s: %s", conf.name(), conf.version(),
+          conf.repository(), output.strip()));
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("error mirroring chart %s, %s is required on the synth host", conf.name(), binary), e);
+    }
+  }
+}
@@ -0,0 +1,303 @@
+package fasti.sh.execute.aws.eks;
+
+import static fasti.sh.execute.serialization.Format.id;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.serialization.Mapper;
+import fasti.sh.model.aws.eks.ImageCacheConf;
+import fasti.sh.model.aws.eks.NodeVolumeConf;
+import fasti.sh.model.main.Common;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Arn;
+import software.amazon.awscdk.ArnComponents;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.ec2.SecurityGroup;
+import software.amazon.awscdk.services.ec2.SubnetSelection;
+import software.amazon.awscdk.services.ec2.SubnetType;
+import software.amazon.awscdk.services.eks.ICluster;
+import software.amazon.awscdk.services.iam.CfnInstanceProfile;
+import software.amazon.awscdk.services.iam.ManagedPolicy;
+import software.amazon.awscdk.services.iam.PolicyStatement;
+import software.amazon.awscdk.services.iam.Role;
+import software.amazon.awscdk.services.iam.ServicePrincipal;
+import software.amazon.awscdk.services.ssm.CfnDocument;
+import software.constructs.Construct;
+
+/**
+ * SSM Automation document that bakes container images into an EBS snapshot for new nodes to restore.
+ *
+ * <p>
+ * Running the document launches a Bottlerocket builder in a private subnet of the cluster VPC, pulls each image of
+ * {@link ImageCacheConf#images()} into containerd on the data volume, stops the instance, snapshots {@code /dev/xvdb}, publishes the
+ * snapshot id to an SSM parameter and terminates the builder, including when a step fails. Node groups and Karpenter node classes pick the
+ * snapshot up through {@link NodeVolumeConf#snapshotId()}, usually as a {@code {{resolve:ssm:...}}} reference to that parameter, so nodes
+ * start with the images already local instead of pulling them on first schedule.
+ *
+ * <p>
+ * Private ECR images are pulled with the builder instance role, which fetches a registry password on the instance right before each pull,
+ * so no ECR credential passes through the automation outputs or the RunCommand parameters.
+ *
+ * <p>
+ * The document is created but not run; start it after deploy and whenever the image list changes, for example with
+ * {@code aws ssm start-automation-execution --document-name <document>}, then redeploy so launch templates resolve the new snapshot.
+ *
+ * @author CDK Common Framework
+ * @see ImageCacheConf for the images and builder settings
+ * @see NodeGroupsConstruct for launch templates restoring the snapshot
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class ImageCacheConstruct extends Construct {
+  public static final String DEVICE = "/dev/xvdb";
+  public static final List<String> ARCHITECTURES = List.of("x86_64", "arm64");
+
+  private static final Pattern ECR = Pattern.compile("^\\d{12}\\.dkr\\.ecr(-fips)?\\.([a-z0-9-]+)\\.amazonaws\\.com(\\.cn)?/.+$");
+
+  private final Role builderRole;
+  private final Role automationRole;
+  private final CfnDocument document;
+  private final String parameter;
+
+  public ImageCacheConstruct(Construct scope, Common common, ImageCacheConf conf, String version, ICluster cluster) {
+    super(scope, id("image-cache", cluster.getNode().getId()));
+
+    log.debug("{} [common: {} conf: {}]", "ImageCacheConstruct", common, conf);
+
+    var images = Optional.ofNullable(conf.images()).orElseGet(List::of);
+    if (images.isEmpty())
+      throw new InvalidParameterException("image cache needs at least one image");
+
+    var architecture = Optional.ofNullable(conf.architecture()).orElse("x86_64");
+    if (!ARCHITECTURES.contains(architecture))
+      throw new InvalidParameterException(String.format("image cache architecture %s is not one of %s", architecture, ARCHITECTURES));
+
+    this.parameter = Optional.ofNullable(conf.parameter()).orElse(String.format("/%s/image-cache/snapshot", cluster.getClusterName()));
+
+    this.builderRole = Role.Builder
+      .create(this, "builder")
+      .assumedBy(new ServicePrincipal("ec2.amazonaws.com"))
+      .managedPolicies(
+        List
+          .of(
+            ManagedPolicy.fromAwsManagedPolicyName("AmazonSSMManagedInstanceCore"),
+            ManagedPolicy.fromAwsManagedPolicyName("AmazonEC2ContainerRegistryReadOnly")))
+      .build();
+    var profile = CfnInstanceProfile.Builder.create(this, "builder-profile").roles(List.of(this.builderRole().getRoleName())).build();
+
+    var vpc = cluster.getVpc();
+    var subnet = vpc.selectSubnets(SubnetSelection.builder().subnetType(SubnetType.PRIVATE_WITH_EGRESS).build()).getSubnetIds().getFirst();
+    var securityGroup = SecurityGroup.Builder
+      .create(this, "builder-sg")
+      .vpc(vpc)
+      .description("image cache builder, egress only")
+      .allowAllOutbound(true)
+      .build();
+
+    this.automationRole = Role.Builder.create(this, "automation").assumedBy(new ServicePrincipal("ssm.amazonaws.com")).build();
+    this.automationRole().addToPrincipalPolicy(statement(List.of("*"),
+      "ec2:RunInstances", "ec2:CreateTags", "ec2:DescribeInstances", "ec2:DescribeInstanceStatus", "ec2:StopInstances",
+      "ec2:TerminateInstances", "ec2:DescribeVolumes", "ec2:CreateSnapshot", "ec2:DescribeSnapshots",
+      "ssm:SendCommand", "ssm:ListCommands", "ssm:ListCommandInvocations", "ssm:DescribeInstanceInformation", "ssm:GetParameters"));
+    this.automationRole().addToPrincipalPolicy(statement(List.of(this.builderRole().getRoleArn()), "iam:PassRole"));
+    this.automationRole().addToPrincipalPolicy(statement(List.of(parameterArn(this.parameter())), "ssm:PutParameter"));
+
+    var content = content(version, architecture, conf, images);
+    var launch = step(content, "launch");
+    launch.put("ImageId", String.format("{{ssm:/aws/service/bottlerocket/aws-k8s-%s/%s/latest/image_id}}", version, architecture));
+    launch.put("IamInstanceProfileName", profile.getRef());
+    launch.put("SubnetId", subnet);
+    launch.put("SecurityGroupIds", List.of(securityGroup.getSecurityGroupId()));
+    content.put("assumeRole", this.automationRole().getRoleArn());
+
+    this.document = CfnDocument.Builder
+      .create(this, "document")
+      .documentType("Automation")
+      .documentFormat("JSON")
+      .updateMethod("NewVersion")
+      .content(content)
+      .build();
+  }
+
+  private static PolicyStatement statement(List<String> resources, String... actions) {
+    return PolicyStatement.Builder.create().actions(List.of(actions)).resources(resources).build();
+  }
+
+  private String parameterArn(String name) {
+    return Arn
+      .format(
+        ArnComponents.builder().service("ssm").resource("parameter").resourceName(name.startsWith("/") ? name.substring(1) : name).build(),
+        Stack.of(this));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> step(Map<String, Object> content, String name) {
+    var steps = (List<Map<String, Object>>) content.get("mainSteps");
+    var step = steps.stream().filter(s -> name.equals(s.get("name"))).findFirst().orElseThrow();
+    return (Map<String, Object>) step.get("inputs");
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> content(String version, String architecture, ImageCacheConf conf, List<String> images) {
+    var instanceType = Optional.ofNullable(conf.instanceType()).orElse("m7i.large");
+    var volumeSize = conf.volumeSize() > 0 ? conf.volumeSize() : 50;
+    var platform = "arm64".equals(architecture) ? "linux/arm64" : "linux/amd64";
+
+    var content = yaml("""
+      schemaVersion: "0.3"
+      description: Pre-pull container images for kubernetes %s into a Bottlerocket data volume snapshot
+      mainSteps:
+        - name: launch
+          action: aws:runInstances
+          onFailure: Abort
+          inputs:
+            InstanceType: %s
+            MinInstanceCount: 1
+            MaxInstanceCount: 1
+            UserData: %s
+            BlockDeviceMappings:
+              - DeviceName: %s
+                Ebs:
+                  VolumeSize: %d
+                  VolumeType: gp3
+                  DeleteOnTermination: true
+        - name: online
+          action: aws:waitForAwsResourceProperty
+          timeoutSeconds: 600
+          onFailure: step:terminate
+          inputs:
+            Service: ssm
+            Api: DescribeInstanceInformation
+            InstanceInformationFilterList:
+              - key: InstanceIds
+                valueSet: "{{ launch.InstanceIds }}"
+            PropertySelector: $.InstanceInformationList[0].PingStatus
+            DesiredValues:
+              - Online
+        - name: pull
+          action: aws:runCommand
+          timeoutSeconds: 3600
+          onFailure: step:terminate
+          inputs:
+            DocumentName: AWS-RunShellScript
+            InstanceIds: "{{ launch.InstanceIds }}"
+            Parameters:
+              commands: []
+        - name: stop
+          action: aws:changeInstanceState
+          onFailure: step:terminate
+          inputs:
+            InstanceIds: "{{ launch.InstanceIds }}"
+            DesiredState: stopped
+        - name: volume
+          action: aws:executeAwsApi
+          onFailure: step:terminate
+          inputs:
+            Service: ec2
+            Api: DescribeVolumes
+            Filters:
+              - Name: attachment.instance-id
+                Values: "{{ launch.InstanceIds }}"
+              - Name: attachment.device
+                Values:
+                  - %s
+          outputs:
+            - Name: VolumeId
+              Selector: $.Volumes[0].VolumeId
+              Type: String
+        - name: snapshot
+          action: aws:executeAwsApi
+          onFailure: step:terminate
+          inputs:
+            Service: ec2
+            Api: CreateSnapshot
+            VolumeId: "{{ volume.VolumeId }}"
+            Description: Bottlerocket image cache for kubernetes %s
+          outputs:
+            - Name: SnapshotId
+              Selector: $.SnapshotId
+              Type: String
+        - name: completed
+          action: aws:waitForAwsResourceProperty
+          timeoutSeconds: 3600
+          onFailure: step:terminate
+          inputs:
+            Service: ec2
+            Api: DescribeSnapshots
+            SnapshotIds:
+              - "{{ snapshot.SnapshotId }}"
+            PropertySelector: $.Snapshots[0].State
+            DesiredValues:
+              - completed
+        - name: publish
+          action: aws:executeAwsApi
+          onFailure: step:terminate
+          inputs:
+            Service: ssm
+            Api: PutParameter
+            Name: %s
+            Value: "{{ snapshot.SnapshotId }}"
+            Type: String
+            Overwrite: true
+        - name: terminate
+          action: aws:changeInstanceState
+          isEnd: true
+          inputs:
+            InstanceIds: "{{ launch.InstanceIds }}"
+            DesiredState: terminated
+      outputs:
+        - snapshot.SnapshotId
+      """.formatted(version, instanceType, userData(), DEVICE, volumeSize, DEVICE, version, this.parameter()));
+
+    var commands = new ArrayList<String>();
+    commands.add("set -euo pipefail");
+    // the admin container starts after the ssm agent, so the first commands can run before it exists
+    commands.add("timeout 600 bash -c 'until apiclient exec admin true > /dev/null 2>&1; do sleep 5; done'");
+    if (images.stream().anyMatch(image -> ECR.matcher(image).matches()))
+      commands.add("apiclient exec admin bash -c 'command -v aws || dnf install -y -q awscli-2'");
+    images.forEach(image -> commands.add(pull(image, platform)));
+    ((Map<String, Object>) step(content, "pull").get("Parameters")).put("commands", commands);
+
+    return content;
+  }
+
+  /**
+   * Pulls through the admin container into the host containerd, labelled as kubelet managed so image garbage collection treats it like any
+   * image the kubelet pulled itself; private ECR images authenticate with a password the instance role fetches for the registry region.
+   */
+  private static String pull(String image, String platform) {
+    var matcher = ECR.matcher(image);
+    var credentials = matcher.matches()
+      ? String.format(" --user \"AWS:$(apiclient exec admin aws ecr get-login-password --region %s)\"", matcher.group(2))
+      : "";
+    return String
+      .format("apiclient exec admin sheltie ctr -n k8s.io images pull --label io.cri-containerd.image=managed --platform %s%s %s", platform,
+        credentials, image);
+  }
+
+  /**
+   * Bottlerocket settings enabling the admin container the pull commands run through; the builder never joins the cluster.
+   */
+  private static String userData() {
+    var settings = """
+      [settings.host-containers.admin]
+      enabled = true
+      """;
+    return Base64.getEncoder().encodeToString(settings.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @SneakyThrows
+  private static Map<String, Object> yaml(String manifest) {
+    return Mapper.get().readValue(manifest, new TypeReference<Map<String, Object>>() {});
+  }
+}
@@ -0,0 +1,42 @@
+package fasti.sh.execute.aws.eks;
+
+import fasti.sh.model.aws.eks.KubectlConf;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Size;
+import software.amazon.awscdk.services.eks.Cluster;
+
+/**
+ * kubectl provider configuration for the clusters this library owns.
+ *
+ * <p>
+ * Every Helm chart and manifest is applied by the kubectl handler Lambda, so its memory bounds how fast addon installs run.
+ * {@link #configure(Cluster.Builder, KubectlConf)} sizes the handler the cluster deploys for itself.
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ *
+ * <pre>{@code
+ * var cluster = Kubectl.configure(Cluster.Builder.create(this, "eks").version(version).vpc(vpc), conf.kubectl()).build();
+ * }</pre>
+ *
+ * @author CDK Common Framework
+ * @see KubectlConf for the available settings
+ * @since 1.0.0
+ */
+@Slf4j
+public class Kubectl {
+
+  public static Cluster.Builder configure(Cluster.Builder builder, KubectlConf conf) {
+    if (conf == null)
+      return builder;
+
+    log.debug("configuring kubectl handler [memory: {} environment: {}]", conf.memory(), conf.environment());
+
+    if (conf.memory() > 0)
+      builder.kubectlMemory(Size.mebibytes(conf.memory()));
+    if (conf.environment() != null && !conf.environment().isEmpty())
+      builder.kubectlEnvironment(conf.environment());
+
+    return builder;
+  }
+}
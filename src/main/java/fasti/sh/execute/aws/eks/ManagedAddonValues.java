@@ -0,0 +1,215 @@
+package fasti.sh.execute.aws.eks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.serialization.Mapper;
+import fasti.sh.model.aws.eks.addon.managed.AwsVpcCniAddon;
+import fasti.sh.model.aws.eks.addon.managed.CoreDnsAddon;
+import fasti.sh.model.aws.eks.addon.managed.CoreDnsScalingConf;
+import fasti.sh.model.aws.eks.addon.managed.KubeProxyAddon;
+import fasti.sh.model.aws.eks.addon.managed.ManagedAddon;
+import java.security.InvalidParameterException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+
+/**
+ * Renders typed managed addon settings into the {@code configurationValues} JSON an EKS addon accepts.
+ *
+ * <p>
+ * Typed settings are validated at synth and deep-merged over the raw {@code configurationValues} of the addon, so the raw string keeps
+ * working for settings without a typed field. Addons without typed settings pass their raw string through unchanged.
+ *
+ * <ul>
+ * <li><b>VPC CNI</b> - Prefix delegation, warm prefix and IP targets, per-zone {@code ENIConfig}s for custom networking and security
+ * groups for pods. Security groups for pods also needs the {@code AmazonEKSVPCResourceController} policy on the cluster role
+ * <li><b>kube-proxy</b> - {@code iptables}, {@code ipvs} or {@code nftables} mode and the IPVS scheduler
+ * <li><b>CoreDNS</b> - The addon's proportional autoscaler and a Corefile with tuned cache TTLs; {@code hpa} scaling only validates the
+ * replica bounds here, the HorizontalPodAutoscaler itself is created by {@link ManagedAddonsConstruct}
+ * </ul>
+ *
+ * @author CDK Common Framework
+ * @see ManagedAddonsConstruct for the addons these values are applied to
+ * @since 1.0.0
+ */
+@Slf4j
+public class ManagedAddonValues {
+  public static final List<String> PROXY_MODES = List.of("iptables", "ipvs", "nftables");
+
+  @SneakyThrows
+  public static String of(Construct scope, ManagedAddon conf) {
+    var typed = switch (conf) {
+      case AwsVpcCniAddon vpcCni -> vpcCni(scope, vpcCni);
+      case KubeProxyAddon kubeProxy -> kubeProxy(kubeProxy);
+      case CoreDnsAddon coreDns -> coreDns(coreDns);
+      default -> Map.<String, Object>of();
+    };
+
+    if (typed.isEmpty())
+      return conf.configurationValues();
+
+    var values = Optional
+      .ofNullable(conf.configurationValues())
+      .filter(raw -> !raw.isBlank())
+      .map(ManagedAddonValues::parse)
+      .orElseGet(LinkedHashMap::new);
+    merge(values, typed);
+
+    log.debug("rendered configuration values for {} [values: {}]", conf.name(), values);
+
+    return Mapper.json().writeValueAsString(values);
+  }
+
+  private static Map<String, Object> vpcCni(Construct scope, AwsVpcCniAddon conf) {
+    if (conf.warmPrefixTarget() < 0 || conf.warmIpTarget() < 0 || conf.minimumIpTarget() < 0)
+      throw new InvalidParameterException(String.format("%s warm and minimum targets must not be negative", conf.name()));
+    if (conf.warmPrefixTarget() > 0 && !conf.prefixDelegation())
+      throw new InvalidParameterException(String.format("%s warmPrefixTarget requires prefixDelegation", conf.name()));
+
+    var env = new LinkedHashMap<String, Object>();
+    var values = new LinkedHashMap<String, Object>();
+
+    if (conf.prefixDelegation())
+      env.put("ENABLE_PREFIX_DELEGATION", "true");
+    if (conf.warmPrefixTarget() > 0)
+      env.put("WARM_PREFIX_TARGET", String.valueOf(conf.warmPrefixTarget()));
+    if (conf.warmIpTarget() > 0)
+      env.put("WARM_IP_TARGET", String.valueOf(conf.warmIpTarget()));
+    if (conf.minimumIpTarget() > 0)
+      env.put("MINIMUM_IP_TARGET", String.valueOf(conf.minimumIpTarget()));
+
+    var eniConfigs = Optional.ofNullable(conf.eniConfigs()).orElseGet(Map::of);
+    if (!eniConfigs.isEmpty()) {
+      var subnets = new LinkedHashMap<String, Object>();
+      eniConfigs.forEach((zone, eniConfig) -> {
+        if (eniConfig == null || eniConfig.subnet() == null || eniConfig.subnet().isBlank())
+          throw new InvalidParameterException(String.format("%s eniConfig for %s needs a subnet", conf.name(), zone));
+
+        var subnet = new LinkedHashMap<String, Object>();
+        subnet.put("id", eniConfig.subnet());
+        Optional.ofNullable(eniConfig.securityGroups()).filter(groups -> !groups.isEmpty()).ifPresent(g -> subnet.put("securityGroups", g));
+        subnets.put(zone, subnet);
+      });
+
+      env.put("AWS_VPC_K8S_CNI_CUSTOM_NETWORK_CFG", "true");
+      env.put("ENI_CONFIG_LABEL_DEF", "topology.kubernetes.io/zone");
+
+      var eniConfig = new LinkedHashMap<String, Object>();
+      eniConfig.put("create", true);
+      eniConfig.put("region", Stack.of(scope).getRegion());
+      eniConfig.put("subnets", subnets);
+      values.put("eniConfig", eniConfig);
+    }
+
+    if (conf.securityGroupsForPods()) {
+      env.put("ENABLE_POD_ENI", "true");
+      // branch ENI pods fail kubelet TCP probes unless early demux is disabled
+      values.put("init", Map.of("env", Map.of("DISABLE_TCP_EARLY_DEMUX", "true")));
+    }
+
+    if (!env.isEmpty())
+      values.put("env", env);
+
+    return values;
+  }
+
+  private static Map<String, Object> kubeProxy(KubeProxyAddon conf) {
+    var values = new LinkedHashMap<String, Object>();
+    var mode = Optional.ofNullable(conf.mode()).map(String::toLowerCase).orElse(null);
+
+    if (mode != null && !PROXY_MODES.contains(mode))
+      throw new InvalidParameterException(String.format("%s mode %s is not one of %s", conf.name(), conf.mode(), PROXY_MODES));
+    if (conf.ipvsScheduler() != null && !"ipvs".equals(mode))
+      throw new InvalidParameterException(String.format("%s ipvsScheduler requires ipvs mode", conf.name()));
+
+    Optional.ofNullable(mode).ifPresent(m -> values.put("mode", m));
+    Optional.ofNullable(conf.ipvsScheduler()).ifPresent(scheduler -> values.put("ipvs", Map.of("scheduler", scheduler)));
+
+    return values;
+  }
+
+  private static Map<String, Object> coreDns(CoreDnsAddon conf) {
+    var values = new LinkedHashMap<String, Object>();
+
+    Optional.ofNullable(conf.scaling()).ifPresent(scaling -> {
+      if (scaling.minReplicas() < 1 || scaling.maxReplicas() < scaling.minReplicas())
+        throw new InvalidParameterException(
+          String.format("%s scaling needs 1 <= minReplicas <= maxReplicas, got %s..%s", conf.name(), scaling.minReplicas(),
+            scaling.maxReplicas()));
+
+      switch (scaling.mode()) {
+        case CoreDnsScalingConf.PROPORTIONAL -> {
+          var autoScaling = new LinkedHashMap<String, Object>();
+          autoScaling.put("enabled", true);
+          autoScaling.put("minReplicas", scaling.minReplicas());
+          autoScaling.put("maxReplicas", scaling.maxReplicas());
+          values.put("autoScaling", autoScaling);
+        }
+        case CoreDnsScalingConf.HPA -> values.put("replicaCount", scaling.minReplicas());
+        case null, default -> throw new InvalidParameterException(
+          String.format("%s scaling mode %s is not one of [%s, %s]", conf.name(), scaling.mode(), CoreDnsScalingConf.PROPORTIONAL,
+            CoreDnsScalingConf.HPA));
+      }
+    });
+
+    if (conf.cacheTtl() < 0 || conf.negativeTtl() < 0)
+      throw new InvalidParameterException(String.format("%s cache TTLs must not be negative", conf.name()));
+    if (conf.cacheTtl() > 0 || conf.negativeTtl() > 0)
+      values.put("corefile", corefile(conf.cacheTtl(), conf.negativeTtl()));
+
+    return values;
+  }
+
+  /**
+   * The EKS CoreDNS addon Corefile with its {@code cache} plugin tuned, keeping the addon defaults of 30s and 5s for the TTL not set and
+   * the plugin default capacity of 9984 entries.
+   */
+  private static String corefile(int cacheTtl, int negativeTtl) {
+    var success = cacheTtl > 0 ? cacheTtl : 30;
+    var denial = negativeTtl > 0 ? negativeTtl : 5;
+    return """
+      .:53 {
+          errors
+          health {
+              lameduck 5s
+          }
+          ready
+          kubernetes cluster.local in-addr.arpa ip6.arpa {
+              pods insecure
+              fallthrough in-addr.arpa ip6.arpa
+          }
+          prometheus :9153
+          forward . /etc/resolv.conf
+          cache %d {
+              success 9984 %d
+              denial 9984 %d
+          }
+          loop
+          reload
+          loadbalance
+      }
+      """.formatted(success, success, denial);
+  }
+
+  @SneakyThrows
+  private static Map<String, Object> parse(String raw) {
+    return Mapper.json().readValue(raw, new TypeReference<LinkedHashMap<String, Object>>() {});
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void merge(Map<String, Object> target, Map<String, Object> source) {
+    source.forEach((key, value) -> {
+      if (value instanceof Map<?, ?> nested && target.get(key) instanceof Map<?, ?> existing) {
+        var copy = new LinkedHashMap<>((Map<String, Object>) existing);
+        merge(copy, (Map<String, Object>) nested);
+        target.put(key, copy);
+      } else {
+        target.put(key, value);
+      }
+    });
+  }
+}
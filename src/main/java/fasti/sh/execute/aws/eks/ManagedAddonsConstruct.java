@@ -10,11 +10,11 @@ import fasti.sh.execute.serialization.Template;
 import fasti.sh.model.aws.eks.KubernetesConf;
 import fasti.sh.model.aws.eks.addon.AddonsConf;
 import fasti.sh.model.aws.eks.addon.managed.AwsEbsCsiAddon;
+import fasti.sh.model.aws.eks.addon.managed.CoreDnsScalingConf;
 import fasti.sh.model.aws.eks.addon.managed.ManagedAddon;
-import fasti.sh.model.aws.iam.Principal;
 import fasti.sh.model.main.Common;
 import fasti.sh.model.main.Common.Maps;
-import java.util.List;
+import java.security.InvalidParameterException;
 import java.util.Map;
 import java.util.Optional;
 import lombok.Getter;
@@ -83,7 +83,7 @@ import software.constructs.Construct;
  * <ul>
  * <li>Version management with AWS-recommended defaults
  * <li>Conflict resolution strategies (OVERWRITE/NONE/PRESERVE)
- * <li>Custom configuration values via JSON
+ * <li>Custom configuration values via JSON, with typed VPC CNI and kube-proxy settings merged in by {@link ManagedAddonValues}
  * <li>Preservation policies for add-on deletion
  * </ul>
  *
@@ -93,6 +93,10 @@ import software.constructs.Construct;
  * <pre>{@code
  * ManagedAddonsConstruct addons = new ManagedAddonsConstruct(this, common, kubernetesConfig, cluster);
  *
+ * // Share one parsed addon document with AddonsConstruct
+ * AddonsContext context = AddonsContext.of(this, kubernetesConfig);
+ * ManagedAddonsConstruct shared = new ManagedAddonsConstruct(this, common, kubernetesConfig, context, cluster);
+ *
  * // Automatically provisions:
  * // - All 6 managed add-ons with IAM roles
  * // - EBS CSI with encryption and storage class
@@ -113,29 +117,74 @@ public class ManagedAddonsConstruct extends Construct {
   private final ManagedAddonConstruct vpcCniConstruct;
   private final ManagedAddonConstruct kubeProxyConstruct;
   private final ManagedAddonConstruct coreDnsConstruct;
+  private final Construct coreDnsAutoscaler;
   private final ManagedAddonConstruct podIdentityAgentConstruct;
   private final AwsEbsCsiConstruct awsEbsCsiConstruct;
   private final ManagedAddonConstruct containerInsightsConstruct;
 
-  @SneakyThrows
   public ManagedAddonsConstruct(Construct scope, Common common, KubernetesConf conf, Cluster cluster) {
+    this(scope, common, conf, AddonsContext.of(scope, conf), cluster);
+  }
+
+  public ManagedAddonsConstruct(Construct scope, Common common, KubernetesConf conf, AddonsContext context, Cluster cluster) {
     super(scope, id("managed-addons", conf.name()));
 
     log.debug("{} [common: {} conf: {}]", "ManagedAddonsConstruct", common, conf);
 
-    var addons = Mapper.get().readValue(Template.parse(scope, conf.addons()), AddonsConf.class);
+    var addons = context.conf();
     this.vpcCniConstruct = new ManagedAddonConstruct(this, common, addons.managed().awsVpcCni(), cluster);
     this.kubeProxyConstruct = new ManagedAddonConstruct(this, common, addons.managed().kubeProxy(), cluster);
     this.coreDnsConstruct = new ManagedAddonConstruct(this, common, addons.managed().coreDns(), cluster);
+    this.coreDnsAutoscaler = coreDnsAutoscaler(this, addons, cluster);
     this.podIdentityAgentConstruct = new ManagedAddonConstruct(this, common, addons.managed().podIdentityAgent(), cluster);
     this.awsEbsCsiConstruct = new AwsEbsCsiConstruct(this, common, addons.managed().awsEbsCsi(), cluster);
     this.containerInsightsConstruct = new ManagedAddonConstruct(this, common, addons.managed().containerInsights(), cluster);
   }
 
+  /**
+   * CPU based HorizontalPodAutoscaler for the CoreDNS deployment when its scaling mode is {@code hpa}, which needs a metrics server.
+   *
+   * @throws InvalidParameterException
+   *           if the scaling mode is {@code hpa} and the addons install no metrics server to read CPU utilization from
+   */
+  @SneakyThrows
+  private static Construct coreDnsAutoscaler(Construct scope, AddonsConf addons, Cluster cluster) {
+    var scaling = addons.managed().coreDns().scaling();
+    if (scaling == null || !CoreDnsScalingConf.HPA.equals(scaling.mode()))
+      return null;
+    if (addons.metricsServer() == null)
+      throw new InvalidParameterException("coredns scaling mode hpa requires the metricsServer addon");
+
+    var utilization = scaling.targetCpuUtilization() > 0 ? scaling.targetCpuUtilization() : 70;
+    var manifest = Mapper.get().readValue("""
+      apiVersion: autoscaling/v2
+      kind: HorizontalPodAutoscaler
+      metadata:
+        name: coredns
+        namespace: kube-system
+      spec:
+        scaleTargetRef:
+          apiVersion: apps/v1
+          kind: Deployment
+          name: coredns
+        minReplicas: %d
+        maxReplicas: %d
+        metrics:
+          - type: Resource
+            resource:
+              name: cpu
+              target:
+                type: Utilization
+                averageUtilization: %d
+      """.formatted(scaling.minReplicas(), scaling.maxReplicas(), utilization), new TypeReference<Map<String, Object>>() {});
+
+    return ManifestBatchConstruct.manifest(scope, "coredns-autoscaler", cluster, ManifestBatchConstruct.CLUSTER_WAVE, manifest);
+  }
+
   @Getter
   static class AwsEbsCsiConstruct extends Construct {
     private final ManagedAddonConstruct addonConstruct;
-    private final KubernetesManifest storageClass;
+    private final Construct storageClass;
     private final Key encryptionKey;
 
     @SneakyThrows
@@ -149,14 +198,7 @@ public class ManagedAddonsConstruct extends Construct {
 
       var parsed = Template.parse(scope, conf.defaultStorageClass());
       var manifest = Mapper.get().readValue(parsed, new TypeReference<Map<String, Object>>() {});
-      this.storageClass = KubernetesManifest.Builder
-        .create(this, "storageclass")
-        .cluster(cluster)
-        .overwrite(true)
-        .prune(true)
-        .skipValidation(true)
-        .manifest(List.of(manifest))
-        .build();
+      this.storageClass = ManifestBatchConstruct.manifest(this, "storageclass", cluster, ManifestBatchConstruct.CLUSTER_WAVE, manifest);
     }
   }
 
@@ -171,8 +213,7 @@ public class ManagedAddonsConstruct extends Construct {
       log.debug("{} [common: {} conf: {}]", "ManagedAddonConstruct", common, conf);
 
       this.roleArn = Optional.ofNullable(conf.serviceAccount()).map(serviceAccount -> {
-        var oidc = cluster.getOpenIdConnectProvider();
-        var principal = Principal.builder().build().oidcPrincipal(this, oidc, serviceAccount);
+        var principal = OidcTrustConstruct.of(cluster).principal(serviceAccount.metadata());
         return new RoleConstruct(this, common, principal, serviceAccount.role()).role().getRoleArn();
       }).orElse(null);
 
@@ -181,7 +222,7 @@ public class ManagedAddonsConstruct extends Construct {
         .clusterName(cluster.getClusterName())
         .addonName(conf.name())
         .addonVersion(conf.version())
-        .configurationValues(conf.configurationValues())
+        .configurationValues(ManagedAddonValues.of(this, conf))
         .preserveOnDelete(conf.preserveOnDelete())
         .resolveConflicts(conf.resolveConflicts().toUpperCase())
         .serviceAccountRoleArn(this.roleArn())
@@ -0,0 +1,146 @@
+package fasti.sh.execute.aws.eks;
+
+import static fasti.sh.execute.serialization.Format.id;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.services.eks.ICluster;
+import software.amazon.awscdk.services.eks.KubernetesManifest;
+import software.constructs.Construct;
+
+/**
+ * Per-cluster collector that emits many small Kubernetes manifests as a few multi-document {@link KubernetesManifest} resources.
+ *
+ * <p>
+ * Every {@link KubernetesManifest} is a separate invocation of the kubectl handler Lambda, each paying its own cold start and
+ * {@code kubectl apply}. With {@code hosted:eks:manifests:batch} set to {@code true}, {@link #manifest(Construct, String, ICluster, String,
+ * Map)} collects documents into named waves instead, and {@link #flush()} writes one {@link KubernetesManifest} per wave. Manifests in the
+ * same wave must only depend on the cluster; manifests that need other resources to exist first belong in a later wave.
+ *
+ * <p>
+ * <b>Behaviour:</b>
+ *
+ * <ul>
+ * <li><b>Disabled (default)</b> - Each manifest is created in place under its caller with its original id, so existing clusters keep their
+ * logical ids
+ * <li><b>Enabled</b> - The returned construct is the wave, which constructs can depend on before the wave has been flushed
+ * <li><b>Ordering</b> - Namespaces and custom resource definitions are applied ahead of the rest of a wave
+ * <li><b>Validation</b> - Synthesis fails if documents were collected but never flushed
+ * </ul>
+ *
+ * <p>
+ * Switching an existing cluster to batching replaces its manifest resources, and deleting the old ones runs {@code kubectl delete} on the
+ * objects they owned, so enable it on new clusters or during a maintenance window.
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ *
+ * <pre>{@code
+ * var namespace = ManifestBatchConstruct.manifest(this, "namespace", cluster, ManifestBatchConstruct.CLUSTER_WAVE, document);
+ * chart.getNode().addDependency(namespace);
+ *
+ * // once every manifest of the cluster has been added
+ * ManifestBatchConstruct.of(cluster).flush();
+ * }</pre>
+ *
+ * @author CDK Common Framework
+ * @see KubernetesManifest for the emitted resources
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class ManifestBatchConstruct extends Construct {
+  public static final String BATCH = "hosted:eks:manifests:batch";
+  public static final String CLUSTER_WAVE = "cluster";
+
+  private static final String ID = "manifest-batch";
+  private static final List<String> FIRST = List.of("Namespace", "CustomResourceDefinition");
+
+  private final ICluster cluster;
+  private final Map<String, Construct> waves = new LinkedHashMap<>();
+  private final Map<String, List<Map<String, Object>>> documents = new LinkedHashMap<>();
+  private final Map<String, KubernetesManifest> manifests = new LinkedHashMap<>();
+  private boolean flushed = false;
+
+  private ManifestBatchConstruct(ICluster cluster) {
+    super(parent(cluster), ID);
+
+    log.debug("{} [cluster: {}]", "ManifestBatchConstruct", cluster.getNode().getPath());
+
+    this.cluster = cluster;
+    this.getNode().addValidation(() -> this.flushed() || this.documents().isEmpty()
+      ? List.of()
+      : List.of(String.format("manifest batch collected %s waves that were never flushed", this.documents().size())));
+  }
+
+  public static boolean enabled(Construct scope) {
+    return Optional.ofNullable(scope.getNode().tryGetContext(BATCH)).map(Object::toString).map(Boolean::parseBoolean).orElse(false);
+  }
+
+  public static ManifestBatchConstruct of(ICluster cluster) {
+    return (ManifestBatchConstruct) Optional
+      .ofNullable(parent(cluster).getNode().tryFindChild(ID))
+      .orElseGet(() -> new ManifestBatchConstruct(cluster));
+  }
+
+  public static Construct manifest(Construct scope, String id, ICluster cluster, String wave, Map<String, Object> manifest) {
+    if (!enabled(scope)) {
+      return KubernetesManifest.Builder
+        .create(scope, id)
+        .cluster(cluster)
+        .overwrite(true)
+        .prune(true)
+        .skipValidation(true)
+        .manifest(List.of(manifest))
+        .build();
+    }
+
+    return of(cluster).add(wave, manifest);
+  }
+
+  public Construct add(String wave, Map<String, Object> manifest) {
+    if (this.flushed())
+      throw new IllegalStateException(String.format("manifest batch for %s has already been flushed", this.cluster().getNode().getPath()));
+
+    this.documents().computeIfAbsent(wave, w -> new ArrayList<>()).add(manifest);
+    return this.waves().computeIfAbsent(wave, w -> new Construct(this, id("wave", w)));
+  }
+
+  public Map<String, KubernetesManifest> flush() {
+    if (this.flushed())
+      return this.manifests();
+
+    this.documents().forEach((wave, documents) -> {
+      var ordered = documents.stream().sorted(Comparator.comparingInt(ManifestBatchConstruct::rank)).toList();
+      log.debug("flushing manifest wave {} [documents: {}]", wave, ordered.size());
+
+      this.manifests().put(wave, KubernetesManifest.Builder
+        .create(this.waves().get(wave), "manifest")
+        .cluster(this.cluster())
+        .overwrite(true)
+        .prune(true)
+        .skipValidation(true)
+        .manifest(ordered)
+        .build());
+    });
+
+    this.flushed = true;
+    return this.manifests();
+  }
+
+  private static Construct parent(ICluster cluster) {
+    return cluster instanceof Construct construct ? construct : Stack.of(cluster);
+  }
+
+  private static int rank(Map<String, Object> manifest) {
+    var index = FIRST.indexOf(String.valueOf(manifest.get("kind")));
+    return index < 0 ? FIRST.size() : index;
+  }
+}
@@ -8,19 +8,17 @@ import fasti.sh.model.main.Common;
 import io.fabric8.kubernetes.api.model.NamespaceBuilder;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.utils.Serialization;
-import java.util.List;
 import java.util.Map;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awscdk.services.eks.ICluster;
-import software.amazon.awscdk.services.eks.KubernetesManifest;
 import software.constructs.Construct;
 
 @Slf4j
 @Getter
 public class NamespaceConstruct extends Construct {
-  private final KubernetesManifest manifest;
+  private final Construct manifest;
 
   @SneakyThrows
   public NamespaceConstruct(Construct scope, Common common, ObjectMeta metadata, ICluster cluster) {
@@ -38,13 +36,6 @@ public class NamespaceConstruct extends Construct {
 
     var manifest = Mapper.get().readValue(Serialization.asYaml(namespace), new TypeReference<Map<String, Object>>() {});
 
-    this.manifest = KubernetesManifest.Builder
-      .create(this, metadata.getName())
-      .cluster(cluster)
-      .prune(true)
-      .overwrite(true)
-      .skipValidation(true)
-      .manifest(List.of(manifest))
-      .build();
+    this.manifest = ManifestBatchConstruct.manifest(this, metadata.getName(), cluster, ManifestBatchConstruct.CLUSTER_WAVE, manifest);
   }
 }
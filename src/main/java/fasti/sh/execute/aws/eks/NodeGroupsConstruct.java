@@ -3,18 +3,59 @@ package fasti.sh.execute.aws.eks;
 import static fasti.sh.execute.serialization.Format.id;
 
 import fasti.sh.execute.aws.iam.RoleConstruct;
+import fasti.sh.model.aws.eks.KubeletConf;
 import fasti.sh.model.aws.eks.NodeGroup;
+import fasti.sh.model.aws.eks.NodeLaunchTemplateConf;
+import fasti.sh.model.aws.eks.NodeVolumeConf;
 import fasti.sh.model.main.Common;
 import fasti.sh.model.main.Common.Maps;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.services.ec2.BlockDevice;
+import software.amazon.awscdk.services.ec2.BlockDeviceVolume;
+import software.amazon.awscdk.services.ec2.EbsDeviceOptions;
+import software.amazon.awscdk.services.ec2.EbsDeviceSnapshotOptions;
+import software.amazon.awscdk.services.ec2.EbsDeviceVolumeType;
 import software.amazon.awscdk.services.ec2.InstanceType;
+import software.amazon.awscdk.services.ec2.LaunchTemplate;
+import software.amazon.awscdk.services.ec2.MultipartBody;
+import software.amazon.awscdk.services.ec2.MultipartBodyOptions;
+import software.amazon.awscdk.services.ec2.MultipartUserData;
+import software.amazon.awscdk.services.ec2.UserData;
 import software.amazon.awscdk.services.eks.CapacityType;
 import software.amazon.awscdk.services.eks.ICluster;
+import software.amazon.awscdk.services.eks.LaunchTemplateSpec;
 import software.amazon.awscdk.services.eks.Nodegroup;
+import software.amazon.awscdk.services.eks.NodegroupAmiType;
 import software.constructs.Construct;
 
+/**
+ * Managed node groups with optional multi-type spot diversification and launch templates.
+ *
+ * <p>
+ * When a {@link NodeLaunchTemplateConf} is set, each group gets its own launch template carrying:
+ *
+ * <ul>
+ * <li><b>gp3 Volume</b> - Size, IOPS and throughput for the image and container storage device, optionally restored from an image cache
+ * snapshot so images are already local when the node joins
+ * <li><b>Instance Store</b> - NVMe disks striped into RAID0 for containerd and kubelet, through nodeadm on AL2023,
+ * {@code setup-local-disks} on AL2 and ephemeral storage bootstrap commands on Bottlerocket
+ * <li><b>Kubelet</b> - maxPods and image garbage collection thresholds, as a nodeadm {@code NodeConfig} on AL2023 and TOML settings on
+ * Bottlerocket
+ * </ul>
+ *
+ * <p>
+ * The instance metadata hop limit is set to 2 with IMDSv2 required, matching the launch template EKS generates when none is supplied.
+ *
+ * @author CDK Common Framework
+ * @see NodeGroup for node group configuration
+ * @since 1.0.0
+ */
 @Slf4j
 @Getter
 public class NodeGroupsConstruct extends Construct {
@@ -29,12 +70,12 @@ public class NodeGroupsConstruct extends Construct {
       var principal = nodeGroup.role().principal().iamPrincipal();
       var role = new RoleConstruct(this, common, principal, nodeGroup.role()).role();
 
-      return Nodegroup.Builder
+      var builder = Nodegroup.Builder
         .create(this, nodeGroup.name())
         .cluster(cluster)
         .nodegroupName(nodeGroup.name())
         .amiType(nodeGroup.amiType())
-        .instanceTypes(List.of(InstanceType.of(nodeGroup.instanceClass(), nodeGroup.instanceSize())))
+        .instanceTypes(instanceTypes(nodeGroup))
         .minSize(nodeGroup.minSize())
         .maxSize(nodeGroup.maxSize())
         .desiredSize(nodeGroup.desiredSize())
@@ -42,8 +83,149 @@ public class NodeGroupsConstruct extends Construct {
         .nodeRole(role)
         .forceUpdate(nodeGroup.forceUpdate())
         .labels(nodeGroup.labels())
-        .tags(Maps.from(common.tags(), nodeGroup.tags()))
-        .build();
+        .tags(Maps.from(common.tags(), nodeGroup.tags()));
+
+      Optional.ofNullable(nodeGroup.launchTemplate()).map(lt -> this.launchTemplate(nodeGroup, lt)).ifPresent(builder::launchTemplateSpec);
+
+      return builder.build();
     }).toList();
   }
+
+  private static List<InstanceType> instanceTypes(NodeGroup nodeGroup) {
+    var types = new LinkedHashSet<String>();
+    if (nodeGroup.instanceClass() != null && nodeGroup.instanceSize() != null)
+      types.add(InstanceType.of(nodeGroup.instanceClass(), nodeGroup.instanceSize()).toString());
+    Optional.ofNullable(nodeGroup.instanceTypes()).ifPresent(types::addAll);
+
+    if (types.isEmpty())
+      throw new InvalidParameterException(String.format("node group %s has no instance types", nodeGroup.name()));
+
+    return types.stream().map(InstanceType::new).toList();
+  }
+
+  private LaunchTemplateSpec launchTemplate(NodeGroup nodeGroup, NodeLaunchTemplateConf conf) {
+    var builder = LaunchTemplate.Builder
+      .create(this, id(nodeGroup.name(), "launch-template"))
+      .requireImdsv2(true)
+      .httpPutResponseHopLimit(2);
+
+    Optional
+      .ofNullable(conf.volume())
+      .map(volume -> blockDevice(nodeGroup.amiType(), volume))
+      .map(List::of)
+      .ifPresent(builder::blockDevices);
+    Optional.ofNullable(userData(nodeGroup, conf)).ifPresent(builder::userData);
+
+    var template = builder.build();
+    return LaunchTemplateSpec.builder().id(template.getLaunchTemplateId()).version(template.getLatestVersionNumber()).build();
+  }
+
+  private static BlockDevice blockDevice(NodegroupAmiType amiType, NodeVolumeConf volume) {
+    var device = Optional.ofNullable(volume.deviceName()).orElse(bottlerocket(amiType) ? "/dev/xvdb" : "/dev/xvda");
+    if (volume.snapshotId() != null)
+      return BlockDevice.builder().deviceName(device).volume(snapshot(amiType, volume)).build();
+
+    var options = EbsDeviceOptions.builder().volumeType(EbsDeviceVolumeType.GP3).encrypted(volume.encrypted()).deleteOnTermination(true);
+    if (volume.iops() > 0)
+      options.iops(volume.iops());
+    if (volume.throughput() > 0)
+      options.throughput(volume.throughput());
+
+    return BlockDevice.builder().deviceName(device).volume(BlockDeviceVolume.ebs(volume.size(), options.build())).build();
+  }
+
+  /**
+   * Data volume restored from an image cache snapshot; only Bottlerocket keeps containerd on a separate data volume, elsewhere the
+   * snapshot would replace the root device.
+   */
+  private static BlockDeviceVolume snapshot(NodegroupAmiType amiType, NodeVolumeConf volume) {
+    if (!bottlerocket(amiType))
+      throw new InvalidParameterException(
+        String.format("volume snapshot %s requires a Bottlerocket AMI, got %s", volume.snapshotId(), amiType));
+
+    var options = EbsDeviceSnapshotOptions.builder().volumeType(EbsDeviceVolumeType.GP3).deleteOnTermination(true);
+    if (volume.size() > 0)
+      options.volumeSize(volume.size());
+    if (volume.iops() > 0)
+      options.iops(volume.iops());
+    if (volume.throughput() > 0)
+      options.throughput(volume.throughput());
+
+    return BlockDeviceVolume.ebsFromSnapshot(volume.snapshotId(), options.build());
+  }
+
+  private static UserData userData(NodeGroup nodeGroup, NodeLaunchTemplateConf conf) {
+    var kubelet = conf.kubelet();
+    if (kubelet == null && !conf.instanceStore())
+      return null;
+
+    var amiType = nodeGroup.amiType();
+    var family = Optional.ofNullable(amiType).map(NodegroupAmiType::name).orElse("");
+    if (bottlerocket(amiType))
+      return UserData.custom(bottlerocketSettings(conf.instanceStore(), kubelet));
+    if (family.startsWith("AL2023")) {
+      var nodeConfig = nodeConfig(conf.instanceStore(), kubelet);
+      var userData = new MultipartUserData();
+      userData
+        .addPart(
+          MultipartBody.fromRawBody(MultipartBodyOptions.builder().contentType("application/node.eks.aws").body(nodeConfig).build()));
+      return userData;
+    }
+    if (family.startsWith("AL2_") && kubelet == null) {
+      var script = UserData.forLinux();
+      script.addCommands("/bin/setup-local-disks raid0");
+
+      var userData = new MultipartUserData();
+      userData.addPart(MultipartBody.fromUserData(script));
+      return userData;
+    }
+
+    throw new InvalidParameterException(
+      String.format("node group %s: kubelet and instance store settings are not supported on %s", nodeGroup.name(), amiType));
+  }
+
+  private static String nodeConfig(boolean instanceStore, KubeletConf kubelet) {
+    var spec = new ArrayList<String>();
+    if (instanceStore)
+      spec.addAll(List.of("  instance:", "    localStorage:", "      strategy: RAID0"));
+    if (kubelet != null) {
+      spec.addAll(List.of("  kubelet:", "    config:"));
+      if (kubelet.maxPods() > 0)
+        spec.add("      maxPods: " + kubelet.maxPods());
+      if (kubelet.imageGcHighThreshold() > 0)
+        spec.add("      imageGCHighThresholdPercent: " + kubelet.imageGcHighThreshold());
+      if (kubelet.imageGcLowThreshold() > 0)
+        spec.add("      imageGCLowThresholdPercent: " + kubelet.imageGcLowThreshold());
+    }
+
+    return String.join("\n", "---", "apiVersion: node.eks.aws/v1alpha1", "kind: NodeConfig", "spec:", String.join("\n", spec)) + "\n";
+  }
+
+  private static String bottlerocketSettings(boolean instanceStore, KubeletConf kubelet) {
+    var settings = new ArrayList<String>();
+    if (kubelet != null) {
+      settings.add("[settings.kubernetes]");
+      if (kubelet.maxPods() > 0)
+        settings.add("max-pods = " + kubelet.maxPods());
+      if (kubelet.imageGcHighThreshold() > 0)
+        settings.add("image-gc-high-threshold-percent = " + kubelet.imageGcHighThreshold());
+      if (kubelet.imageGcLowThreshold() > 0)
+        settings.add("image-gc-low-threshold-percent = " + kubelet.imageGcLowThreshold());
+    }
+    if (instanceStore) {
+      settings.add("[settings.bootstrap-commands.k8s-ephemeral-storage]");
+      settings
+        .add(
+          "commands = [[\"apiclient\", \"ephemeral-storage\", \"init\"], [\"apiclient\", \"ephemeral-storage\", \"bind\", \"--dirs\", "
+            + "\"/var/lib/containerd\", \"/var/lib/kubelet\", \"/var/log/pods\"]]");
+      settings.add("essential = true");
+      settings.add("mode = \"always\"");
+    }
+
+    return String.join("\n", settings) + "\n";
+  }
+
+  private static boolean bottlerocket(NodegroupAmiType amiType) {
+    return amiType != null && amiType.name().startsWith("BOTTLEROCKET");
+  }
 }
@@ -2,6 +2,7 @@ package fasti.sh.execute.aws.eks;
 
 import static fasti.sh.execute.serialization.Format.id;
 
+import fasti.sh.execute.aws.cdk.ShardsConstruct;
 import fasti.sh.execute.serialization.Mapper;
 import fasti.sh.execute.serialization.Template;
 import fasti.sh.model.aws.cloudwatch.AlarmConf;
@@ -13,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -90,6 +92,11 @@ import software.constructs.Construct;
  * // - CloudWatch Alarms with thresholds
  * // - SNS Topics with email subscribers
  * // - CloudWatch Dashboards with widgets
+ *
+ * // Hundreds of alarms can be spread across nested stacks; alarms carry their configured name, so shard a new stack rather than an
+ * // existing one, where each moved alarm would collide with itself on create
+ * var shards = new ShardsConstruct(this, common, new ShardConf("observability", 400, Map.of()));
+ * ObservabilityConstruct sharded = new ObservabilityConstruct(this, common, observabilityConfigJson, shards);
  * }</pre>
  *
  * @author CDK Common Framework
@@ -97,6 +104,7 @@ import software.constructs.Construct;
  * @see Alarm for threshold-based monitoring
  * @see CfnDashboard for metric visualization
  * @see Topic for notification delivery
+ * @see ShardsConstruct for spreading alarms across nested stacks
  * @since 1.0.0
  */
 @Slf4j
@@ -106,11 +114,18 @@ public class ObservabilityConstruct extends Construct {
   private final List<Alarm> alarms;
   private final List<CfnDashboard> dashboards;
   private final Map<String, ITopic> alarmTopics;
+  private final ShardsConstruct shards;
 
-  @SneakyThrows
   public ObservabilityConstruct(Construct scope, Common common, String conf) {
+    this(scope, common, conf, null);
+  }
+
+  @SneakyThrows
+  public ObservabilityConstruct(Construct scope, Common common, String conf, ShardsConstruct shards) {
     super(scope, id("observability", common.name()));
 
+    this.shards = shards;
+
     var mapper = Mapper.get();
     var parsed = Template.parse(scope, conf);
     var observability = mapper.readValue(parsed, ObservabilityConf.class);
@@ -150,15 +165,18 @@ public class ObservabilityConstruct extends Construct {
     return metricFilters
       .stream()
       .map(
-        conf -> MetricFilter.Builder
-          .create(scope, id("metric-filter", conf.filterName()))
-          .logGroup(LogGroup.fromLogGroupName(scope, conf.filterName() + "-log-group-lookup", conf.logGroupName()))
-          .filterPattern(FilterPattern.literal(conf.filterPattern()))
-          .metricName(conf.metricName())
-          .metricNamespace(conf.metricNamespace())
-          .metricValue(conf.metricValue())
-          .defaultValue(conf.defaultValue())
-          .build())
+        conf -> place(
+          scope,
+          id("metric-filter", conf.filterName()),
+          s -> MetricFilter.Builder
+            .create(s, id("metric-filter", conf.filterName()))
+            .logGroup(LogGroup.fromLogGroupName(s, conf.filterName() + "-log-group-lookup", conf.logGroupName()))
+            .filterPattern(FilterPattern.literal(conf.filterPattern()))
+            .metricName(conf.metricName())
+            .metricNamespace(conf.metricNamespace())
+            .metricValue(conf.metricValue())
+            .defaultValue(conf.defaultValue())
+            .build()))
       .toList();
   }
 
@@ -178,20 +196,22 @@ public class ObservabilityConstruct extends Construct {
           .period(Duration.minutes(conf.periodMinutes()))
           .build());
 
-        var alarmBuilder = Alarm.Builder
-          .create(scope, id("alarm", conf.name()))
-          .alarmName(conf.name())
-          .metric(metric)
-          .evaluationPeriods(conf.evaluationPeriods())
-          .threshold(conf.threshold())
-          .comparisonOperator(ComparisonOperator.valueOf(conf.comparisonOperator()))
-          .treatMissingData(TreatMissingData.valueOf(conf.treatMissingData()));
-
-        if (conf.description() != null) {
-          alarmBuilder.alarmDescription(conf.description());
-        }
+        var alarm = place(scope, id("alarm", conf.name()), s -> {
+          var alarmBuilder = Alarm.Builder
+            .create(s, id("alarm", conf.name()))
+            .alarmName(conf.name())
+            .metric(metric)
+            .evaluationPeriods(conf.evaluationPeriods())
+            .threshold(conf.threshold())
+            .comparisonOperator(ComparisonOperator.valueOf(conf.comparisonOperator()))
+            .treatMissingData(TreatMissingData.valueOf(conf.treatMissingData()));
+
+          if (conf.description() != null) {
+            alarmBuilder.alarmDescription(conf.description());
+          }
 
-        var alarm = alarmBuilder.build();
+          return alarmBuilder.build();
+        });
 
         if (conf.alarmActions() != null) {
           conf.alarmActions().forEach(topicName -> {
@@ -224,8 +244,10 @@ public class ObservabilityConstruct extends Construct {
 
     return dashboards.stream().map(conf -> {
       try {
-        var cfnDashboard =
-          CfnDashboard.Builder.create(scope, id("dashboard", conf.name())).dashboardName(conf.name()).dashboardBody(conf.body()).build();
+        var cfnDashboard = place(
+          scope,
+          id("dashboard", conf.name()),
+          s -> CfnDashboard.Builder.create(s, id("dashboard", conf.name())).dashboardName(conf.name()).dashboardBody(conf.body()).build());
 
         if (conf.tags() != null) {
           Common.Maps
@@ -240,4 +262,11 @@ public class ObservabilityConstruct extends Construct {
       }
     }).filter(Objects::nonNull).toList();
   }
+
+  /**
+   * Metric filters, alarms and dashboards each synthesize to a single resource, which is the weight they are sharded with.
+   */
+  private <T extends Construct> T place(Construct scope, String id, Function<Construct, T> factory) {
+    return this.shards() == null ? factory.apply(scope) : this.shards().add(id, 1, factory);
+  }
 }
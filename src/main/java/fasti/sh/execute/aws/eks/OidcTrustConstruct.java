@@ -0,0 +1,191 @@
+package fasti.sh.execute.aws.eks;
+
+import static fasti.sh.execute.serialization.Format.id;
+
+import fasti.sh.model.aws.iam.Principal;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.CustomResource;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.IResolvable;
+import software.amazon.awscdk.Lazy;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.Token;
+import software.amazon.awscdk.services.eks.ICluster;
+import software.amazon.awscdk.services.iam.IPrincipal;
+import software.amazon.awscdk.services.lambda.Code;
+import software.amazon.awscdk.services.lambda.Runtime;
+import software.amazon.awscdk.services.lambda.SingletonFunction;
+import software.constructs.Construct;
+
+/**
+ * Per-cluster resolution of the OIDC issuer that IRSA role trust conditions are keyed on.
+ *
+ * <p>
+ * CloudFormation cannot use an intrinsic as a JSON key, so the {@code aud} and {@code sub} conditions of a service account role are only
+ * plain JSON when the issuer is known at synth time: an imported provider with a literal issuer, or the
+ * {@code hosted:eks:oidc:issuer:<cluster>} context value for the cluster's configured name. Otherwise a single custom resource receives the
+ * deploy-time issuer and returns the finished conditions of every service account of the cluster as attributes, instead of a CfnJson
+ * custom resource per role. Custom resource responses are capped at 4 KB, so a resolver serves up to {@value #SUBJECTS} service accounts
+ * and the next ones open another.
+ *
+ * <p>
+ * The context value must match the issuer format and the stack region. It has to be updated whenever the cluster is replaced, since a
+ * stale issuer breaks the trust of every role of that cluster.
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ *
+ * <pre>{@code
+ * OidcTrustConstruct.of(cluster, conf.name());
+ *
+ * var principal = OidcTrustConstruct.of(cluster).principal(serviceAccount.metadata());
+ * }</pre>
+ *
+ * @author CDK Common Framework
+ * @see Principal#oidcConditions(String, ObjectMeta) for the condition layout
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class OidcTrustConstruct extends Construct {
+  public static final String ISSUER = "hosted:eks:oidc:issuer:%s";
+  public static final int SUBJECTS = 10;
+
+  private static final String ID = "oidc-trust";
+  private static final Pattern FORMAT = Pattern.compile("^oidc\\.eks\\.([a-z0-9-]+)\\.amazonaws\\.com(\\.cn)?/id/[A-Za-z0-9]+$");
+  private static final String HANDLER = """
+    import cfnresponse
+
+    def handler(event, context):
+        data = {}
+        if event['RequestType'] != 'Delete':
+            properties = event['ResourceProperties']
+            issuer = properties['Issuer'].replace('https://', '', 1)
+            for attribute, subject in properties.get('Subjects', {}).items():
+                data[attribute] = {
+                    issuer + ':aud': 'sts.amazonaws.com',
+                    issuer + ':sub': 'system:serviceaccount:' + subject,
+                }
+        cfnresponse.send(event, context, cfnresponse.SUCCESS, data, event.get('PhysicalResourceId', event['LogicalResourceId']))
+    """;
+
+  private final ICluster cluster;
+  private final String issuer;
+  private final List<CustomResource> resolvers = new ArrayList<>();
+  private final Map<String, IResolvable> resolved = new LinkedHashMap<>();
+  private final List<Map<String, String>> subjects = new ArrayList<>();
+  private SingletonFunction function;
+
+  private OidcTrustConstruct(ICluster cluster, String name) {
+    super(parent(cluster), ID);
+
+    log.debug("{} [cluster: {} name: {}]", "OidcTrustConstruct", cluster.getNode().getPath(), name);
+
+    this.cluster = cluster;
+    this.issuer = issuer(cluster, name);
+  }
+
+  public static OidcTrustConstruct of(ICluster cluster) {
+    return of(cluster, null);
+  }
+
+  /**
+   * The resolver of the cluster, created on first use; the configured cluster name selects its {@code hosted:eks:oidc:issuer:<name>}
+   * override and has to be given by whoever creates the cluster, before any service account asks for a principal.
+   */
+  public static OidcTrustConstruct of(ICluster cluster, String name) {
+    return (OidcTrustConstruct) Optional
+      .ofNullable(parent(cluster).getNode().tryFindChild(ID))
+      .orElseGet(() -> new OidcTrustConstruct(cluster, name));
+  }
+
+  public IPrincipal principal(ObjectMeta metadata) {
+    return Principal.builder().build().oidcPrincipal(this.cluster().getOpenIdConnectProvider(), this.conditions(metadata));
+  }
+
+  public Object conditions(ObjectMeta metadata) {
+    if (this.issuer() != null)
+      return Principal.oidcConditions(this.issuer(), metadata);
+
+    return this.resolved().computeIfAbsent(String.format("%s:%s", metadata.getNamespace(), metadata.getName()), this::resolve);
+  }
+
+  private IResolvable resolve(String subject) {
+    if (this.subjects().isEmpty() || this.subjects().getLast().size() >= SUBJECTS)
+      this.resolver();
+
+    var attribute = String.format("Subject%d", this.resolved().size());
+    this.subjects().getLast().put(attribute, subject);
+
+    log.debug("oidc issuer unresolved at synth, resolving trust conditions for {} through {}", subject,
+      this.resolvers().getLast().getNode().getPath());
+
+    return this.resolvers().getLast().getAtt(attribute);
+  }
+
+  private void resolver() {
+    var subjects = new LinkedHashMap<String, String>();
+    this.subjects().add(subjects);
+
+    if (this.function() == null)
+      this.function = SingletonFunction.Builder
+        .create(this, "resolver-function")
+        .uuid("6f0c0a3e-4c1b-4b9e-9d8e-0d6a3f3c9a51")
+        .lambdaPurpose("OidcTrustConditions")
+        .runtime(Runtime.PYTHON_3_12)
+        .handler("index.handler")
+        .code(Code.fromInline(HANDLER))
+        .timeout(Duration.seconds(30))
+        .build();
+
+    var properties = new LinkedHashMap<String, Object>();
+    properties.put("Issuer", this.cluster().getOpenIdConnectProvider().getOpenIdConnectProviderIssuer());
+    properties.put("Subjects", Lazy.any(() -> subjects));
+
+    this.resolvers()
+      .add(
+        CustomResource.Builder
+          .create(this, id("resolver", String.valueOf(this.resolvers().size())))
+          .serviceToken(this.function().getFunctionArn())
+          .resourceType("Custom::OidcTrustConditions")
+          .properties(properties)
+          .build());
+  }
+
+  private static String issuer(ICluster cluster, String name) {
+    var issuer = cluster.getOpenIdConnectProvider().getOpenIdConnectProviderIssuer();
+    if (!Token.isUnresolved(issuer))
+      return issuer;
+    if (name == null)
+      return null;
+
+    var configured = cluster.getNode().tryGetContext(String.format(ISSUER, name));
+    if (configured == null)
+      return null;
+
+    var value = configured.toString().replaceFirst("^https://", "");
+    var matcher = FORMAT.matcher(value);
+    if (!matcher.matches())
+      throw new InvalidParameterException(String.format("oidc issuer %s of cluster %s is not an eks issuer", value, name));
+
+    var region = Stack.of(cluster).getRegion();
+    if (!Token.isUnresolved(region) && !region.equals(matcher.group(1)))
+      throw new InvalidParameterException(
+        String.format("oidc issuer %s of cluster %s is not in the stack region %s", value, name, region));
+
+    return value;
+  }
+
+  private static Construct parent(ICluster cluster) {
+    return cluster instanceof Construct construct ? construct : Stack.of(cluster);
+  }
+}
@@ -5,14 +5,18 @@ import static fasti.sh.execute.serialization.Format.id;
 import fasti.sh.execute.aws.iam.RoleConstruct;
 import fasti.sh.model.aws.eks.PodIdentity;
 import fasti.sh.model.aws.eks.ServiceAccountConf;
-import fasti.sh.model.aws.iam.Principal;
 import fasti.sh.model.main.Common;
 import fasti.sh.model.main.Common.Maps;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awscdk.services.eks.ICluster;
+import software.amazon.awscdk.services.eks.KubernetesManifest;
 import software.amazon.awscdk.services.eks.ServiceAccount;
 import software.amazon.awscdk.services.iam.SessionTagsPrincipal;
 import software.constructs.Construct;
@@ -112,14 +116,14 @@ import software.constructs.Construct;
  * // - Sets up namespace and RBAC permissions
  *
  * // Access created resources
- * ServiceAccount k8sServiceAccount = serviceAccount.getServiceAccount();
+ * KubernetesManifest k8sServiceAccount = serviceAccount.getServiceAccount();
  * Role iamRole = serviceAccount.getRoleConstruct().getRole();
  * }</pre>
  *
  * @author CDK Common Framework
  * @see ServiceAccount for Kubernetes Service Account management
  * @see RoleConstruct for IAM role provisioning
- * @see Principal for OIDC trust relationship configuration
+ * @see OidcTrustConstruct for OIDC trust relationship configuration
  * @see ServiceAccountConf for Service Account configuration
  * @see PodIdentity for Pod Identity configuration
  * @since 1.0.0
@@ -127,10 +131,10 @@ import software.constructs.Construct;
 @Slf4j
 @Getter
 public class ServiceAccountConstruct extends Construct {
-  private final String AWS_ROLE_ARN = "eks.amazonaws.com/role-arn";
+  private static final String AWS_ROLE_ARN = "eks.amazonaws.com/role-arn";
 
   private final RoleConstruct roleConstruct;
-  private final ServiceAccount serviceAccount;
+  private final KubernetesManifest serviceAccount;
 
   @SneakyThrows
   public ServiceAccountConstruct(Construct scope, Common common, ServiceAccountConf conf, ICluster cluster) {
@@ -138,17 +142,9 @@ public class ServiceAccountConstruct extends Construct {
 
     log.debug("{} [common: {} conf: {}]", "ServiceAccountConstruct", common, conf);
 
-    var oidc = cluster.getOpenIdConnectProvider();
-    var principal = Principal.builder().build().oidcPrincipal(scope, oidc, conf);
+    var principal = OidcTrustConstruct.of(cluster).principal(conf.metadata());
     this.roleConstruct = new RoleConstruct(this, common, principal, conf.role());
-    this.serviceAccount = ServiceAccount.Builder
-      .create(this, conf.metadata().getName())
-      .cluster(cluster)
-      .name(conf.metadata().getName())
-      .namespace(conf.metadata().getNamespace())
-      .labels(conf.metadata().getLabels())
-      .annotations(Maps.from(conf.metadata().getAnnotations(), Map.of(AWS_ROLE_ARN, this.roleConstruct().role().getRoleArn())))
-      .build();
+    this.serviceAccount = serviceAccount(this, conf.metadata(), this.roleConstruct().role().getRoleArn(), cluster);
   }
 
   @SneakyThrows
@@ -159,13 +155,29 @@ public class ServiceAccountConstruct extends Construct {
 
     var principal = new SessionTagsPrincipal(conf.role().principal().iamPrincipal());
     this.roleConstruct = new RoleConstruct(this, common, principal, conf.role());
-    this.serviceAccount = ServiceAccount.Builder
-      .create(this, conf.metadata().getName())
+    this.serviceAccount = serviceAccount(this, conf.metadata(), this.roleConstruct().role().getRoleArn(), cluster);
+  }
+
+  /**
+   * Writes the service account manifest at the path {@link ServiceAccount} used, so existing deployments update in place, without the
+   * unused role and per-account CfnJson trust condition that {@link ServiceAccount} creates on its own.
+   */
+  private static KubernetesManifest serviceAccount(Construct scope, ObjectMeta metadata, String roleArn, ICluster cluster) {
+    var name = metadata.getName();
+    var labels = new LinkedHashMap<String, String>();
+    labels.put("app.kubernetes.io/name", name);
+    Optional.ofNullable(metadata.getLabels()).ifPresent(labels::putAll);
+
+    var meta = new LinkedHashMap<String, Object>();
+    meta.put("name", name);
+    meta.put("namespace", Optional.ofNullable(metadata.getNamespace()).orElse("default"));
+    meta.put("labels", labels);
+    meta.put("annotations", Maps.from(metadata.getAnnotations(), Map.of(AWS_ROLE_ARN, roleArn)));
+
+    return KubernetesManifest.Builder
+      .create(new Construct(scope, name), String.format("manifest-%sServiceAccountResource", name))
       .cluster(cluster)
-      .name(conf.metadata().getName())
-      .namespace(conf.metadata().getNamespace())
-      .labels(conf.metadata().getLabels())
-      .annotations(Maps.from(conf.metadata().getAnnotations(), Map.of(AWS_ROLE_ARN, this.roleConstruct().role().getRoleArn())))
+      .manifest(List.of(Map.of("apiVersion", "v1", "kind", "ServiceAccount", "metadata", meta)))
       .build();
   }
 }
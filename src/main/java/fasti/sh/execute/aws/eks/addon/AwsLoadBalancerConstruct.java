@@ -3,13 +3,19 @@ package fasti.sh.execute.aws.eks.addon;
 import static fasti.sh.execute.serialization.Format.id;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.aws.eks.HelmChartSource;
 import fasti.sh.execute.aws.eks.NamespaceConstruct;
 import fasti.sh.execute.aws.eks.ServiceAccountConstruct;
 import fasti.sh.execute.serialization.Mapper;
 import fasti.sh.execute.serialization.Template;
 import fasti.sh.model.aws.eks.addon.core.AwsLoadBalancerAddon;
+import fasti.sh.model.aws.eks.addon.core.AwsLoadBalancerDefaults;
 import fasti.sh.model.main.Common;
+import java.security.InvalidParameterException;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -18,12 +24,32 @@ import software.amazon.awscdk.services.eks.HelmChart;
 import software.amazon.awscdk.services.eks.ICluster;
 import software.constructs.Construct;
 
+/**
+ * AWS Load Balancer Controller release, optionally with typed defaults for the load balancers it provisions.
+ *
+ * <p>
+ * The controller itself only takes a default target type and the namespaces its readiness gate webhook watches; those are merged over the
+ * values template. Cross-zone, deregistration delay and topology settings are load balancer and target group attributes the controller
+ * reads from each Service or Ingress, so {@link #serviceAnnotations()} and {@link #ingressAnnotations()} carry them. The values template
+ * renders them as JSON objects through the {@code hosted:eks:alb:service:annotations} and {@code hosted:eks:alb:ingress:annotations}
+ * variables, for example {@code annotations: {{{hosted:eks:alb:ingress:annotations}}}}, and both are empty without defaults.
+ *
+ * @author CDK Common Framework
+ * @see AwsLoadBalancerDefaults for the defaults
+ * @since 1.0.0
+ */
 @Slf4j
 @Getter
 public class AwsLoadBalancerConstruct extends Construct {
+  public static final List<String> TARGET_TYPES = List.of("ip", "instance");
+  public static final String SERVICE_ANNOTATIONS = "hosted:eks:alb:service:annotations";
+  public static final String INGRESS_ANNOTATIONS = "hosted:eks:alb:ingress:annotations";
+
   private final NamespaceConstruct namespace;
   private final ServiceAccountConstruct serviceAccount;
   private final HelmChart chart;
+  private final Map<String, String> serviceAnnotations;
+  private final Map<String, String> ingressAnnotations;
 
   @SneakyThrows
   public AwsLoadBalancerConstruct(Construct scope, Common common, AwsLoadBalancerAddon conf, ICluster cluster) {
@@ -36,22 +62,98 @@ public class AwsLoadBalancerConstruct extends Construct {
     this.serviceAccount = new ServiceAccountConstruct(this, common, conf.serviceAccount(), cluster);
     this.serviceAccount().getNode().addDependency(this.namespace());
 
-    var values = Mapper.get().readValue(Template.parse(scope, conf.chart().values()), new TypeReference<Map<String, Object>>() {});
-    this.chart = HelmChart.Builder
+    var defaults = conf.defaults();
+    this.serviceAnnotations = defaults != null ? service(defaults) : Map.of();
+    this.ingressAnnotations = defaults != null ? ingress(defaults) : Map.of();
+
+    var annotations = Map
+      .<String, Object>of(
+        SERVICE_ANNOTATIONS,
+        Mapper.json().writeValueAsString(this.serviceAnnotations()),
+        INGRESS_ANNOTATIONS,
+        Mapper.json().writeValueAsString(this.ingressAnnotations()));
+    var parsed = Template.parse(scope, conf.chart().values(), annotations);
+    var values = Mapper.get().readValue(parsed, new TypeReference<Map<String, Object>>() {});
+    if (defaults != null)
+      values = controller(Optional.ofNullable(values).orElseGet(Map::of), defaults);
+
+    var chart = HelmChart.Builder
       .create(this, conf.chart().name())
       .cluster(cluster)
       .wait(true)
       .timeout(Duration.minutes(15))
       .skipCrds(false)
       .createNamespace(true)
-      .chart(conf.chart().name())
       .namespace(conf.chart().namespace())
-      .repository(conf.chart().repository())
-      .release(conf.chart().release())
-      .version(conf.chart().version())
-      .values(values)
-      .build();
+      .release(conf.chart().release());
+    this.chart = HelmChartSource.configure(this, chart, conf.chart(), values).build();
 
     this.chart().getNode().addDependency(this.serviceAccount());
   }
+
+  private static String targetType(AwsLoadBalancerDefaults defaults) {
+    var targetType = Optional.ofNullable(defaults.targetType()).orElse("ip");
+    if (!TARGET_TYPES.contains(targetType))
+      throw new InvalidParameterException(String.format("load balancer target type %s is not one of %s", targetType, TARGET_TYPES));
+    return targetType;
+  }
+
+  private static int deregistrationDelay(AwsLoadBalancerDefaults defaults) {
+    return defaults.deregistrationDelay() > 0 ? defaults.deregistrationDelay() : 30;
+  }
+
+  private static Map<String, Object> controller(Map<String, Object> values, AwsLoadBalancerDefaults defaults) {
+    var controller = new LinkedHashMap<>(values);
+    controller.put("defaultTargetType", targetType(defaults));
+
+    if (defaults.topologyAwareRouting())
+      controller.put("enableEndpointSlices", true);
+
+    var namespaces = Optional.ofNullable(defaults.readinessGateNamespaces()).orElseGet(List::of);
+    if (!namespaces.isEmpty()) {
+      var selector = new LinkedHashMap<String, Object>();
+      selector.put("key", "kubernetes.io/metadata.name");
+      selector.put("operator", "In");
+      selector.put("values", namespaces);
+      controller.put("webhookNamespaceSelectors", List.of(selector));
+    }
+
+    return controller;
+  }
+
+  /**
+   * NLB annotations for {@code LoadBalancer} services: the controller's own NLB in the configured target mode, cross-zone and
+   * deregistration delay as load balancer and target group attributes, and topology hints for in-cluster callers of the same service.
+   */
+  private static Map<String, String> service(AwsLoadBalancerDefaults defaults) {
+    var annotations = new LinkedHashMap<String, String>();
+    annotations.put("service.beta.kubernetes.io/aws-load-balancer-type", "external");
+    annotations.put("service.beta.kubernetes.io/aws-load-balancer-nlb-target-type", targetType(defaults));
+    annotations
+      .put("service.beta.kubernetes.io/aws-load-balancer-attributes", "load_balancing.cross_zone.enabled=" + defaults.crossZone());
+    annotations
+      .put(
+        "service.beta.kubernetes.io/aws-load-balancer-target-group-attributes",
+        String
+          .format("deregistration_delay.timeout_seconds=%d,deregistration_delay.connection_termination.enabled=true",
+            deregistrationDelay(defaults)));
+    if (defaults.topologyAwareRouting())
+      annotations.put("service.kubernetes.io/topology-mode", "Auto");
+    return annotations;
+  }
+
+  /**
+   * ALB annotations for ingresses; ALB nodes always balance across zones, so cross-zone is turned off on the target groups instead.
+   */
+  private static Map<String, String> ingress(AwsLoadBalancerDefaults defaults) {
+    var annotations = new LinkedHashMap<String, String>();
+    annotations.put("alb.ingress.kubernetes.io/target-type", targetType(defaults));
+    annotations
+      .put(
+        "alb.ingress.kubernetes.io/target-group-attributes",
+        String
+          .format("deregistration_delay.timeout_seconds=%d,load_balancing.cross_zone.enabled=%s", deregistrationDelay(defaults),
+            defaults.crossZone()));
+    return annotations;
+  }
 }
@@ -3,6 +3,7 @@ package fasti.sh.execute.aws.eks.addon;
 import static fasti.sh.execute.serialization.Format.id;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.aws.eks.HelmChartSource;
 import fasti.sh.execute.serialization.Mapper;
 import fasti.sh.execute.serialization.Template;
 import fasti.sh.model.aws.eks.addon.core.CertManagerAddon;
@@ -30,19 +31,15 @@ public class CertManagerConstruct extends Construct {
     var parsed = Template.parse(scope, conf.chart().values());
     var values = Mapper.get().readValue(parsed, new TypeReference<Map<String, Object>>() {});
 
-    this.chart = HelmChart.Builder
+    var chart = HelmChart.Builder
       .create(this, conf.chart().name())
       .cluster(cluster)
       .wait(true)
       .timeout(Duration.minutes(15))
       .skipCrds(false)
       .createNamespace(true)
-      .chart(conf.chart().name())
       .namespace(conf.chart().namespace())
-      .repository(conf.chart().repository())
-      .release(conf.chart().release())
-      .version(conf.chart().version())
-      .values(values)
-      .build();
+      .release(conf.chart().release());
+    this.chart = HelmChartSource.configure(this, chart, conf.chart(), values).build();
   }
 }
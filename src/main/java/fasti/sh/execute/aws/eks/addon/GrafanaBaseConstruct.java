@@ -1,13 +1,10 @@
 package fasti.sh.execute.aws.eks.addon;
 
+import fasti.sh.execute.aws.secretsmanager.SecretLookup;
 import fasti.sh.execute.serialization.Mapper;
 import fasti.sh.model.aws.eks.addon.core.GrafanaSecret;
 import fasti.sh.model.main.Common;
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
-import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
 import software.constructs.Construct;
 
 @Slf4j
@@ -17,43 +14,15 @@ public abstract class GrafanaBaseConstruct extends Construct {
     super(scope, id);
   }
 
-  protected static GrafanaSecret fetchSecret(Common common, String secret) {
+  protected static GrafanaSecret fetchSecret(Construct scope, Common common, String secret) {
     if (secret == null || secret.isEmpty())
       return null;
 
-    try (var client = SecretsManagerClient
-      .builder()
-      .region(Region.of(common.region()))
-      .credentialsProvider(DefaultCredentialsProvider.builder().build())
-      .build()) {
-
-      var secretValueResponse = getSecret(client, secret);
-      if (secretValueResponse != null)
-        return secretValueResponse;
-
-      var arn = String.format("arn:aws:secretsmanager:%s:%s:secret:%s", common.region(), common.account(), secret);
-      return getSecret(client, arn);
-    } catch (Exception e) {
-      throw new RuntimeException("failed to retrieve grafana secret " + e.getMessage(), e);
-    }
-  }
-
-  private static GrafanaSecret getSecret(SecretsManagerClient client, String id) {
     try {
-      var secret = client
-        .getSecretValue(
-          GetSecretValueRequest
-            .builder()
-            .secretId(id)
-            .build());
-
-      var value = secret.secretString();
-      if (value != null)
-        return Mapper.get().readValue(value, GrafanaSecret.class);
-
-      return null;
+      var value = SecretLookup.get().value(scope, common, secret);
+      return value != null ? Mapper.get().readValue(value, GrafanaSecret.class) : null;
     } catch (Exception e) {
-      return null;
+      throw new RuntimeException("failed to retrieve grafana secret " + e.getMessage(), e);
     }
   }
 }
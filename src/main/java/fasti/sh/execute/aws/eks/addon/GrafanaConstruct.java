@@ -3,6 +3,7 @@ package fasti.sh.execute.aws.eks.addon;
 import static fasti.sh.execute.serialization.Format.id;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.aws.eks.HelmChartSource;
 import fasti.sh.execute.serialization.Mapper;
 import fasti.sh.execute.serialization.Template;
 import fasti.sh.model.aws.eks.addon.core.GrafanaAddon;
@@ -121,7 +122,7 @@ public class GrafanaConstruct extends GrafanaBaseConstruct {
 
     log.debug("{} [common: {} conf: {}]", "GrafanaConstruct", common, conf);
 
-    var secret = fetchSecret(common, conf.secret());
+    var secret = fetchSecret(scope, common, conf.secret());
     if (secret == null) {
       this.chart = null;
       return;
@@ -144,19 +145,15 @@ public class GrafanaConstruct extends GrafanaBaseConstruct {
             Map.entry("hosted:eks:grafana:pyroscopeHost", secret.pyroscopeHost())));
 
     var values = Mapper.get().readValue(parsed, new TypeReference<Map<String, Object>>() {});
-    this.chart = HelmChart.Builder
+    var chart = HelmChart.Builder
       .create(this, conf.chart().name())
       .cluster(cluster)
       .wait(true)
       .timeout(Duration.minutes(15))
       .skipCrds(false)
       .createNamespace(true)
-      .chart(conf.chart().name())
       .namespace(conf.chart().namespace())
-      .repository(conf.chart().repository())
-      .release(conf.chart().release())
-      .version(conf.chart().version())
-      .values(values)
-      .build();
+      .release(conf.chart().release());
+    this.chart = HelmChartSource.configure(this, chart, conf.chart(), values).build();
   }
 }
@@ -0,0 +1,146 @@
+package fasti.sh.execute.aws.eks.addon;
+
+import static fasti.sh.execute.serialization.Format.id;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.aws.eks.ManifestBatchConstruct;
+import fasti.sh.execute.serialization.Mapper;
+import fasti.sh.model.aws.eks.addon.core.HeadroomAddon;
+import fasti.sh.model.aws.eks.addon.core.HeadroomPoolConf;
+import fasti.sh.model.main.Common;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.services.eks.ICluster;
+import software.constructs.Construct;
+
+/**
+ * Cluster headroom held by low priority pause pods.
+ *
+ * <p>
+ * Each {@link HeadroomPoolConf} becomes a Deployment of pause containers whose requests equal their limits, pinned to one node pool through
+ * its node selector. The pods run under the {@code headroom} PriorityClass, so the scheduler preempts them as soon as a real pod does not
+ * fit; the real pod starts on the freed capacity immediately and the evicted pause pods go pending, which makes Karpenter or the cluster
+ * autoscaler bring up a replacement node in the background instead of in the pod's startup path.
+ *
+ * <p>
+ * With manifest batching the manifests go into their own {@code headroom} wave rather than the cluster wave, so the addon order can make
+ * the wave wait for other addons without holding back the namespaces those addons are installed into.
+ *
+ * @author CDK Common Framework
+ * @see HeadroomAddon for sizing the headroom
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class HeadroomConstruct extends Construct {
+  public static final String PRIORITY_CLASS = "headroom";
+  public static final String IMAGE = "registry.k8s.io/pause:3.10";
+  public static final String WAVE = "headroom";
+
+  private final Construct namespace;
+  private final Construct priorityClass;
+  private final List<Construct> deployments = new ArrayList<>();
+
+  public HeadroomConstruct(Construct scope, Common common, HeadroomAddon conf, ICluster cluster) {
+    super(scope, id("headroom"));
+
+    log.debug("{} [common: {} conf: {}]", "HeadroomConstruct", common, conf);
+
+    var namespace = Optional.ofNullable(conf.namespace()).orElse("headroom");
+    var priority = conf.priority() != 0 ? conf.priority() : -10;
+    if (priority >= 0)
+      throw new InvalidParameterException(String.format("headroom priority must be negative to stay below workloads, got %s", priority));
+
+    this.namespace = this.manifest("namespace", cluster, yaml("""
+      apiVersion: v1
+      kind: Namespace
+      metadata:
+        name: %s
+      """.formatted(namespace)));
+    this.priorityClass = this.manifest("priority-class", cluster, yaml("""
+      apiVersion: scheduling.k8s.io/v1
+      kind: PriorityClass
+      metadata:
+        name: %s
+      value: %d
+      globalDefault: false
+      preemptionPolicy: Never
+      description: Pause pods holding spare capacity, preempted by any workload
+      """.formatted(PRIORITY_CLASS, priority)));
+
+    var image = Optional.ofNullable(conf.image()).orElse(IMAGE);
+    Optional.ofNullable(conf.pools()).orElseGet(List::of).forEach(pool -> {
+      var deployment = this.manifest(id("pool", pool.name()), cluster, deployment(namespace, image, pool));
+      // batched manifests share one construct and are ordered within it
+      if (deployment != this.namespace())
+        deployment.getNode().addDependency(this.namespace(), this.priorityClass());
+      this.deployments().add(deployment);
+    });
+  }
+
+  private Construct manifest(String id, ICluster cluster, Map<String, Object> manifest) {
+    return ManifestBatchConstruct.manifest(this, id, cluster, WAVE, manifest);
+  }
+
+  private static Map<String, Object> deployment(String namespace, String image, HeadroomPoolConf pool) {
+    if (pool.replicas() < 0 || pool.cpu() == null || pool.memory() == null)
+      throw new InvalidParameterException(String.format("headroom pool %s needs replicas, cpu and memory", pool.name()));
+
+    var name = "headroom-" + pool.name();
+    var deployment = yaml("""
+      apiVersion: apps/v1
+      kind: Deployment
+      metadata:
+        name: %s
+        namespace: %s
+      spec:
+        replicas: %d
+        selector:
+          matchLabels:
+            app.kubernetes.io/name: %s
+        template:
+          metadata:
+            labels:
+              app.kubernetes.io/name: %s
+          spec:
+            priorityClassName: %s
+            terminationGracePeriodSeconds: 0
+            automountServiceAccountToken: false
+            containers:
+              - name: pause
+                image: %s
+                resources:
+                  requests:
+                    cpu: "%s"
+                    memory: "%s"
+                  limits:
+                    cpu: "%s"
+                    memory: "%s"
+      """.formatted(name, namespace, pool.replicas(), name, name, PRIORITY_CLASS, image, pool.cpu(), pool.memory(), pool.cpu(),
+      pool.memory()));
+
+    Optional.ofNullable(pool.nodeSelector()).filter(selector -> !selector.isEmpty()).ifPresent(selector -> podSpec(deployment)
+      .put("nodeSelector", new LinkedHashMap<>(selector)));
+
+    return deployment;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> podSpec(Map<String, Object> deployment) {
+    var spec = (Map<String, Object>) deployment.get("spec");
+    var template = (Map<String, Object>) spec.get("template");
+    return (Map<String, Object>) template.get("spec");
+  }
+
+  @SneakyThrows
+  private static Map<String, Object> yaml(String manifest) {
+    return Mapper.get().readValue(manifest, new TypeReference<Map<String, Object>>() {});
+  }
+}
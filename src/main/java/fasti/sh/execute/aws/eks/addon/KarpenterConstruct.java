@@ -3,31 +3,72 @@ package fasti.sh.execute.aws.eks.addon;
 import static fasti.sh.execute.serialization.Format.id;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.aws.eks.HelmChartSource;
+import fasti.sh.execute.aws.eks.ManifestBatchConstruct;
 import fasti.sh.execute.aws.eks.NamespaceConstruct;
 import fasti.sh.execute.aws.eks.PodIdentityConstruct;
 import fasti.sh.execute.serialization.Mapper;
 import fasti.sh.execute.serialization.Template;
+import fasti.sh.model.aws.eks.NodeVolumeConf;
+import fasti.sh.model.aws.eks.addon.core.karpenter.DisruptionBudgetConf;
+import fasti.sh.model.aws.eks.addon.core.karpenter.Ec2NodeClassConf;
 import fasti.sh.model.aws.eks.addon.core.karpenter.KarpenterAddon;
+import fasti.sh.model.aws.eks.addon.core.karpenter.NodePoolConf;
 import fasti.sh.model.main.Common;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.Tags;
 import software.amazon.awscdk.services.eks.HelmChart;
 import software.amazon.awscdk.services.eks.ICluster;
-import software.amazon.awscdk.services.eks.KubernetesManifest;
 import software.constructs.Construct;
 
+/**
+ * Karpenter controller with its Pod Identity, plus the {@code EC2NodeClass} and {@code NodePool} resources it provisions from.
+ *
+ * <p>
+ * Node classes and pools are rendered from {@link Ec2NodeClassConf} and {@link NodePoolConf} into the {@code karpenter} manifest wave,
+ * which depends on the chart so the Karpenter CRDs exist before they are applied. With manifest batching enabled they are written as a
+ * single manifest.
+ *
+ * <p>
+ * Node classes without a subnet selector launch into the cluster VPC's private subnets, which are tagged {@value #DISCOVERY} with the
+ * cluster name for that purpose; without a security group selector they use the cluster security group through the
+ * {@value #CLUSTER_TAG} tag EKS puts on it.
+ *
+ * @author CDK Common Framework
+ * @see KarpenterAddon for the addon configuration
+ * @since 1.0.0
+ */
 @Slf4j
 @Getter
 public class KarpenterConstruct extends Construct {
-  private final KubernetesManifest namespace;
+  public static final String WAVE = "karpenter";
+  public static final String DISCOVERY = "karpenter.sh/discovery";
+  public static final String CLUSTER_TAG = "aws:eks:cluster-name";
+
+  private final Construct namespace;
   private final HelmChart chart;
   private final PodIdentityConstruct podIdentity;
+  private final List<Construct> nodeClasses = new ArrayList<>();
+  private final List<Construct> nodePools = new ArrayList<>();
 
+  /**
+   * @param name
+   *          configured cluster name, the literal value of the discovery tags since the cluster name token cannot tag a VPC owned by
+   *          another stack
+   * @throws InvalidParameterException
+   *           if a node class has no role or a node pool references an undeclared node class
+   */
   @SneakyThrows
-  public KarpenterConstruct(Construct scope, Common common, KarpenterAddon conf, ICluster cluster) {
+  public KarpenterConstruct(Construct scope, Common common, KarpenterAddon conf, ICluster cluster, String name) {
     super(scope, id("karpenter"));
 
     log.debug("{} [common: {} conf: {}]", "KarpenterConstruct", common, conf);
@@ -37,21 +78,159 @@ public class KarpenterConstruct extends Construct {
     this.podIdentity().getNode().addDependency(this.namespace());
 
     var values = Mapper.get().readValue(Template.parse(scope, conf.chart().values()), new TypeReference<Map<String, Object>>() {});
-    this.chart = HelmChart.Builder
+    var chart = HelmChart.Builder
       .create(this, conf.chart().name())
       .cluster(cluster)
       .wait(true)
       .timeout(Duration.minutes(15))
       .skipCrds(false)
       .createNamespace(false)
-      .chart(conf.chart().name())
       .namespace(conf.chart().namespace())
-      .repository(conf.chart().repository())
-      .release(conf.chart().release())
-      .version(conf.chart().version())
-      .values(values)
-      .build();
+      .release(conf.chart().release());
+    this.chart = HelmChartSource.configure(this, chart, conf.chart(), values).build();
 
     this.chart().getNode().addDependency(this.podIdentity());
+
+    var nodeClasses = Optional.ofNullable(conf.nodeClasses()).orElseGet(List::of);
+    var nodePools = Optional.ofNullable(conf.nodePools()).orElseGet(List::of);
+    validate(nodeClasses, nodePools);
+
+    if (nodeClasses.stream().anyMatch(nodeClass -> nodeClass.subnetSelector() == null || nodeClass.subnetSelector().isEmpty()))
+      cluster.getVpc().getPrivateSubnets().forEach(subnet -> Tags.of(subnet).add(DISCOVERY, name));
+
+    nodeClasses
+      .forEach(nodeClass -> this.nodeClasses().add(this.manifest(id("nodeclass", nodeClass.name()), cluster, nodeClass(nodeClass, name))));
+    nodePools.forEach(nodePool -> this.nodePools().add(this.manifest(id("nodepool", nodePool.name()), cluster, nodePool(nodePool))));
+  }
+
+  private static void validate(List<Ec2NodeClassConf> nodeClasses, List<NodePoolConf> nodePools) {
+    nodeClasses
+      .stream()
+      .filter(nodeClass -> nodeClass.role() == null || nodeClass.role().isBlank())
+      .findFirst()
+      .ifPresent(nodeClass -> {
+        throw new InvalidParameterException(String.format("karpenter node class %s needs a node role", nodeClass.name()));
+      });
+
+    var names = nodeClasses.stream().map(Ec2NodeClassConf::name).toList();
+    nodePools
+      .stream()
+      .filter(nodePool -> !names.contains(nodePool.nodeClass()))
+      .findFirst()
+      .ifPresent(nodePool -> {
+        throw new InvalidParameterException(
+          String.format("karpenter node pool %s references unknown node class %s", nodePool.name(), nodePool.nodeClass()));
+      });
+  }
+
+  private Construct manifest(String id, ICluster cluster, Map<String, Object> manifest) {
+    var resource = ManifestBatchConstruct.manifest(this, id, cluster, WAVE, manifest);
+    resource.getNode().addDependency(this.chart());
+    return resource;
+  }
+
+  private static Map<String, Object> nodeClass(Ec2NodeClassConf conf, String name) {
+    var family = Optional.ofNullable(conf.amiFamily()).orElse("al2023").toLowerCase();
+    var version = Optional.ofNullable(conf.amiVersion()).orElse("latest");
+
+    var spec = new LinkedHashMap<String, Object>();
+    spec.put("amiSelectorTerms", List.of(Map.of("alias", family + "@" + version)));
+    spec.put("role", conf.role());
+    spec.put("subnetSelectorTerms", List.of(Map.of("tags", selector(conf.subnetSelector(), Map.of(DISCOVERY, name)))));
+    spec.put("securityGroupSelectorTerms", List.of(Map.of("tags", selector(conf.securityGroupSelector(), Map.of(CLUSTER_TAG, name)))));
+    Optional
+      .ofNullable(conf.volume())
+      .map(volume -> List.of(blockDevice(family, volume)))
+      .ifPresent(devices -> spec.put("blockDeviceMappings", devices));
+    Optional.ofNullable(conf.tags()).filter(tags -> !tags.isEmpty()).ifPresent(tags -> spec.put("tags", tags));
+
+    return document("karpenter.k8s.aws/v1", "EC2NodeClass", conf.name(), spec);
+  }
+
+  private static Map<String, String> selector(Map<String, String> tags, Map<String, String> discovery) {
+    return tags == null || tags.isEmpty() ? discovery : tags;
+  }
+
+  private static Map<String, Object> blockDevice(String family, NodeVolumeConf volume) {
+    var ebs = new LinkedHashMap<String, Object>();
+    ebs.put("volumeSize", volume.size() + "Gi");
+    ebs.put("volumeType", "gp3");
+    if (volume.iops() > 0)
+      ebs.put("iops", volume.iops());
+    if (volume.throughput() > 0)
+      ebs.put("throughput", volume.throughput());
+    if (volume.snapshotId() != null) {
+      if (!family.startsWith("bottlerocket"))
+        throw new InvalidParameterException(String.format("volume snapshot %s requires the bottlerocket ami family", volume.snapshotId()));
+      ebs.put("snapshotID", volume.snapshotId());
+    } else {
+      ebs.put("encrypted", volume.encrypted());
+    }
+    ebs.put("deleteOnTermination", true);
+
+    var device = Optional.ofNullable(volume.deviceName()).orElse(family.startsWith("bottlerocket") ? "/dev/xvdb" : "/dev/xvda");
+    return ordered("deviceName", device, "ebs", ebs);
+  }
+
+  private static Map<String, Object> nodePool(NodePoolConf conf) {
+    var requirements = new ArrayList<Map<String, Object>>();
+    requirement(requirements, "karpenter.k8s.aws/instance-family", conf.instanceFamilies());
+    requirement(requirements, "karpenter.k8s.aws/instance-category", conf.instanceCategories());
+    requirement(requirements, "kubernetes.io/arch", conf.architectures());
+    requirement(requirements, "karpenter.sh/capacity-type", conf.capacityTypes());
+
+    var template = new LinkedHashMap<String, Object>();
+    template.put("nodeClassRef", ordered("group", "karpenter.k8s.aws", "kind", "EC2NodeClass", "name", conf.nodeClass()));
+    template.put("requirements", requirements);
+    Optional.ofNullable(conf.expireAfter()).ifPresent(expireAfter -> template.put("expireAfter", expireAfter));
+
+    var disruption = new LinkedHashMap<String, Object>();
+    disruption.put("consolidationPolicy", Optional.ofNullable(conf.consolidationPolicy()).orElse("WhenEmptyOrUnderutilized"));
+    disruption.put("consolidateAfter", Optional.ofNullable(conf.consolidateAfter()).orElse("0s"));
+    Optional
+      .ofNullable(conf.budgets())
+      .filter(budgets -> !budgets.isEmpty())
+      .map(budgets -> budgets.stream().map(KarpenterConstruct::budget).toList())
+      .ifPresent(budgets -> disruption.put("budgets", budgets));
+
+    var metadata = new LinkedHashMap<String, Object>();
+    Optional.ofNullable(conf.labels()).filter(labels -> !labels.isEmpty()).ifPresent(labels -> metadata.put("labels", labels));
+
+    var spec = new LinkedHashMap<String, Object>();
+    if (conf.weight() > 0)
+      spec.put("weight", conf.weight());
+    spec.put("template", metadata.isEmpty() ? Map.of("spec", template) : ordered("metadata", metadata, "spec", template));
+    spec.put("disruption", disruption);
+    Optional.ofNullable(conf.limits()).filter(limits -> !limits.isEmpty()).ifPresent(limits -> spec.put("limits", limits));
+
+    return document("karpenter.sh/v1", "NodePool", conf.name(), spec);
+  }
+
+  private static Map<String, Object> budget(DisruptionBudgetConf conf) {
+    var budget = new LinkedHashMap<String, Object>();
+    budget.put("nodes", Optional.ofNullable(conf.nodes()).orElse("10%"));
+    Optional.ofNullable(conf.schedule()).ifPresent(schedule -> budget.put("schedule", schedule));
+    Optional.ofNullable(conf.duration()).ifPresent(duration -> budget.put("duration", duration));
+    Optional.ofNullable(conf.reasons()).filter(reasons -> !reasons.isEmpty()).ifPresent(reasons -> budget.put("reasons", reasons));
+    return budget;
+  }
+
+  private static void requirement(List<Map<String, Object>> requirements, String key, List<String> values) {
+    if (values != null && !values.isEmpty())
+      requirements.add(ordered("key", key, "operator", "In", "values", values));
+  }
+
+  private static Map<String, Object> document(String apiVersion, String kind, String name, Map<String, Object> spec) {
+    return ordered("apiVersion", apiVersion, "kind", kind, "metadata", Map.of("name", name), "spec", spec);
+  }
+
+  /**
+   * Insertion-ordered map, so the rendered manifest and its resource hash stay stable between synths unlike {@link Map#of}.
+   */
+  private static Map<String, Object> ordered(Object... entries) {
+    var map = new LinkedHashMap<String, Object>();
+    for (var i = 0; i < entries.length; i += 2)
+      map.put((String) entries[i], entries[i + 1]);
+    return map;
   }
 }
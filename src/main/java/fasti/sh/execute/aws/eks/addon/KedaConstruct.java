@@ -0,0 +1,104 @@
+package fasti.sh.execute.aws.eks.addon;
+
+import static fasti.sh.execute.serialization.Format.id;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.aws.eks.HelmChartSource;
+import fasti.sh.execute.aws.eks.ManifestBatchConstruct;
+import fasti.sh.execute.aws.eks.NamespaceConstruct;
+import fasti.sh.execute.aws.eks.PodIdentityConstruct;
+import fasti.sh.execute.serialization.Mapper;
+import fasti.sh.execute.serialization.Template;
+import fasti.sh.model.aws.eks.addon.core.KedaAddon;
+import fasti.sh.model.main.Common;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.services.eks.HelmChart;
+import software.amazon.awscdk.services.eks.ICluster;
+import software.amazon.awscdk.services.iam.Effect;
+import software.amazon.awscdk.services.iam.PolicyStatement;
+import software.amazon.awscdk.services.sqs.IQueue;
+import software.constructs.Construct;
+
+/**
+ * KEDA operator with a Pod Identity role able to read SQS queue depth and CloudWatch metrics.
+ *
+ * <p>
+ * The operator role is granted {@code sqs:GetQueueAttributes} on the queues passed in, such as the interrupt queue created with the
+ * cluster, and on the queue ARNs in {@link KedaAddon#queues()}, plus read access to CloudWatch metrics. A {@code keda-aws}
+ * {@code ClusterTriggerAuthentication} using the operator's Pod Identity is applied once the chart is installed, so workloads reference it
+ * from their {@code aws-sqs-queue} and {@code aws-cloudwatch} triggers instead of carrying their own credentials.
+ *
+ * @author CDK Common Framework
+ * @see KedaAddon for the addon configuration
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class KedaConstruct extends Construct {
+  public static final String TRIGGER_AUTHENTICATION = "keda-aws";
+
+  private final Construct namespace;
+  private final PodIdentityConstruct podIdentity;
+  private final HelmChart chart;
+  private final Construct triggerAuthentication;
+
+  @SneakyThrows
+  public KedaConstruct(Construct scope, Common common, KedaAddon conf, ICluster cluster, List<IQueue> queues) {
+    super(scope, id("keda", conf.chart().release()));
+
+    log.debug("{} [common: {} conf: {}]", "KedaConstruct", common, conf);
+
+    this.namespace = new NamespaceConstruct(this, common, conf.podIdentity().metadata(), cluster).manifest();
+    this.podIdentity = new PodIdentityConstruct(this, common, conf.podIdentity(), cluster);
+    this.podIdentity().getNode().addDependency(this.namespace());
+
+    var role = this.podIdentity().serviceAccountConstruct().roleConstruct().role();
+    queues.forEach(queue -> queue.grant(role, "sqs:GetQueueAttributes"));
+    Optional
+      .ofNullable(conf.queues())
+      .filter(arns -> !arns.isEmpty())
+      .ifPresent(arns -> role
+        .addToPrincipalPolicy(
+          PolicyStatement.Builder.create().effect(Effect.ALLOW).actions(List.of("sqs:GetQueueAttributes")).resources(arns).build()));
+    role
+      .addToPrincipalPolicy(
+        PolicyStatement.Builder
+          .create()
+          .effect(Effect.ALLOW)
+          .actions(List.of("cloudwatch:GetMetricData", "cloudwatch:GetMetricStatistics", "cloudwatch:ListMetrics"))
+          .resources(List.of("*"))
+          .build());
+
+    var values = Mapper.get().readValue(Template.parse(scope, conf.chart().values()), new TypeReference<Map<String, Object>>() {});
+    var chart = HelmChart.Builder
+      .create(this, conf.chart().name())
+      .cluster(cluster)
+      .wait(true)
+      .timeout(Duration.minutes(15))
+      .skipCrds(false)
+      .createNamespace(false)
+      .namespace(conf.chart().namespace())
+      .release(conf.chart().release());
+    this.chart = HelmChartSource.configure(this, chart, conf.chart(), values).build();
+
+    this.chart().getNode().addDependency(this.podIdentity());
+
+    var authentication = Mapper.get().readValue("""
+      apiVersion: keda.sh/v1alpha1
+      kind: ClusterTriggerAuthentication
+      metadata:
+        name: %s
+      spec:
+        podIdentity:
+          provider: aws
+      """.formatted(TRIGGER_AUTHENTICATION), new TypeReference<Map<String, Object>>() {});
+    this.triggerAuthentication = ManifestBatchConstruct.manifest(this, "trigger-authentication", cluster, "keda", authentication);
+    this.triggerAuthentication().getNode().addDependency(this.chart());
+  }
+}
@@ -0,0 +1,45 @@
+package fasti.sh.execute.aws.eks.addon;
+
+import static fasti.sh.execute.serialization.Format.id;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.aws.eks.HelmChartSource;
+import fasti.sh.execute.serialization.Mapper;
+import fasti.sh.execute.serialization.Template;
+import fasti.sh.model.aws.eks.addon.core.MetricsServerAddon;
+import fasti.sh.model.main.Common;
+import java.util.Map;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.services.eks.HelmChart;
+import software.amazon.awscdk.services.eks.ICluster;
+import software.constructs.Construct;
+
+@Slf4j
+@Getter
+public class MetricsServerConstruct extends Construct {
+  private final HelmChart chart;
+
+  @SneakyThrows
+  public MetricsServerConstruct(Construct scope, Common common, MetricsServerAddon conf, ICluster cluster) {
+    super(scope, id("metrics-server", conf.chart().release()));
+
+    log.debug("{} [common: {} conf: {}]", "MetricsServerConstruct", common, conf);
+
+    var parsed = Template.parse(scope, conf.chart().values());
+    var values = Mapper.get().readValue(parsed, new TypeReference<Map<String, Object>>() {});
+
+    var chart = HelmChart.Builder
+      .create(this, conf.chart().name())
+      .cluster(cluster)
+      .wait(true)
+      .timeout(Duration.minutes(15))
+      .skipCrds(false)
+      .createNamespace(true)
+      .namespace(conf.chart().namespace())
+      .release(conf.chart().release());
+    this.chart = HelmChartSource.configure(this, chart, conf.chart(), values).build();
+  }
+}
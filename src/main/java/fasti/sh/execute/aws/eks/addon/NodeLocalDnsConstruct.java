@@ -0,0 +1,277 @@
+package fasti.sh.execute.aws.eks.addon;
+
+import static fasti.sh.execute.serialization.Format.id;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.aws.eks.ManifestBatchConstruct;
+import fasti.sh.execute.serialization.Mapper;
+import fasti.sh.model.aws.eks.addon.core.NodeLocalDnsAddon;
+import fasti.sh.model.aws.eks.addon.managed.KubeProxyAddon;
+import fasti.sh.model.main.Common;
+import java.security.InvalidParameterException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.services.eks.ICluster;
+import software.constructs.Construct;
+
+/**
+ * NodeLocal DNSCache, a {@code k8s-dns-node-cache} DaemonSet answering pod DNS queries on the node instead of across the network.
+ *
+ * <p>
+ * The cache binds both a link-local address and the {@code kube-dns} cluster IP, so pods keep their resolver configuration and kube-proxy
+ * in {@code iptables} mode needs no change. IPVS owns the {@code kube-dns} address on every node, so with kube-proxy in {@code ipvs} mode
+ * only the link-local address is bound and the kubelet {@code clusterDNS} must point at it.
+ * Cluster names are forwarded to CoreDNS over TCP through the {@code kube-dns-upstream} service, avoiding conntrack races on UDP, and
+ * everything else goes straight to the VPC resolver.
+ *
+ * <p>
+ * The objects live in {@code kube-system} and, with manifest batching, are written to their own {@code node-local-dns} wave, so the addon
+ * order still applies to them.
+ *
+ * @author CDK Common Framework
+ * @see NodeLocalDnsAddon for the cache settings
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class NodeLocalDnsConstruct extends Construct {
+  public static final String NAME = "node-local-dns";
+  public static final String IMAGE = "registry.k8s.io/dns/k8s-dns-node-cache:1.26.4";
+  public static final String LOCAL_IP = "169.254.20.10";
+  public static final String IPVS = "ipvs";
+  public static final String WAVE = NAME;
+
+  private final List<Construct> manifests;
+
+  public NodeLocalDnsConstruct(Construct scope, Common common, NodeLocalDnsAddon conf, ICluster cluster) {
+    this(scope, common, conf, null, cluster);
+  }
+
+  /**
+   * @param kubeProxy
+   *          kube-proxy addon of the cluster, whose {@code ipvs} mode keeps the cache off the {@code kube-dns} address; {@code null} is
+   *          treated as the default {@code iptables} mode
+   */
+  public NodeLocalDnsConstruct(Construct scope, Common common, NodeLocalDnsAddon conf, KubeProxyAddon kubeProxy, ICluster cluster) {
+    super(scope, id(NAME));
+
+    log.debug("{} [common: {} conf: {}]", "NodeLocalDnsConstruct", common, conf);
+
+    var ipvs = Optional.ofNullable(kubeProxy).map(KubeProxyAddon::mode).filter(IPVS::equalsIgnoreCase).isPresent();
+    if (!ipvs && (conf.kubeDnsIp() == null || conf.kubeDnsIp().isBlank()))
+      throw new InvalidParameterException("node local dns needs the kube-dns service ip");
+
+    var localIp = Optional.ofNullable(conf.localIp()).orElse(LOCAL_IP);
+    var addresses = ipvs ? List.of(localIp) : List.of(localIp, conf.kubeDnsIp());
+    var image = Optional.ofNullable(conf.image()).orElse(IMAGE);
+    var domain = Optional.ofNullable(conf.clusterDomain()).orElse("cluster.local");
+    var corefile = corefile(localIp, String.join(" ", addresses), domain, conf.cacheTtl() > 0 ? conf.cacheTtl() : 30,
+      conf.negativeTtl() > 0 ? conf.negativeTtl() : 5);
+
+    this.manifests = List
+      .of(
+        this.manifest("serviceaccount", cluster, serviceAccount()),
+        this.manifest("upstream", cluster, upstream()),
+        this.manifest("config", cluster, config(corefile)),
+        this.manifest("daemonset", cluster, daemonSet(image, localIp, String.join(",", addresses))));
+  }
+
+  private Construct manifest(String id, ICluster cluster, Map<String, Object> manifest) {
+    return ManifestBatchConstruct.manifest(this, id, cluster, WAVE, manifest);
+  }
+
+  private static Map<String, Object> serviceAccount() {
+    return yaml("""
+      apiVersion: v1
+      kind: ServiceAccount
+      metadata:
+        name: node-local-dns
+        namespace: kube-system
+      """);
+  }
+
+  private static Map<String, Object> upstream() {
+    return yaml("""
+      apiVersion: v1
+      kind: Service
+      metadata:
+        name: kube-dns-upstream
+        namespace: kube-system
+        labels:
+          k8s-app: kube-dns
+      spec:
+        selector:
+          k8s-app: kube-dns
+        ports:
+          - name: dns
+            port: 53
+            protocol: UDP
+            targetPort: 53
+          - name: dns-tcp
+            port: 53
+            protocol: TCP
+            targetPort: 53
+      """);
+  }
+
+  private static Map<String, Object> config(String corefile) {
+    var manifest = yaml("""
+      apiVersion: v1
+      kind: ConfigMap
+      metadata:
+        name: node-local-dns
+        namespace: kube-system
+      """);
+    manifest.put("data", Map.of("Corefile", corefile));
+    return manifest;
+  }
+
+  private static Map<String, Object> daemonSet(String image, String localIp, String addresses) {
+    return yaml("""
+      apiVersion: apps/v1
+      kind: DaemonSet
+      metadata:
+        name: node-local-dns
+        namespace: kube-system
+        labels:
+          k8s-app: node-local-dns
+      spec:
+        updateStrategy:
+          rollingUpdate:
+            maxUnavailable: 10%%
+        selector:
+          matchLabels:
+            k8s-app: node-local-dns
+        template:
+          metadata:
+            labels:
+              k8s-app: node-local-dns
+            annotations:
+              prometheus.io/port: "9253"
+              prometheus.io/scrape: "true"
+          spec:
+            priorityClassName: system-node-critical
+            serviceAccountName: node-local-dns
+            hostNetwork: true
+            dnsPolicy: Default
+            tolerations:
+              - key: CriticalAddonsOnly
+                operator: Exists
+              - effect: NoExecute
+                operator: Exists
+              - effect: NoSchedule
+                operator: Exists
+            containers:
+              - name: node-cache
+                image: %s
+                args: ["-localip", "%s", "-conf", "/etc/Corefile", "-upstreamsvc", "kube-dns-upstream"]
+                resources:
+                  requests:
+                    cpu: 25m
+                    memory: 5Mi
+                securityContext:
+                  capabilities:
+                    add: ["NET_ADMIN"]
+                ports:
+                  - containerPort: 53
+                    name: dns
+                    protocol: UDP
+                  - containerPort: 53
+                    name: dns-tcp
+                    protocol: TCP
+                  - containerPort: 9253
+                    name: metrics
+                    protocol: TCP
+                livenessProbe:
+                  httpGet:
+                    host: %s
+                    path: /health
+                    port: 8080
+                  initialDelaySeconds: 60
+                  timeoutSeconds: 5
+                volumeMounts:
+                  - name: xtables-lock
+                    mountPath: /run/xtables.lock
+                  - name: config-volume
+                    mountPath: /etc/coredns
+                  - name: kube-dns-config
+                    mountPath: /etc/kube-dns
+            volumes:
+              - name: xtables-lock
+                hostPath:
+                  path: /run/xtables.lock
+                  type: FileOrCreate
+              - name: kube-dns-config
+                configMap:
+                  name: kube-dns
+                  optional: true
+              - name: config-volume
+                configMap:
+                  name: node-local-dns
+                  items:
+                    - key: Corefile
+                      path: Corefile.base
+      """.formatted(image, addresses, localIp));
+  }
+
+  /**
+   * Upstream {@code nodelocaldns} Corefile; the {@code __PILLAR__} placeholders are filled in by the cache from the upstream service and
+   * the node resolver at startup.
+   */
+  private static String corefile(String localIp, String addresses, String domain, int cacheTtl, int negativeTtl) {
+    var cluster = """
+      %s:53 {
+          errors
+          cache {
+              success 9984 %d
+              denial 9984 %d
+          }
+          reload
+          loop
+          bind %s
+          forward . __PILLAR__CLUSTER__DNS__ {
+              force_tcp
+          }
+          prometheus :9253
+          health %s:8080
+      }
+      """.formatted(domain, cacheTtl, negativeTtl, addresses, localIp);
+
+    var reverse = List.of("in-addr.arpa", "ip6.arpa").stream().map(zone -> """
+      %s:53 {
+          errors
+          cache %d
+          reload
+          loop
+          bind %s
+          forward . __PILLAR__CLUSTER__DNS__ {
+              force_tcp
+          }
+          prometheus :9253
+      }
+      """.formatted(zone, cacheTtl, addresses)).toList();
+
+    var external = """
+      .:53 {
+          errors
+          cache %d
+          reload
+          loop
+          bind %s
+          forward . __PILLAR__UPSTREAM__SERVERS__
+          prometheus :9253
+      }
+      """.formatted(cacheTtl, addresses);
+
+    return cluster + String.join("", reverse) + external;
+  }
+
+  @SneakyThrows
+  private static Map<String, Object> yaml(String manifest) {
+    return Mapper.get().readValue(manifest, new TypeReference<Map<String, Object>>() {});
+  }
+}
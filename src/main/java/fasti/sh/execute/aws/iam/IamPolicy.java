@@ -5,20 +5,62 @@ import fasti.sh.execute.serialization.Mapper;
 import fasti.sh.execute.serialization.Template;
 import fasti.sh.model.aws.iam.PolicyConf;
 import fasti.sh.model.aws.iam.PolicyStatementConf;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Token;
 import software.amazon.awscdk.services.iam.Effect;
+import software.amazon.awscdk.services.iam.PolicyDocument;
 import software.amazon.awscdk.services.iam.PolicyStatement;
 import software.constructs.Construct;
 
+/**
+ * IAM policy statement rendering and compaction.
+ *
+ * <p>
+ * {@link #compact(List)} rewrites a list of statements into an equivalent, smaller one before it is rendered into a policy document:
+ *
+ * <ul>
+ * <li><b>Dedupe</b> - Repeated actions and resources inside a statement are dropped
+ * <li><b>Wildcard Collapse</b> - Entries covered by a wildcard entry ({@code s3:*}, {@code arn:aws:s3:::bucket/*}) are dropped
+ * <li><b>Coverage</b> - Statements fully covered by another statement with the same effect and conditions are dropped
+ * <li><b>Merge</b> - Statements with the same effect and conditions that share their resources (or their actions) are merged
+ * </ul>
+ *
+ * <p>
+ * Action matching is case-insensitive as in IAM, resource matching is case-sensitive, and unresolved tokens are only ever covered by a
+ * plain {@code *}.
+ */
 @Getter
 @Slf4j
 public class IamPolicy {
+  public record Compaction(
+    List<PolicyStatementConf> statements,
+    int before,
+    int after
+  ) {
+    public int saved() {
+      return before() - after();
+    }
+  }
+
   @SneakyThrows
   public static List<PolicyStatement> policyStatements(Construct scope, PolicyConf conf) {
-    return parse(scope, conf).stream().map(IamPolicy::policyStatement).toList();
+    return policyStatements(compact(parse(scope, conf)).statements());
+  }
+
+  public static List<PolicyStatement> policyStatements(List<PolicyStatementConf> statements) {
+    return statements.stream().map(IamPolicy::policyStatement).toList();
   }
 
   public static PolicyStatement policyStatement(PolicyStatementConf s) {
@@ -36,4 +78,144 @@ public class IamPolicy {
     var parsed = Template.parse(scope, conf.policy(), conf.mappings());
     return Mapper.get().readValue(parsed, new TypeReference<>() {});
   }
+
+  public static Compaction compact(List<PolicyStatementConf> statements) {
+    var compacted = uncovered(statements.stream().map(IamPolicy::normalize).toList());
+
+    var count = -1;
+    while (count != compacted.size()) {
+      count = compacted.size();
+      compacted = merge(compacted, true);
+      compacted = merge(compacted, false);
+      compacted = uncovered(compacted);
+    }
+
+    var compaction = new Compaction(compacted, size(statements), size(compacted));
+    log.debug("compacted policy statements [statements: {} -> {} bytes: {} -> {}]", statements.size(), compacted.size(),
+      compaction.before(), compaction.after());
+
+    return compaction;
+  }
+
+  public static boolean covers(PolicyStatementConf a, PolicyStatementConf b) {
+    return a.effect().equalsIgnoreCase(b.effect())
+      && conditions(a).equals(conditions(b))
+      && covered(a.actions(), b.actions(), IamPolicy::action)
+      && covered(a.resources(), b.resources(), IamPolicy::resource);
+  }
+
+  /**
+   * Length of the policy document the statements render to, as IAM counts it against the policy size quotas.
+   */
+  @SneakyThrows
+  public static int size(List<PolicyStatementConf> statements) {
+    var document = PolicyDocument.Builder.create().statements(policyStatements(statements)).build();
+    return Mapper.json().writeValueAsString(document.toJSON()).length();
+  }
+
+  private static PolicyStatementConf normalize(PolicyStatementConf s) {
+    return new PolicyStatementConf(s.sid(), s.effect(), collapse(s.actions(), IamPolicy::action),
+      collapse(s.resources(), IamPolicy::resource), s.conditions());
+  }
+
+  private static List<PolicyStatementConf> uncovered(List<PolicyStatementConf> statements) {
+    var kept = new ArrayList<PolicyStatementConf>();
+    for (int i = 0; i < statements.size(); i++) {
+      var candidate = statements.get(i);
+      var redundant = false;
+      for (int j = 0; j < statements.size() && !redundant; j++) {
+        var other = statements.get(j);
+        redundant = i != j && covers(other, candidate) && (j < i || !covers(candidate, other));
+      }
+
+      if (!redundant)
+        kept.add(candidate);
+    }
+
+    return kept;
+  }
+
+  private static List<PolicyStatementConf> merge(List<PolicyStatementConf> statements, boolean byResources) {
+    var groups = new LinkedHashMap<List<Object>, List<PolicyStatementConf>>();
+    statements.forEach(s -> {
+      var shared = byResources ? s.resources() : s.actions();
+      var key = List.<Object>of(s.effect().toLowerCase(), conditions(s), new HashSet<>(Optional.ofNullable(shared).orElseGet(List::of)));
+      groups.computeIfAbsent(key, k -> new ArrayList<>()).add(s);
+    });
+
+    return groups.values().stream().map(group -> {
+      if (group.size() == 1)
+        return group.get(0);
+
+      var first = group.get(0);
+      var merged = group.stream().flatMap(s -> Optional.ofNullable(byResources ? s.actions() : s.resources()).orElseGet(List::of).stream());
+      var sids = group.stream().map(PolicyStatementConf::sid).distinct().toList();
+      var sid = sids.size() == 1 ? sids.get(0) : null;
+
+      return byResources
+        ? normalize(new PolicyStatementConf(sid, first.effect(), merged.toList(), first.resources(), first.conditions()))
+        : normalize(new PolicyStatementConf(sid, first.effect(), first.actions(), merged.toList(), first.conditions()));
+    }).toList();
+  }
+
+  private static List<String> collapse(List<String> values, BiPredicate<String, String> covers) {
+    if (values == null)
+      return null;
+
+    var unique = new ArrayList<>(new LinkedHashSet<>(values));
+    var kept = new ArrayList<String>();
+    for (int i = 0; i < unique.size(); i++) {
+      var candidate = unique.get(i);
+      var redundant = false;
+      for (int j = 0; j < unique.size() && !redundant; j++) {
+        var other = unique.get(j);
+        redundant = i != j && covers.test(other, candidate) && (j < i || !covers.test(candidate, other));
+      }
+
+      if (!redundant)
+        kept.add(candidate);
+    }
+
+    return kept;
+  }
+
+  private static boolean covered(List<String> by, List<String> values, BiPredicate<String, String> covers) {
+    if (by == null || values == null)
+      return Objects.equals(by, values);
+
+    return values.stream().allMatch(value -> by.stream().anyMatch(pattern -> covers.test(pattern, value)));
+  }
+
+  private static boolean action(String pattern, String value) {
+    return matches(pattern, value, Pattern.CASE_INSENSITIVE);
+  }
+
+  private static boolean resource(String pattern, String value) {
+    return matches(pattern, value, 0);
+  }
+
+  private static boolean matches(String pattern, String value, int flags) {
+    if (pattern.equals("*"))
+      return true;
+    if (Token.isUnresolved(pattern) || Token.isUnresolved(value))
+      return pattern.equals(value);
+    if (!pattern.contains("*") && !pattern.contains("?"))
+      return (flags & Pattern.CASE_INSENSITIVE) != 0 ? pattern.equalsIgnoreCase(value) : pattern.equals(value);
+
+    var regex = new StringBuilder();
+    for (var c : pattern.toCharArray()) {
+      if (c == '*')
+        regex.append(".*");
+      else if (c == '?')
+        regex.append("[^*]");
+      else
+        regex.append(Pattern.quote(String.valueOf(c)));
+    }
+
+    return Pattern.compile(regex.toString(), flags | Pattern.DOTALL).matcher(value).matches();
+  }
+
+  private static Map<String, Object> conditions(PolicyStatementConf s) {
+    return Optional.ofNullable(s.conditions()).orElseGet(Map::of);
+  }
 }
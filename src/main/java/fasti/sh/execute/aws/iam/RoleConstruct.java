@@ -1,12 +1,15 @@
 package fasti.sh.execute.aws.iam;
 
 import static fasti.sh.execute.serialization.Format.id;
-import static java.util.stream.Collectors.toMap;
 
+import fasti.sh.execute.aws.iam.IamPolicy.Compaction;
 import fasti.sh.model.aws.iam.IamRole;
 import fasti.sh.model.aws.iam.PolicyConf;
+import fasti.sh.model.aws.iam.PolicyStatementConf;
 import fasti.sh.model.main.Common;
 import fasti.sh.model.main.Common.Maps;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.Getter;
@@ -54,6 +57,8 @@ import software.constructs.Construct;
  * <li><b>Customer Managed Policies</b> - Reusable custom policies
  * <li><b>Inline Policies</b> - Role-specific embedded policies
  * <li><b>Policy Templates</b> - Dynamic policy generation from templates
+ * <li><b>Policy Compaction</b> - Statements across all inline policies are deduplicated and merged to stay under the 10 KB inline
+ * policy limit, with the bytes saved reported through {@link #compaction()}
  * </ul>
  *
  * <p>
@@ -149,6 +154,7 @@ import software.constructs.Construct;
 @Getter
 public class RoleConstruct extends Construct {
   private final Role role;
+  private Compaction compaction;
 
   public RoleConstruct(Construct scope, Common common, IPrincipal principal, IamRole conf) {
     super(scope, id("role", conf.name()));
@@ -185,9 +191,28 @@ public class RoleConstruct extends Construct {
   }
 
   private Map<String, PolicyDocument> inlinePolicies(List<PolicyConf> customPolicies) {
-    return customPolicies.stream().map(policy -> {
-      var document = PolicyDocument.Builder.create().statements(IamPolicy.policyStatements(this, policy)).build();
-      return Map.entry(policy.name(), document);
-    }).collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
+    var documents = new LinkedHashMap<String, PolicyDocument>();
+    var kept = new ArrayList<PolicyStatementConf>();
+    var before = 0;
+
+    for (var policy : customPolicies) {
+      var compacted = IamPolicy.compact(IamPolicy.parse(this, policy));
+      var statements = compacted.statements().stream().filter(s -> kept.stream().noneMatch(k -> IamPolicy.covers(k, s))).toList();
+      before += compacted.before();
+
+      if (statements.isEmpty()) {
+        log.debug("dropping inline policy {} covered by other inline policies", policy.name());
+        continue;
+      }
+
+      kept.addAll(statements);
+      documents.put(policy.name(), PolicyDocument.Builder.create().statements(IamPolicy.policyStatements(statements)).build());
+    }
+
+    this.compaction = new Compaction(kept, before, IamPolicy.size(kept));
+    log.debug("inline policies compacted [policies: {} -> {} bytes: {} -> {} saved: {}]", customPolicies.size(), documents.size(),
+      this.compaction().before(), this.compaction().after(), this.compaction().saved());
+
+    return documents;
   }
 }
@@ -0,0 +1,153 @@
+package fasti.sh.execute.aws.secretsmanager;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import fasti.sh.execute.serialization.Mapper;
+import fasti.sh.model.main.Common;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.constructs.Construct;
+
+/**
+ * Synth-time Secrets Manager lookup service shared by every construct in the process.
+ *
+ * <p>
+ * Lookups go through one {@link SecretsManagerClient} per region and are cached by account, region and secret id, so a secret read by
+ * several constructs is fetched once. A lookup that fails or finds no value is dropped from the cache, so the next read retries it.
+ * {@link #prefetch(Construct, Common, String)} starts a lookup in the background, letting independent secrets resolve in parallel while the
+ * construct tree is still being built.
+ *
+ * <p>
+ * <b>Offline Synthesis:</b>
+ *
+ * <ul>
+ * <li><b>Stand-ins</b> - Values registered with {@link #standIn(String, String)}, or read from the YAML/JSON map named by
+ * {@code hosted:lookups:file}, are returned without calling AWS
+ * <li><b>Offline</b> - With {@code hosted:lookups:offline} set to {@code true}, a lookup without a stand-in fails instead of calling AWS
+ * </ul>
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ *
+ * <pre>{@code
+ * // hosted:lookups:file -> /path/to/lookups.yaml
+ * // grafana-cloud: { key: "...", lokiHost: "..." }
+ * String value = SecretLookup.get().value(scope, common, "grafana-cloud");
+ * }</pre>
+ *
+ * @author CDK Common Framework
+ * @since 1.0.0
+ */
+@Slf4j
+public class SecretLookup {
+  public static final String FILE = "hosted:lookups:file";
+  public static final String OFFLINE = "hosted:lookups:offline";
+
+  private static final SecretLookup shared = new SecretLookup();
+
+  private final Map<String, SecretsManagerClient> clients = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Optional<String>>> cache = new ConcurrentHashMap<>();
+  private final Map<String, String> standIns = new ConcurrentHashMap<>();
+  private final Set<String> files = ConcurrentHashMap.newKeySet();
+  private final ExecutorService executor = Executors.newFixedThreadPool(4, runnable -> {
+    var thread = new Thread(runnable, "secret-lookup");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public static SecretLookup get() {
+    return shared;
+  }
+
+  public SecretLookup standIn(String id, String value) {
+    this.standIns.put(id, value);
+    return this;
+  }
+
+  @SneakyThrows
+  public SecretLookup standIns(Path file) {
+    if (!this.files.add(file.toAbsolutePath().toString()))
+      return this;
+
+    Map<String, Object> values = Mapper.get().readValue(Files.readString(file), new TypeReference<>() {});
+    for (var entry : values.entrySet()) {
+      var value = entry.getValue() instanceof String s ? s : Mapper.json().writeValueAsString(entry.getValue());
+      this.standIns.putIfAbsent(entry.getKey(), value);
+    }
+
+    log.debug("loaded {} secret stand-ins from {}", values.size(), file);
+    return this;
+  }
+
+  public void clear() {
+    this.cache.clear();
+    this.standIns.clear();
+    this.files.clear();
+  }
+
+  public CompletableFuture<Optional<String>> prefetch(Construct scope, Common common, String id) {
+    Optional.ofNullable(scope.getNode().tryGetContext(FILE)).map(Object::toString).map(Path::of).ifPresent(this::standIns);
+
+    if (this.standIns.containsKey(id))
+      return CompletableFuture.completedFuture(Optional.of(this.standIns.get(id)));
+    if (offline(scope))
+      return CompletableFuture.completedFuture(Optional.empty());
+
+    var key = String.format("%s/%s/%s", common.account(), common.region(), id);
+    var lookup = this.cache.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> this.fetch(common, id), this.executor));
+    lookup.whenComplete((value, error) -> {
+      if (error != null || value.isEmpty())
+        this.cache.remove(key, lookup);
+    });
+
+    return lookup;
+  }
+
+  public String value(Construct scope, Common common, String id) {
+    if (id == null || id.isEmpty())
+      return null;
+
+    var value = this.prefetch(scope, common, id).join();
+    if (value.isEmpty() && offline(scope))
+      throw new IllegalStateException("no stand-in for secret " + id + " while " + OFFLINE + " is set");
+
+    return value.orElse(null);
+  }
+
+  private static boolean offline(Construct scope) {
+    return Optional.ofNullable(scope.getNode().tryGetContext(OFFLINE)).map(Object::toString).map(Boolean::parseBoolean).orElse(false);
+  }
+
+  private Optional<String> fetch(Common common, String id) {
+    var client = this.clients
+      .computeIfAbsent(common.region(), region -> SecretsManagerClient
+        .builder()
+        .region(Region.of(region))
+        .credentialsProvider(DefaultCredentialsProvider.builder().build())
+        .build());
+
+    var arn = String.format("arn:aws:secretsmanager:%s:%s:secret:%s", common.region(), common.account(), id);
+    return fetch(client, id).or(() -> fetch(client, arn));
+  }
+
+  private static Optional<String> fetch(SecretsManagerClient client, String id) {
+    try {
+      return Optional.ofNullable(client.getSecretValue(GetSecretValueRequest.builder().secretId(id).build()).secretString());
+    } catch (Exception e) {
+      log.debug("failed to retrieve secret {}: {}", id, e.getMessage());
+      return Optional.empty();
+    }
+  }
+}
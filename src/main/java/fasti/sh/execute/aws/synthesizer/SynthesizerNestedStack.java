@@ -9,6 +9,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awscdk.NestedStack;
 import software.amazon.awscdk.NestedStackProps;
+import software.amazon.awscdk.Stack;
 import software.amazon.awscdk.Tags;
 import software.amazon.awscdk.services.ssm.ParameterDataType;
 import software.amazon.awscdk.services.ssm.StringParameter;
@@ -22,28 +23,45 @@ public class SynthesizerNestedStack extends NestedStack {
   private final SynthesizerRolesNestedStack roles;
   private final SynthesizerStorageNestedStack storage;
 
+  record Synthesizer(
+    KmsConstruct key,
+    StringParameter version,
+    SynthesizerRolesNestedStack roles,
+    SynthesizerStorageNestedStack storage
+  ) {}
+
   public SynthesizerNestedStack(Construct scope, Common common, SynthesizerResources root, NestedStackProps props) {
     super(scope, "synthesizer.owner", props);
 
     log.debug("synthesizer configuration [common: {} resources: {}]", common, root);
 
-    this.key = new KmsConstruct(this, common, root.kms());
+    var synthesizer = build(this, common, root);
+    this.key = synthesizer.key();
+    this.version = synthesizer.version();
+    this.roles = synthesizer.roles();
+    this.storage = synthesizer.storage();
+  }
+
+  static Synthesizer build(Stack stack, Common common, SynthesizerResources root) {
+    var key = new KmsConstruct(stack, common, root.kms());
 
-    var parent = scope.getNode().getContext("host:id").toString();
-    this.version = StringParameter.Builder
-      .create(this, "ssm")
+    var parent = stack.getNode().getContext("host:id").toString();
+    var version = StringParameter.Builder
+      .create(stack, "ssm")
       .parameterName(String.format("/cdk/%s-%s/version", parent, common.id()))
       .stringValue("21")
       .description("cdk version")
       .dataType(ParameterDataType.TEXT)
       .build();
 
-    common.tags().forEach((k, v) -> Tags.of(this.version()).add(k, v));
+    common.tags().forEach((k, v) -> Tags.of(version).add(k, v));
 
-    this.roles = new SynthesizerRolesNestedStack(this, common, root,
+    var roles = new SynthesizerRolesNestedStack(stack, common, root,
       NestedStackProps.builder().description(describe(common, "roles & policies")).build());
 
-    this.storage = new SynthesizerStorageNestedStack(this, common, root,
+    var storage = new SynthesizerStorageNestedStack(stack, common, root,
       NestedStackProps.builder().description(describe(common, "ecr & s3 storage")).build());
+
+    return new Synthesizer(key, version, roles, storage);
   }
 }
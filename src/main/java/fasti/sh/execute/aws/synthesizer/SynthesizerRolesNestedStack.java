@@ -1,15 +1,14 @@
 package fasti.sh.execute.aws.synthesizer;
 
 import static fasti.sh.execute.serialization.Format.describe;
-import static fasti.sh.execute.serialization.Format.exported;
 import static fasti.sh.execute.serialization.Format.id;
 
+import fasti.sh.execute.aws.cdk.Wiring;
 import fasti.sh.execute.aws.iam.RoleConstruct;
 import fasti.sh.model.main.Common;
 import fasti.sh.model.main.SynthesizerResources;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awscdk.CfnOutput;
 import software.amazon.awscdk.NestedStack;
 import software.amazon.awscdk.NestedStackProps;
 import software.amazon.awscdk.services.iam.Role;
@@ -35,39 +34,49 @@ public class SynthesizerRolesNestedStack extends NestedStack {
     this.cdkAssets = new RoleConstruct(this, common, conf.cdkAssets()).role();
     this.cdkImages = new RoleConstruct(this, common, conf.cdkImages()).role();
 
-    CfnOutput.Builder
-      .create(this, id(common.id(), "cdk.exec.role.arn"))
-      .exportName(exported(scope, "cdkexecrolearn"))
-      .value(this.cdkExec().getRoleArn())
-      .description(describe(common, "exec role arn"))
-      .build();
+    Wiring
+      .publish(
+        this,
+        common,
+        id(common.id(), "cdk.exec.role.arn"),
+        "cdkexecrolearn",
+        this.cdkExec().getRoleArn(),
+        describe(common, "exec role arn"));
 
-    CfnOutput.Builder
-      .create(this, id(common.id(), "cdk.deploy.role.arn"))
-      .exportName(exported(scope, "cdkdeployrolearn"))
-      .value(this.cdkDeploy().getRoleArn())
-      .description(describe(common, "deploy role arn"))
-      .build();
+    Wiring
+      .publish(
+        this,
+        common,
+        id(common.id(), "cdk.deploy.role.arn"),
+        "cdkdeployrolearn",
+        this.cdkDeploy().getRoleArn(),
+        describe(common, "deploy role arn"));
 
-    CfnOutput.Builder
-      .create(this, id(common.id(), "cdk.lookup.role.arn"))
-      .exportName(exported(scope, "cdklookuprolearn"))
-      .value(this.cdkLookup().getRoleArn())
-      .description(describe(common, "lookup role arn"))
-      .build();
+    Wiring
+      .publish(
+        this,
+        common,
+        id(common.id(), "cdk.lookup.role.arn"),
+        "cdklookuprolearn",
+        this.cdkLookup().getRoleArn(),
+        describe(common, "lookup role arn"));
 
-    CfnOutput.Builder
-      .create(this, id(common.id(), "cdk.assets.role.arn"))
-      .exportName(exported(scope, "cdkassetsrolearn"))
-      .value(this.cdkAssets().getRoleArn())
-      .description(describe(common, "assets role arn"))
-      .build();
+    Wiring
+      .publish(
+        this,
+        common,
+        id(common.id(), "cdk.assets.role.arn"),
+        "cdkassetsrolearn",
+        this.cdkAssets().getRoleArn(),
+        describe(common, "assets role arn"));
 
-    CfnOutput.Builder
-      .create(this, id(common.id(), "cdk.images.role.arn"))
-      .exportName(exported(scope, "cdkimagesrolearn"))
-      .value(this.cdkImages().getRoleArn())
-      .description(describe(common, "images role arn"))
-      .build();
+    Wiring
+      .publish(
+        this,
+        common,
+        id(common.id(), "cdk.images.role.arn"),
+        "cdkimagesrolearn",
+        this.cdkImages().getRoleArn(),
+        describe(common, "images role arn"));
   }
 }
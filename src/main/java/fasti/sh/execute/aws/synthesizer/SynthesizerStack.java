@@ -0,0 +1,43 @@
+package fasti.sh.execute.aws.synthesizer;
+
+import static fasti.sh.execute.serialization.Format.name;
+
+import fasti.sh.execute.aws.kms.KmsConstruct;
+import fasti.sh.model.main.Common;
+import fasti.sh.model.main.SynthesizerResources;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.services.ssm.StringParameter;
+import software.constructs.Construct;
+
+/**
+ * Top-level stack variant of {@link SynthesizerNestedStack} that deploys the synthesizer key, roles and storage as their own
+ * CloudFormation stack, with the same contents and logical ids. Roles and storage remain nested stacks of this stack. Switching an existing
+ * deployment between the variants replaces its resources, see {@link fasti.sh.execute.aws.cdk.Stacks}.
+ *
+ * @author CDK Common Framework
+ * @see SynthesizerNestedStack for the nested stack variant
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class SynthesizerStack extends Stack {
+  private final KmsConstruct key;
+  private final StringParameter version;
+  private final SynthesizerRolesNestedStack roles;
+  private final SynthesizerStorageNestedStack storage;
+
+  public SynthesizerStack(Construct scope, Common common, SynthesizerResources root, StackProps props) {
+    super(scope, name(common.id(), "synthesizer"), props);
+
+    log.debug("synthesizer configuration [common: {} resources: {}]", common, root);
+
+    var synthesizer = SynthesizerNestedStack.build(this, common, root);
+    this.key = synthesizer.key();
+    this.version = synthesizer.version();
+    this.roles = synthesizer.roles();
+    this.storage = synthesizer.storage();
+  }
+}
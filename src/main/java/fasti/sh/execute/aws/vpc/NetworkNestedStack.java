@@ -1,16 +1,16 @@
 package fasti.sh.execute.aws.vpc;
 
 import static fasti.sh.execute.serialization.Format.describe;
-import static fasti.sh.execute.serialization.Format.exported;
 import static fasti.sh.execute.serialization.Format.id;
 
+import fasti.sh.execute.aws.cdk.Wiring;
 import fasti.sh.model.aws.vpc.NetworkConf;
 import fasti.sh.model.main.Common;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awscdk.CfnOutput;
 import software.amazon.awscdk.NestedStack;
 import software.amazon.awscdk.NestedStackProps;
+import software.amazon.awscdk.Stack;
 import software.amazon.awscdk.services.ec2.Vpc;
 import software.constructs.Construct;
 
@@ -24,13 +24,14 @@ public class NetworkNestedStack extends NestedStack {
 
     log.debug("network configuration [common: {} network: {}]", common, conf);
 
-    this.vpc = new VpcConstruct(this, common, conf).vpc();
+    this.vpc = build(this, common, conf);
+  }
+
+  static Vpc build(Stack stack, Common common, NetworkConf conf) {
+    var vpc = new VpcConstruct(stack, common, conf).vpc();
+
+    Wiring.publish(stack, common, id(common.id(), "vpc.id"), "vpcid", vpc.getVpcId(), describe(common));
 
-    CfnOutput.Builder
-      .create(this, id(common.id(), "vpc.id"))
-      .exportName(exported(scope, "vpcid"))
-      .value(this.vpc().getVpcId())
-      .description(describe(common))
-      .build();
+    return vpc;
   }
 }
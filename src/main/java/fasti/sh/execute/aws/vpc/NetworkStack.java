@@ -0,0 +1,34 @@
+package fasti.sh.execute.aws.vpc;
+
+import static fasti.sh.execute.serialization.Format.name;
+
+import fasti.sh.model.aws.vpc.NetworkConf;
+import fasti.sh.model.main.Common;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.services.ec2.Vpc;
+import software.constructs.Construct;
+
+/**
+ * Top-level stack variant of {@link NetworkNestedStack} that deploys the VPC as its own CloudFormation stack, with the same contents and
+ * logical ids. Switching an existing deployment between the variants replaces the VPC, see {@link fasti.sh.execute.aws.cdk.Stacks}.
+ *
+ * @author CDK Common Framework
+ * @see NetworkNestedStack for the nested stack variant
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class NetworkStack extends Stack {
+  private final Vpc vpc;
+
+  public NetworkStack(Construct scope, Common common, NetworkConf conf, StackProps props) {
+    super(scope, name(common.id(), "network"), props);
+
+    log.debug("network configuration [common: {} network: {}]", common, conf);
+
+    this.vpc = NetworkNestedStack.build(this, common, conf);
+  }
+}
@@ -1,16 +1,15 @@
 package fasti.sh.execute.init;
 
 import static fasti.sh.execute.serialization.Format.describe;
-import static fasti.sh.execute.serialization.Format.exported;
 import static fasti.sh.execute.serialization.Format.id;
 
+import fasti.sh.execute.aws.cdk.Wiring;
 import fasti.sh.execute.aws.ecr.EcrRepositoryConstruct;
 import fasti.sh.execute.aws.s3.BucketConstruct;
 import fasti.sh.model.main.Common;
 import fasti.sh.model.main.SynthesizerResources;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awscdk.CfnOutput;
 import software.amazon.awscdk.NestedStack;
 import software.amazon.awscdk.NestedStackProps;
 import software.amazon.awscdk.services.ecr.Repository;
@@ -31,18 +30,22 @@ public class SystemStorageConstruct extends NestedStack {
     this.cdkEcr = new EcrRepositoryConstruct(this, common, conf.ecr()).repository();
     this.cdkAssets = new BucketConstruct(this, common, conf.assets()).bucket();
 
-    CfnOutput.Builder
-      .create(this, id(common.id(), "cdk.ecr.assets.arn"))
-      .exportName(exported(scope, "cdkecrassetsarn"))
-      .value(this.cdkEcr().getRepositoryArn())
-      .description(describe(common, " repository arn"))
-      .build();
-
-    CfnOutput.Builder
-      .create(this, id(common.id(), "cdk.bucket.assets.arn"))
-      .exportName(exported(scope, "cdkbucketassetsarn"))
-      .value(this.cdkAssets().getBucketArn())
-      .description(describe(common, "bucket assets arn"))
-      .build();
+    Wiring
+      .publish(
+        this,
+        common,
+        id(common.id(), "cdk.ecr.assets.arn"),
+        "cdkecrassetsarn",
+        this.cdkEcr().getRepositoryArn(),
+        describe(common, " repository arn"));
+
+    Wiring
+      .publish(
+        this,
+        common,
+        id(common.id(), "cdk.bucket.assets.arn"),
+        "cdkbucketassetsarn",
+        this.cdkAssets().getBucketArn(),
+        describe(common, "bucket assets arn"));
   }
 }
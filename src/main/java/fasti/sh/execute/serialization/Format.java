@@ -80,6 +80,9 @@ import software.constructs.Construct;
  * // CloudFormation exports
  * String exportName = Format.exported(scope, "cluster-arn");
  *
+ * // SSM parameter names for cross-stack values
+ * String parameterName = Format.parameter(scope, "cluster-arn");
+ *
  * // Named resources with context
  * String namedResource = Format.named(scope, "backup-role");
  * }</pre>
@@ -123,4 +126,15 @@ public class Format {
     var hostedId = scope.getNode().getContext("hosted:id");
     return String.format("%s-%s-%s", prefix, hostedId, suffix);
   }
+
+  public static String parameter(Construct scope, String suffix) {
+    var prefix = Optional
+      .of(scope)
+      .map(s -> s.getNode().tryGetContext("hosted:synthesizer:name"))
+      .map(Object::toString)
+      .orElseGet(() -> scope.getNode().getContext("host:id").toString());
+
+    var hostedId = scope.getNode().getContext("hosted:id");
+    return String.format("/%s/%s/%s", prefix, hostedId, suffix);
+  }
 }
@@ -110,6 +110,7 @@ import java.util.TreeSet;
  */
 public class Mapper {
   private static final ObjectMapper mapper = configure();
+  private static final ObjectMapper json = JsonMapper.builder().addModule(new Jdk8Module()).build();
 
   private Mapper() {}
 
@@ -137,4 +138,12 @@ public class Mapper {
   public static ObjectMapper get() {
     return mapper;
   }
+
+  /**
+   * Plain JSON mapper for documents that leave the framework as JSON, such as rendered policies, Helm values and secret payloads, where
+   * the YAML output and lenient configuration reading of {@link #get()} do not apply.
+   */
+  public static ObjectMapper json() {
+    return json;
+  }
 }
@@ -1,5 +1,7 @@
 package fasti.sh.execute.serialization;
 
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.mustachejava.DefaultMustacheFactory;
 import fasti.sh.model.main.Common;
 import fasti.sh.model.main.Common.Maps;
@@ -9,8 +11,11 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.security.InvalidParameterException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import software.constructs.Construct;
@@ -54,6 +59,10 @@ import software.constructs.Construct;
  * <li><b>Hosted Context</b> - Secondary deployment context for nested stacks
  * <li><b>Synthesizer Context</b> - CDK synthesizer and build tool context
  * <li><b>Custom Variables</b> - Additional user-provided template variables
+ * <li><b>Registry</b> - {@code hosted:registry}, the hosted private ECR registry, and the {@code hosted:image} lambda rewriting an
+ * upstream image reference such as {@code {{#hosted:image}}quay.io/jetstack/cert-manager-controller{{/hosted:image}}} to its pull-through
+ * cache repository of its registry from the {@code hosted:ecr:cache} map of upstream registry to cache prefix in the context, leaving
+ * references to registries without a rule untouched
  * </ul>
  *
  * <p>
@@ -131,6 +140,7 @@ import software.constructs.Construct;
  */
 @Slf4j
 public class Template {
+  public static final String CACHE = "hosted:ecr:cache";
 
   @SneakyThrows
   public static String parse(Construct scope, String file) {
@@ -173,6 +183,11 @@ public class Template {
     var synthesizer =
       Optional.of(scope).map(s -> s.getNode().tryGetContext("hosted:synthesizer:name")).map(Object::toString).orElseGet(Common::id_);
 
+    var registry = String
+      .format("%s.dkr.ecr.%s.amazonaws.com", scope.getNode().getContext("hosted:account"), scope.getNode().getContext("hosted:region"));
+    var caches = caches(scope);
+    Function<String, String> image = reference -> cached(registry, caches, reference.strip());
+
     var d = Map
       .<String, Object>ofEntries(
         Map.entry("home", home),
@@ -194,13 +209,65 @@ public class Template {
         Map.entry("hosted:alias", scope.getNode().getContext("hosted:alias").toString()),
         Map.entry("hosted:environment", scope.getNode().getContext("hosted:environment").toString()),
         Map.entry("hosted:version", scope.getNode().getContext("hosted:version").toString()),
-        Map.entry("hosted:domain", scope.getNode().getContext("hosted:domain").toString()));
+        Map.entry("hosted:domain", scope.getNode().getContext("hosted:domain").toString()),
+        Map.entry("hosted:registry", registry),
+        Map.entry("hosted:image", image));
 
     log.debug("default template variables [defaults: {}]", d);
 
     return d;
   }
 
+  /**
+   * Pull-through cache rules of the hosted registry from {@code hosted:ecr:cache}, upstream registry host to repository prefix, as set in
+   * {@code cdk.context.json} or passed as a YAML/JSON string on the command line; empty when the key is absent.
+   *
+   * @throws InvalidParameterException
+   *           if the value is not a map of upstream to prefix
+   */
+  public static Map<String, String> caches(Construct scope) {
+    var value = scope.getNode().tryGetContext(CACHE);
+    if (value == null)
+      return Map.of();
+
+    try {
+      var caches = value instanceof Map<?, ?> map
+        ? Mapper.get().convertValue(map, new TypeReference<LinkedHashMap<String, String>>() {})
+        : Mapper.get().readValue(value.toString(), new TypeReference<LinkedHashMap<String, String>>() {});
+      return Map.copyOf(caches);
+    } catch (IllegalArgumentException | JacksonException e) {
+      throw new InvalidParameterException(String.format("%s must map upstream registries to cache prefixes, got %s", CACHE, value));
+    }
+  }
+
+  /**
+   * Maps an upstream image reference onto the pull-through cache repository for its registry, with Docker Hub's {@code docker.io} alias
+   * and official {@code library} images resolved the way the container runtime would. References to registries without a cache rule are
+   * returned as they are.
+   */
+  static String cached(String registry, Map<String, String> caches, String reference) {
+    var upstream = upstream(reference);
+    var slash = upstream.indexOf('/');
+
+    return Optional
+      .ofNullable(caches.get(upstream.substring(0, slash)))
+      .map(prefix -> String.format("%s/%s%s", registry, prefix, upstream.substring(slash)))
+      .orElse(reference);
+  }
+
+  private static String upstream(String reference) {
+    var slash = reference.indexOf('/');
+    var host = slash > 0 ? reference.substring(0, slash) : "";
+    var hosted = host.contains(".") || host.contains(":") || host.equals("localhost");
+
+    if (!hosted)
+      return "registry-1.docker.io/" + (slash > 0 ? reference : "library/" + reference);
+    if (host.equals("docker.io"))
+      return "registry-1.docker.io" + reference.substring(slash);
+
+    return reference;
+  }
+
   @SneakyThrows
   protected static void assemble(InputStream stream, String template, Map<String, Object> values, DefaultMustacheFactory factory,
     StringWriter writer) {
@@ -0,0 +1,19 @@
+package fasti.sh.model.aws.cdk;
+
+import java.util.Map;
+
+/**
+ * Configuration record for resource-count sharding of a stack into nested stacks.
+ *
+ * @param name
+ *          Prefix used for the shard nested stack ids
+ * @param resourceBudget
+ *          Maximum number of CloudFormation resources placed in a single shard before overflowing into the next one
+ * @param pinned
+ *          Construct id to shard index assignments that are always honoured, used to keep logical ids stable when constructs are reordered
+ */
+public record ShardConf(
+  String name,
+  int resourceBudget,
+  Map<String, Integer> pinned
+) {}
@@ -0,0 +1,34 @@
+package fasti.sh.model.aws.cdk;
+
+/**
+ * Configuration record for the per-template size and resource budget checked during and after synthesis.
+ *
+ * <p>
+ * Each limit is an error threshold; a warning is raised once a template reaches {@code warnPercent} of it. A limit of {@code 0} disables
+ * the check.
+ *
+ * @param resources
+ *          Maximum number of resources in a single template (CloudFormation hard limit is 500)
+ * @param outputs
+ *          Maximum number of outputs in a single template (CloudFormation hard limit is 200)
+ * @param parameters
+ *          Maximum number of parameters in a single template (CloudFormation hard limit is 200)
+ * @param bytes
+ *          Maximum template body size in bytes (CloudFormation hard limit is 1 MB, 1,048,576 bytes, for templates uploaded to S3)
+ * @param warnPercent
+ *          Percentage of a limit at which a warning is raised
+ * @param contributors
+ *          Number of largest construct paths listed per template in reports
+ */
+public record TemplateBudget(
+  int resources,
+  int outputs,
+  int parameters,
+  long bytes,
+  int warnPercent,
+  int contributors
+) {
+  public static TemplateBudget defaults() {
+    return new TemplateBudget(500, 200, 200, 1_048_576L, 80, 5);
+  }
+}
@@ -0,0 +1,16 @@
+package fasti.sh.model.aws.ecr;
+
+import java.util.List;
+
+/**
+ * Registry level ECR settings shared by every repository of the account and region.
+ *
+ * @param pullThroughCaches
+ *          Upstream registries mirrored into the private registry on first pull
+ * @param replication
+ *          Regions the private registry is replicated to
+ */
+public record EcrRegistry(
+  List<PullThroughCache> pullThroughCaches,
+  Replication replication
+) {}
@@ -9,5 +9,6 @@ public record EcrRepository(
   boolean emptyOnDelete,
   TagMutability tagMutability,
   RemovalPolicy removalPolicy,
-  Encryption encryption
+  Encryption encryption,
+  Soci soci
 ) {}
@@ -0,0 +1,33 @@
+package fasti.sh.model.aws.ecr;
+
+import java.util.Map;
+
+/**
+ * ECR pull-through cache rule mirroring an upstream registry under a repository prefix of the private registry.
+ *
+ * @param upstream
+ *          Upstream registry host, such as {@code quay.io} or {@code registry.k8s.io}
+ * @param prefix
+ *          Repository prefix images are cached under, defaults to the one in {@link #PREFIXES} for the upstream
+ * @param credentialArn
+ *          Secrets Manager secret, named with the {@code ecr-pullthroughcache/} prefix, holding upstream credentials; required by Docker
+ *          Hub and the GitHub Container Registry
+ */
+public record PullThroughCache(
+  String upstream,
+  String prefix,
+  String credentialArn
+) {
+
+  /**
+   * Prefixes ECR suggests for each supported upstream, used when a rule names no prefix of its own.
+   */
+  public static final Map<String, String> PREFIXES = Map
+    .ofEntries(
+      Map.entry("public.ecr.aws", "ecr-public"),
+      Map.entry("registry.k8s.io", "kubernetes"),
+      Map.entry("quay.io", "quay"),
+      Map.entry("registry-1.docker.io", "docker-hub"),
+      Map.entry("ghcr.io", "github"),
+      Map.entry("registry.gitlab.com", "gitlab"));
+}
@@ -0,0 +1,16 @@
+package fasti.sh.model.aws.ecr;
+
+import java.util.List;
+
+/**
+ * Private registry replication into other regions of the same account.
+ *
+ * @param regions
+ *          Destination regions
+ * @param prefixes
+ *          Repository name prefixes to replicate, every repository when empty
+ */
+public record Replication(
+  List<String> regions,
+  List<String> prefixes
+) {}
@@ -0,0 +1,28 @@
+package fasti.sh.model.aws.ecr;
+
+import java.util.List;
+
+/**
+ * Seekable OCI index generation for images pushed to a repository.
+ *
+ * @param enabled
+ *          Build and push a SOCI index for every tagged push
+ * @param version
+ *          soci-snapshotter release the builder installs, defaults to {@code 0.9.0}
+ * @param sha256
+ *          SHA-256 of the release's {@code linux-amd64} tarball, checked before the binary is unpacked and run
+ * @param minLayerSize
+ *          Smallest layer in bytes that gets a zTOC, smaller layers are pulled whole, defaults to the soci default of 10 MiB
+ * @param tagPrefixes
+ *          Only index pushes whose tag starts with one of these prefixes, all tagged pushes when empty
+ * @param platforms
+ *          Platforms of a multi-arch image to index, such as {@code linux/arm64}, every platform in the image when empty
+ */
+public record Soci(
+  boolean enabled,
+  String version,
+  String sha256,
+  long minLayerSize,
+  List<String> tagPrefixes,
+  List<String> platforms
+) {}
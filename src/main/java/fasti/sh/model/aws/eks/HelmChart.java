@@ -1,10 +1,29 @@
 package fasti.sh.model.aws.eks;
 
+/**
+ * Helm chart release installed through the cluster's kubectl handler.
+ *
+ * @param name
+ *          Chart name in the repository
+ * @param namespace
+ *          Namespace the release is installed into
+ * @param release
+ *          Release name
+ * @param repository
+ *          Chart repository URL, {@code oci://} registries included
+ * @param values
+ *          Values template resolved with the template context
+ * @param version
+ *          Chart version, required when mirrored
+ * @param mirror
+ *          Package the chart at synth time as an S3 asset instead of pulling it from the repository on every deploy
+ */
 public record HelmChart(
   String name,
   String namespace,
   String release,
   String repository,
   String values,
-  String version
+  String version,
+  boolean mirror
 ) {}
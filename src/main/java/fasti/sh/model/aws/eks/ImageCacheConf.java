@@ -0,0 +1,29 @@
+package fasti.sh.model.aws.eks;
+
+import java.util.List;
+
+/**
+ * Container images baked into an EBS snapshot that new Bottlerocket nodes restore their data volume from.
+ *
+ * @param images
+ *          Image references to pre-pull, ECR images are pulled with a registry token fetched by the build
+ * @param instanceType
+ *          Builder instance type, defaults to {@code m7i.large}
+ * @param architecture
+ *          {@code x86_64} or {@code arm64}, must match the builder instance type and the nodes restoring the snapshot, defaults to
+ *          {@code x86_64}
+ * @param volumeSize
+ *          Data volume size in GiB, and so the smallest volume nodes can restore the snapshot into, defaults to 50
+ * @param parameter
+ *          SSM parameter the snapshot id is published under, defaults to {@code /<cluster>/image-cache/snapshot}
+ * @author CDK Common Framework
+ * @see NodeVolumeConf#snapshotId() for restoring the snapshot on nodes
+ * @since 1.0.0
+ */
+public record ImageCacheConf(
+  List<String> images,
+  String instanceType,
+  String architecture,
+  int volumeSize,
+  String parameter
+) {}
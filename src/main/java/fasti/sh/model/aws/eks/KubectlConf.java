@@ -0,0 +1,21 @@
+package fasti.sh.model.aws.eks;
+
+import java.util.Map;
+
+/**
+ * Tuning for the kubectl handler Lambda that runs every Helm and manifest operation against a cluster.
+ *
+ * <p>
+ * Helm installs run inside this function, so an undersized handler is what makes large charts crawl or time out. Every field is optional;
+ * unset fields keep the CDK defaults. The handler runs in the cluster's private subnets whenever the endpoint is private; an owned cluster
+ * cannot place it elsewhere or share another cluster's provider.
+ *
+ * @param memory
+ *          Handler memory in MiB, {@code 0} keeps the CDK default of 1024
+ * @param environment
+ *          Extra environment variables for the handler, for example proxy settings
+ */
+public record KubectlConf(
+  int memory,
+  Map<String, String> environment
+) {}
@@ -0,0 +1,17 @@
+package fasti.sh.model.aws.eks;
+
+/**
+ * Kubelet settings applied through node user data, supported on AL2023 and Bottlerocket AMIs.
+ *
+ * @param maxPods
+ *          Maximum pods per node, {@code 0} keeps the AMI default derived from the instance type
+ * @param imageGcHighThreshold
+ *          Disk usage percent that triggers image garbage collection, {@code 0} keeps the kubelet default
+ * @param imageGcLowThreshold
+ *          Disk usage percent image garbage collection frees down to, {@code 0} keeps the kubelet default
+ */
+public record KubeletConf(
+  int maxPods,
+  int imageGcHighThreshold,
+  int imageGcLowThreshold
+) {}
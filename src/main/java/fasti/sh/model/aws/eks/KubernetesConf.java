@@ -97,6 +97,8 @@ import java.util.Map;
  *   addonsConfigJson, // Kubernetes add-ons
  *   sqsConfigJson, // message queuing
  *   observabilityConfigJson, // monitoring stack
+ *   null, // image cache snapshot builder
+ *   new KubectlConf(4096, Map.of()), // kubectl handler sizing
  *   clusterAnnotations, // Kubernetes annotations
  *   clusterLabels, // Kubernetes labels
  *   awsTags // AWS resource tags
@@ -127,6 +129,10 @@ import java.util.Map;
  *          JSON configuration for SQS integration and event processing
  * @param observability
  *          JSON configuration for monitoring, logging, and alerting
+ * @param imageCache
+ *          Optional JSON configuration for the EBS snapshot of pre-pulled images restored by new nodes
+ * @param kubectl
+ *          Optional kubectl handler tuning (memory, environment)
  * @param annotations
  *          Kubernetes annotations applied to cluster resources
  * @param labels
@@ -138,6 +144,8 @@ import java.util.Map;
  * @see AddonsConf for add-on ecosystem configuration
  * @see ObservabilityConf for monitoring stack setup
  * @see TenancyConf for multi-tenant access patterns
+ * @see KubectlConf for kubectl handler tuning
+ * @see ImageCacheConf for image pre-caching
  * @since 1.0.0
  */
 public record KubernetesConf(
@@ -153,6 +161,8 @@ public record KubernetesConf(
   String addons,
   String sqs,
   String observability,
+  String imageCache,
+  KubectlConf kubectl,
   Map<String, String> annotations,
   Map<String, String> labels,
   Map<String, String> tags
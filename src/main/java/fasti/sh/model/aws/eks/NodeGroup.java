@@ -1,11 +1,31 @@
 package fasti.sh.model.aws.eks;
 
 import fasti.sh.model.aws.iam.IamRole;
+import java.util.List;
 import java.util.Map;
 import software.amazon.awscdk.services.ec2.InstanceClass;
 import software.amazon.awscdk.services.ec2.InstanceSize;
 import software.amazon.awscdk.services.eks.NodegroupAmiType;
 
+/**
+ * Managed node group configuration.
+ *
+ * <p>
+ * The group's instance types are {@code instanceClass}/{@code instanceSize} followed by {@code instanceTypes}. Listing several similar
+ * types lets spot capacity be drawn from more pools. A {@code launchTemplate} adds gp3 volume tuning, instance-store NVMe for containerd,
+ * and kubelet settings.
+ *
+ * @param amiType
+ *          EKS optimized AMI family, including the Bottlerocket variants
+ * @param instanceClass
+ *          Class of the primary instance type, may be omitted when {@code instanceTypes} is set
+ * @param instanceSize
+ *          Size of the primary instance type, may be omitted when {@code instanceTypes} is set
+ * @param instanceTypes
+ *          Additional instance types such as {@code m6i.large}, used to diversify spot capacity
+ * @param launchTemplate
+ *          Optional launch template settings
+ */
 public record NodeGroup(
   NodegroupAmiType amiType,
   boolean forceUpdate,
@@ -13,6 +33,8 @@ public record NodeGroup(
   int desiredSize,
   InstanceClass instanceClass,
   InstanceSize instanceSize,
+  List<String> instanceTypes,
+  NodeLaunchTemplateConf launchTemplate,
   int maxSize,
   int minSize,
   String name,
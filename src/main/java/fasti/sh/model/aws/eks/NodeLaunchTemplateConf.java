@@ -0,0 +1,17 @@
+package fasti.sh.model.aws.eks;
+
+/**
+ * Launch template settings for a managed node group.
+ *
+ * @param volume
+ *          gp3 volume tuning for the image and container storage device
+ * @param instanceStore
+ *          Stripe the instance-store NVMe disks into a RAID0 array backing containerd and kubelet storage
+ * @param kubelet
+ *          Kubelet settings, requires an AL2023 or Bottlerocket AMI
+ */
+public record NodeLaunchTemplateConf(
+  NodeVolumeConf volume,
+  boolean instanceStore,
+  KubeletConf kubelet
+) {}
@@ -0,0 +1,27 @@
+package fasti.sh.model.aws.eks;
+
+/**
+ * gp3 volume holding the node's container images and writable layers.
+ *
+ * @param deviceName
+ *          Block device to configure, defaults to {@code /dev/xvdb} (the data volume) on Bottlerocket and {@code /dev/xvda} elsewhere
+ * @param size
+ *          Volume size in GiB
+ * @param iops
+ *          Provisioned IOPS, {@code 0} keeps the gp3 baseline of 3000
+ * @param throughput
+ *          Provisioned throughput in MiB/s, {@code 0} keeps the gp3 baseline of 125
+ * @param encrypted
+ *          Encrypt the volume with the account default EBS key, ignored when restoring from a snapshot which keeps its own encryption
+ * @param snapshotId
+ *          Snapshot to restore the volume from, such as one with pre-pulled images built by the image cache, or a
+ *          {@code {{resolve:ssm:...}}} reference to the parameter the image cache publishes it under; requires a Bottlerocket data volume
+ */
+public record NodeVolumeConf(
+  String deviceName,
+  int size,
+  int iops,
+  int throughput,
+  boolean encrypted,
+  String snapshotId
+) {}
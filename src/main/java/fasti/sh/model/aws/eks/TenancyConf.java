@@ -2,7 +2,26 @@ package fasti.sh.model.aws.eks;
 
 import java.util.List;
 
+/**
+ * Cluster tenants and how their IAM roles are granted access to the cluster.
+ *
+ * @param administrators
+ *          Tenants granted cluster administrator access
+ * @param users
+ *          Tenants granted read-only access through the {@code eks:read-only} group
+ * @param authentication
+ *          {@code config_map} (default) maps tenants through the aws-auth ConfigMap, {@code access_entries} creates an EKS access entry per
+ *          tenant instead
+ */
 public record TenancyConf(
   List<Tenant> administrators,
-  List<Tenant> users
-) {}
+  List<Tenant> users,
+  String authentication
+) {
+  public static final String CONFIG_MAP = "config_map";
+  public static final String ACCESS_ENTRIES = "access_entries";
+
+  public boolean accessEntries() {
+    return ACCESS_ENTRIES.equalsIgnoreCase(authentication());
+  }
+}
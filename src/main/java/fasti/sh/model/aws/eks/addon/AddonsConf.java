@@ -5,9 +5,46 @@ import fasti.sh.model.aws.eks.addon.core.AwsLoadBalancerAddon;
 import fasti.sh.model.aws.eks.addon.core.AwsSecretsStoreAddon;
 import fasti.sh.model.aws.eks.addon.core.CertManagerAddon;
 import fasti.sh.model.aws.eks.addon.core.GrafanaAddon;
+import fasti.sh.model.aws.eks.addon.core.HeadroomAddon;
+import fasti.sh.model.aws.eks.addon.core.KedaAddon;
+import fasti.sh.model.aws.eks.addon.core.MetricsServerAddon;
+import fasti.sh.model.aws.eks.addon.core.NodeLocalDnsAddon;
 import fasti.sh.model.aws.eks.addon.core.karpenter.KarpenterAddon;
 import fasti.sh.model.aws.eks.addon.managed.ManagedAddons;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Configuration record for the addons installed on an EKS cluster.
+ *
+ * @param managed
+ *          AWS-managed EKS addons
+ * @param awsSecretsStore
+ *          Secrets Store CSI driver chart
+ * @param awsLoadBalancer
+ *          AWS Load Balancer Controller chart
+ * @param certManager
+ *          cert-manager chart
+ * @param karpenter
+ *          Karpenter chart and pod identity
+ * @param alloyOperator
+ *          Grafana Alloy operator chart
+ * @param grafana
+ *          Grafana k8s-monitoring chart
+ * @param nodeLocalDns
+ *          NodeLocal DNSCache, not installed when omitted
+ * @param metricsServer
+ *          metrics-server chart serving the resource metrics API to HorizontalPodAutoscalers, not installed when omitted
+ * @param keda
+ *          KEDA chart scaling workloads on queue depth and CloudWatch metrics, not installed when omitted
+ * @param headroom
+ *          Pause pod headroom per node pool, not installed when omitted
+ * @param dependencies
+ *          Addon name ({@code alloyOperator}, {@code grafana}, {@code certManager}, {@code awsSecretsStore}, {@code karpenter},
+ *          {@code awsLoadBalancer}, {@code nodeLocalDns}, {@code metricsServer}, {@code keda}, {@code headroom}) to the addons it must be
+ *          installed after; addons without an entry have no dependencies, and when omitted or empty the addons are installed one after
+ *          another in that order. An optional addon that is not installed is skipped, its dependents waiting on its own dependencies instead
+ */
 public record AddonsConf(
   ManagedAddons managed,
   AwsSecretsStoreAddon awsSecretsStore,
@@ -15,5 +52,10 @@ public record AddonsConf(
   CertManagerAddon certManager,
   KarpenterAddon karpenter,
   AlloyOperatorAddon alloyOperator,
-  GrafanaAddon grafana
+  GrafanaAddon grafana,
+  NodeLocalDnsAddon nodeLocalDns,
+  MetricsServerAddon metricsServer,
+  KedaAddon keda,
+  HeadroomAddon headroom,
+  Map<String, List<String>> dependencies
 ) {}
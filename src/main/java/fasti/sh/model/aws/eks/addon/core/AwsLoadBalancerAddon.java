@@ -3,7 +3,18 @@ package fasti.sh.model.aws.eks.addon.core;
 import fasti.sh.model.aws.eks.HelmChart;
 import fasti.sh.model.aws.eks.ServiceAccountConf;
 
+/**
+ * AWS Load Balancer Controller release.
+ *
+ * @param chart
+ *          Controller chart
+ * @param serviceAccount
+ *          Controller service account with its pod identity
+ * @param defaults
+ *          Typed target type, readiness gate, topology and target group defaults, left to the values template when absent
+ */
 public record AwsLoadBalancerAddon(
   HelmChart chart,
-  ServiceAccountConf serviceAccount
+  ServiceAccountConf serviceAccount,
+  AwsLoadBalancerDefaults defaults
 ) {}
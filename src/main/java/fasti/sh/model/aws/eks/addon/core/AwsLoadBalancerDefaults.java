@@ -0,0 +1,27 @@
+package fasti.sh.model.aws.eks.addon.core;
+
+import java.util.List;
+
+/**
+ * Defaults for load balancers provisioned by the AWS Load Balancer Controller, tuned to keep traffic in the client's zone and to drain
+ * targets quickly during rollouts.
+ *
+ * @param targetType
+ *          Default target type, {@code ip} or {@code instance}, defaults to {@code ip} so traffic reaches pods without a node port hop
+ * @param readinessGateNamespaces
+ *          Namespaces whose pods get the target health readiness gate injected, so a rollout waits for new pods to be healthy in the
+ *          target group; when empty, namespaces opt in with the {@code elbv2.k8s.aws/pod-readiness-gate-inject: enabled} label
+ * @param topologyAwareRouting
+ *          Read EndpointSlices and annotate services with {@code service.kubernetes.io/topology-mode: Auto}
+ * @param crossZone
+ *          Keep cross-zone load balancing on; off by default, so each zone's load balancer node only routes to targets in its own zone
+ * @param deregistrationDelay
+ *          Target deregistration delay in seconds, defaults to 30 instead of the 300 of a new target group
+ */
+public record AwsLoadBalancerDefaults(
+  String targetType,
+  List<String> readinessGateNamespaces,
+  boolean topologyAwareRouting,
+  boolean crossZone,
+  int deregistrationDelay
+) {}
@@ -0,0 +1,23 @@
+package fasti.sh.model.aws.eks.addon.core;
+
+import java.util.List;
+
+/**
+ * Overprovisioning with low priority pause pods that real workloads preempt while replacement nodes start.
+ *
+ * @param namespace
+ *          Namespace created for the pause deployments, defaults to {@code headroom}; must not be an existing namespace, since removing the
+ *          addon deletes it
+ * @param priority
+ *          Priority of the pause pods, defaults to {@code -10}; must stay below every workload priority
+ * @param image
+ *          Pause image, defaults to {@code registry.k8s.io/pause}
+ * @param pools
+ *          Headroom per node pool
+ */
+public record HeadroomAddon(
+  String namespace,
+  int priority,
+  String image,
+  List<HeadroomPoolConf> pools
+) {}
@@ -0,0 +1,25 @@
+package fasti.sh.model.aws.eks.addon.core;
+
+import java.util.Map;
+
+/**
+ * Pause pods reserving spare capacity on one node pool.
+ *
+ * @param name
+ *          Deployment name suffix, usually the node pool name
+ * @param replicas
+ *          Number of pause pods, each reserving {@code cpu} and {@code memory}
+ * @param cpu
+ *          CPU reserved per pod, e.g. {@code 1} or {@code 500m}
+ * @param memory
+ *          Memory reserved per pod, e.g. {@code 2Gi}
+ * @param nodeSelector
+ *          Labels selecting the pool, e.g. {@code karpenter.sh/nodepool} or {@code eks.amazonaws.com/nodegroup}
+ */
+public record HeadroomPoolConf(
+  String name,
+  int replicas,
+  String cpu,
+  String memory,
+  Map<String, String> nodeSelector
+) {}
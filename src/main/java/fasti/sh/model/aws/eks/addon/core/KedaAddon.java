@@ -0,0 +1,21 @@
+package fasti.sh.model.aws.eks.addon.core;
+
+import fasti.sh.model.aws.eks.HelmChart;
+import fasti.sh.model.aws.eks.PodIdentity;
+import java.util.List;
+
+/**
+ * KEDA event driven autoscaler.
+ *
+ * @param chart
+ *          KEDA chart
+ * @param podIdentity
+ *          Operator service account and role; queue depth and CloudWatch read access is added to the role
+ * @param queues
+ *          ARNs of SQS queues scaled on besides the ones created with the cluster
+ */
+public record KedaAddon(
+  HelmChart chart,
+  PodIdentity podIdentity,
+  List<String> queues
+) {}
@@ -0,0 +1,5 @@
+package fasti.sh.model.aws.eks.addon.core;
+
+import fasti.sh.model.aws.eks.HelmChart;
+
+public record MetricsServerAddon(HelmChart chart) {}
@@ -0,0 +1,26 @@
+package fasti.sh.model.aws.eks.addon.core;
+
+/**
+ * NodeLocal DNSCache, a DNS cache running on every node in front of CoreDNS.
+ *
+ * @param image
+ *          {@code k8s-dns-node-cache} image, defaults to the upstream registry.k8s.io image
+ * @param localIp
+ *          Link-local address the cache listens on, defaults to {@code 169.254.20.10}
+ * @param kubeDnsIp
+ *          Cluster IP of the {@code kube-dns} service, intercepted by the cache so pods need no resolver change
+ * @param clusterDomain
+ *          Cluster DNS domain, defaults to {@code cluster.local}
+ * @param cacheTtl
+ *          Maximum TTL in seconds for cached answers, defaults to {@code 30}
+ * @param negativeTtl
+ *          Maximum TTL in seconds for cached NXDOMAIN answers, defaults to {@code 5}
+ */
+public record NodeLocalDnsAddon(
+  String image,
+  String localIp,
+  String kubeDnsIp,
+  String clusterDomain,
+  int cacheTtl,
+  int negativeTtl
+) {}
@@ -0,0 +1,22 @@
+package fasti.sh.model.aws.eks.addon.core.karpenter;
+
+import java.util.List;
+
+/**
+ * Upper bound on how many nodes Karpenter may disrupt at once.
+ *
+ * @param nodes
+ *          Node count or percentage, e.g. {@code 10%} or {@code 0} to block disruption
+ * @param schedule
+ *          Cron schedule the budget becomes active on, {@code null} for always active
+ * @param duration
+ *          How long the budget stays active after each scheduled start, required with {@code schedule}
+ * @param reasons
+ *          Disruption reasons the budget applies to ({@code Drifted}, {@code Underutilized}, {@code Empty}), all when empty
+ */
+public record DisruptionBudgetConf(
+  String nodes,
+  String schedule,
+  String duration,
+  List<String> reasons
+) {}
@@ -0,0 +1,37 @@
+package fasti.sh.model.aws.eks.addon.core.karpenter;
+
+import fasti.sh.model.aws.eks.NodeVolumeConf;
+import java.util.Map;
+
+/**
+ * Karpenter {@code EC2NodeClass} describing how nodes are launched.
+ *
+ * @param name
+ *          EC2NodeClass name referenced by {@link NodePoolConf#nodeClass()}
+ * @param amiFamily
+ *          AMI family alias, {@code al2023} or {@code bottlerocket}
+ * @param amiVersion
+ *          AMI alias version, defaults to {@code latest}; pin it to control node rollouts
+ * @param role
+ *          IAM role name for launched nodes, required
+ * @param subnetSelector
+ *          Subnet discovery tags, defaults to {@code karpenter.sh/discovery} with the cluster name, which is added to the private
+ *          subnets of the cluster VPC
+ * @param securityGroupSelector
+ *          Security group discovery tags, defaults to {@code aws:eks:cluster-name} with the cluster name, selecting the cluster security
+ *          group
+ * @param volume
+ *          gp3 root or data volume, throughput and IOPS included
+ * @param tags
+ *          Tags applied to launched instances and volumes
+ */
+public record Ec2NodeClassConf(
+  String name,
+  String amiFamily,
+  String amiVersion,
+  String role,
+  Map<String, String> subnetSelector,
+  Map<String, String> securityGroupSelector,
+  NodeVolumeConf volume,
+  Map<String, String> tags
+) {}
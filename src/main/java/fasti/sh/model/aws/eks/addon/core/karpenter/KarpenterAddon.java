@@ -2,8 +2,11 @@ package fasti.sh.model.aws.eks.addon.core.karpenter;
 
 import fasti.sh.model.aws.eks.HelmChart;
 import fasti.sh.model.aws.eks.PodIdentity;
+import java.util.List;
 
 public record KarpenterAddon(
   HelmChart chart,
-  PodIdentity podIdentity
+  PodIdentity podIdentity,
+  List<Ec2NodeClassConf> nodeClasses,
+  List<NodePoolConf> nodePools
 ) {}
@@ -0,0 +1,54 @@
+package fasti.sh.model.aws.eks.addon.core.karpenter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Karpenter {@code NodePool} constraining which instances may be launched and when they are disrupted.
+ *
+ * <p>
+ * Spot and on-demand weighting is expressed with two pools over the same node class: a higher {@code weight} pool allowing {@code spot}
+ * and a lower weight fallback allowing {@code on-demand}. Karpenter tries pools in descending weight order.
+ *
+ * @param name
+ *          NodePool name
+ * @param nodeClass
+ *          Name of the {@link Ec2NodeClassConf} the pool launches nodes with
+ * @param weight
+ *          Priority over other pools, {@code 0} leaves it unset
+ * @param instanceFamilies
+ *          Allowed instance families, e.g. {@code m7g}, {@code c7i}
+ * @param instanceCategories
+ *          Allowed instance categories, e.g. {@code c}, {@code m}, {@code r}
+ * @param architectures
+ *          Allowed CPU architectures, {@code amd64} and/or {@code arm64}
+ * @param capacityTypes
+ *          Allowed capacity types, {@code spot} and/or {@code on-demand}
+ * @param consolidationPolicy
+ *          {@code WhenEmptyOrUnderutilized} or {@code WhenEmpty}
+ * @param consolidateAfter
+ *          Delay before an empty or underutilized node is consolidated, e.g. {@code 1m}
+ * @param budgets
+ *          Disruption budgets, Karpenter defaults to {@code 10%} when empty
+ * @param expireAfter
+ *          Maximum node lifetime, e.g. {@code 720h} or {@code Never}
+ * @param labels
+ *          Labels applied to launched nodes
+ * @param limits
+ *          Resource ceilings for the pool, e.g. {@code cpu: 1000}
+ */
+public record NodePoolConf(
+  String name,
+  String nodeClass,
+  int weight,
+  List<String> instanceFamilies,
+  List<String> instanceCategories,
+  List<String> architectures,
+  List<String> capacityTypes,
+  String consolidationPolicy,
+  String consolidateAfter,
+  List<DisruptionBudgetConf> budgets,
+  String expireAfter,
+  Map<String, String> labels,
+  Map<String, String> limits
+) {}
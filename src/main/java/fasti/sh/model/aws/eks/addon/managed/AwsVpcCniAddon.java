@@ -0,0 +1,32 @@
+package fasti.sh.model.aws.eks.addon.managed;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * VPC CNI managed addon with typed IP address management settings, rendered into {@code configurationValues}.
+ *
+ * <p>
+ * Typed settings are merged over any raw {@code configurationValues}, so settings without a field here can still be passed as JSON.
+ */
+@Getter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AwsVpcCniAddon extends ManagedAddon {
+  /** Assign /28 prefixes instead of single IPs to ENIs, raising max pods per node on Nitro instances. */
+  private boolean prefixDelegation;
+  /** Free prefixes kept attached to each node, requires {@code prefixDelegation}. */
+  private int warmPrefixTarget;
+  /** Free IPs kept attached to each node, {@code 0} leaves it unset. */
+  private int warmIpTarget;
+  /** IPs allocated to each node at startup, {@code 0} leaves it unset. */
+  private int minimumIpTarget;
+  /** Per availability zone {@code ENIConfig}s, enabling custom networking when set. */
+  private Map<String, EniConfigConf> eniConfigs;
+  /** Allow security groups for pods through branch ENIs. */
+  private boolean securityGroupsForPods;
+}
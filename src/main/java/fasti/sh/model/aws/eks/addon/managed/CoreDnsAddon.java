@@ -0,0 +1,22 @@
+package fasti.sh.model.aws.eks.addon.managed;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * CoreDNS managed addon with typed autoscaling and cache settings, rendered into {@code configurationValues}.
+ */
+@Getter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CoreDnsAddon extends ManagedAddon {
+  /** Replica autoscaling, unset keeps the addon's fixed replica count. */
+  private CoreDnsScalingConf scaling;
+  /** Maximum TTL in seconds for cached answers, {@code 0} keeps the addon default of 30. */
+  private int cacheTtl;
+  /** Maximum TTL in seconds for cached NXDOMAIN answers, {@code 0} keeps the default of 5. Setting either TTL replaces the Corefile. */
+  private int negativeTtl;
+}
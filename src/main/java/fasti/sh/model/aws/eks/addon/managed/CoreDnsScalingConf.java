@@ -0,0 +1,24 @@
+package fasti.sh.model.aws.eks.addon.managed;
+
+/**
+ * CoreDNS replica autoscaling.
+ *
+ * @param mode
+ *          {@code proportional} for the EKS addon autoscaler, which scales with node and core count, or {@code hpa} for a CPU based
+ *          HorizontalPodAutoscaler
+ * @param minReplicas
+ *          Lower replica bound
+ * @param maxReplicas
+ *          Upper replica bound
+ * @param targetCpuUtilization
+ *          Average CPU utilization the {@code hpa} mode scales towards, defaults to {@code 70}
+ */
+public record CoreDnsScalingConf(
+  String mode,
+  int minReplicas,
+  int maxReplicas,
+  int targetCpuUtilization
+) {
+  public static final String PROPORTIONAL = "proportional";
+  public static final String HPA = "hpa";
+}
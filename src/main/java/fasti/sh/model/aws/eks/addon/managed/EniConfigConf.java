@@ -0,0 +1,16 @@
+package fasti.sh.model.aws.eks.addon.managed;
+
+import java.util.List;
+
+/**
+ * Custom networking {@code ENIConfig} for one availability zone, moving pod IPs off the node subnet.
+ *
+ * @param subnet
+ *          Subnet id pods in the zone get their addresses from
+ * @param securityGroups
+ *          Security group ids for pod ENIs, the node's primary ENI groups when empty
+ */
+public record EniConfigConf(
+  String subnet,
+  List<String> securityGroups
+) {}
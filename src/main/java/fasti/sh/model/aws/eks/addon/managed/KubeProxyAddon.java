@@ -0,0 +1,20 @@
+package fasti.sh.model.aws.eks.addon.managed;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * kube-proxy managed addon with a typed proxy mode, rendered into {@code configurationValues}.
+ */
+@Getter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+public class KubeProxyAddon extends ManagedAddon {
+  /** {@code iptables}, {@code ipvs} or {@code nftables}, unset keeps the addon default of iptables. */
+  private String mode;
+  /** IPVS scheduler such as {@code rr} or {@code lc}, only valid with {@code ipvs} mode. */
+  private String ipvsScheduler;
+}
@@ -3,12 +3,12 @@ package fasti.sh.model.aws.eks.addon.managed;
 import fasti.sh.model.aws.eks.ServiceAccountConf;
 import java.util.Map;
 import lombok.AllArgsConstructor;
-import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
 
 @Getter
-@Builder
+@SuperBuilder
 @AllArgsConstructor
 @NoArgsConstructor
 public class ManagedAddon {
@@ -2,9 +2,9 @@ package fasti.sh.model.aws.eks.addon.managed;
 
 public record ManagedAddons(
   AwsEbsCsiAddon awsEbsCsi,
-  ManagedAddon awsVpcCni,
-  ManagedAddon coreDns,
-  ManagedAddon kubeProxy,
+  AwsVpcCniAddon awsVpcCni,
+  CoreDnsAddon coreDns,
+  KubeProxyAddon kubeProxy,
   ManagedAddon containerInsights,
   ManagedAddon podIdentityAgent
 ) {}
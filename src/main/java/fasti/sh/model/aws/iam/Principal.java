@@ -2,12 +2,12 @@ package fasti.sh.model.aws.iam;
 
 import fasti.sh.model.aws.eks.PodIdentity;
 import fasti.sh.model.aws.eks.ServiceAccountConf;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awscdk.CfnJson;
 import software.amazon.awscdk.services.iam.AccountPrincipal;
 import software.amazon.awscdk.services.iam.ArnPrincipal;
 import software.amazon.awscdk.services.iam.CompositePrincipal;
@@ -17,7 +17,6 @@ import software.amazon.awscdk.services.iam.IPrincipal;
 import software.amazon.awscdk.services.iam.ServicePrincipal;
 import software.amazon.awscdk.services.iam.StarPrincipal;
 import software.amazon.awscdk.services.iam.WebIdentityPrincipal;
-import software.constructs.Construct;
 
 /**
  * Comprehensive IAM Principal configuration record that provides sophisticated AWS identity and access management with support for multiple
@@ -56,6 +55,8 @@ import software.constructs.Construct;
  * <li><b>Pod Identity</b> - Direct pod-to-IAM role association
  * <li><b>Audience Validation</b> - STS audience verification for security
  * <li><b>Namespace Isolation</b> - Kubernetes namespace-based access control
+ * <li><b>Shared Issuer Resolution</b> - Trust conditions are built once per cluster by {@code OidcTrustConstruct} instead of a CfnJson
+ * custom resource per role
  * </ul>
  *
  * <p>
@@ -90,7 +91,7 @@ import software.constructs.Construct;
  * Principal lambdaPrincipal = Principal.builder().type(PrincipalType.SERVICE).value("lambda.amazonaws.com").build();
  *
  * // EKS service account with OIDC
- * IPrincipal eksPrincipal = principal.oidcPrincipal(scope, oidcProvider, serviceAccountConfig);
+ * IPrincipal eksPrincipal = principal.oidcPrincipal(oidcProvider, Principal.oidcConditions(issuer, serviceAccountConfig.metadata()));
  *
  * // Composite principal for multiple access patterns
  * Principal composite = Principal
@@ -165,39 +166,20 @@ public record Principal(
     return compositePrincipal;
   }
 
-  public IPrincipal oidcPrincipal(Construct scope, IOpenIdConnectProvider oidc, ServiceAccountConf sa) {
-    return new WebIdentityPrincipal(oidc.getOpenIdConnectProviderArn())
-      .withConditions(
-        Map
-          .of(
-            "StringEquals",
-            CfnJson.Builder
-              .create(scope, String.format("oidc-principal-%s", sa.role().name()))
-              .value(
-                Map
-                  .of(
-                    String.format("%s:aud", oidc.getOpenIdConnectProviderIssuer()),
-                    "sts.amazonaws.com",
-                    String.format("%s:sub", oidc.getOpenIdConnectProviderIssuer()),
-                    String.format("system:serviceaccount:%s:%s", sa.metadata().getNamespace(), sa.metadata().getName())))
-              .build()));
+  /**
+   * Web identity principal for an EKS service account; {@code conditions} is the {@code StringEquals} block, either the plain map from
+   * {@link #oidcConditions(String, ObjectMeta)} or a token resolving to it at deploy time.
+   */
+  public IPrincipal oidcPrincipal(IOpenIdConnectProvider oidc, Object conditions) {
+    return new WebIdentityPrincipal(oidc.getOpenIdConnectProviderArn()).withConditions(Map.of("StringEquals", conditions));
   }
 
-  public IPrincipal oidcPrincipal(Construct scope, IOpenIdConnectProvider oidc, PodIdentity pod) {
-    return new WebIdentityPrincipal(oidc.getOpenIdConnectProviderArn())
-      .withConditions(
-        Map
-          .of(
-            "StringEquals",
-            CfnJson.Builder
-              .create(scope, String.format("oidc-principal-%s", pod.role().name()))
-              .value(
-                Map
-                  .of(
-                    String.format("%s:aud", oidc.getOpenIdConnectProviderIssuer()),
-                    "sts.amazonaws.com",
-                    String.format("%s:sub", oidc.getOpenIdConnectProviderIssuer()),
-                    String.format("system:serviceaccount:%s:%s", pod.metadata().getNamespace(), pod.metadata().getName())))
-              .build()));
+  public static Map<String, String> oidcConditions(String issuer, ObjectMeta metadata) {
+    return Map
+      .of(
+        String.format("%s:aud", issuer),
+        "sts.amazonaws.com",
+        String.format("%s:sub", issuer),
+        String.format("system:serviceaccount:%s:%s", metadata.getNamespace(), metadata.getName()));
   }
 }
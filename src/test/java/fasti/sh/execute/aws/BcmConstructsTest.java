@@ -4,6 +4,7 @@ import static fasti.sh.test.CdkTestUtil.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import fasti.sh.execute.aws.bcm.BcmDataExportNestedStack;
+import fasti.sh.execute.aws.bcm.BcmDataExportStack;
 import fasti.sh.model.aws.bcm.DataExportConf;
 import fasti.sh.model.aws.bcm.DataQuery;
 import fasti.sh.model.aws.bcm.DestinationConfigurations;
@@ -12,8 +13,11 @@ import fasti.sh.model.aws.s3.S3Bucket;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
 import software.amazon.awscdk.NestedStackProps;
 import software.amazon.awscdk.RemovalPolicy;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.assertions.Template;
 import software.amazon.awscdk.services.s3.BucketAccessControl;
 import software.amazon.awscdk.services.s3.ObjectOwnership;
 
@@ -671,4 +675,44 @@ class BcmConstructsTest {
 
     assertNotNull(construct);
   }
+
+  @Test
+  void testBcmDataExportStandaloneStackMatchesNestedStack() {
+    var ctx = createTestContext();
+    var app = (App) ctx.scope().getNode().getScope();
+
+    var s3Conf = new S3Bucket(
+      "bcm-export-standalone",
+      null,
+      BucketAccessControl.PRIVATE,
+      ObjectOwnership.BUCKET_OWNER_ENFORCED,
+      List.of(),
+      List.of(),
+      false,
+      true,
+      false,
+      RemovalPolicy.DESTROY,
+      null,
+      Map.of());
+
+    var dataExportConf = new DataExportConf(
+      "standalone-cost-export",
+      "Standalone cost and usage export",
+      new DataQuery("SELECT * FROM COST_AND_USAGE_REPORT", Map.of()),
+      new DestinationConfigurations("us-east-1", s3Conf.name(), "cost-exports/",
+        new OutputConfiguration("gzip", "parquet", "custom", "overwrite_report")),
+      "daily",
+      s3Conf,
+      Map.of());
+
+    var nested = new BcmDataExportNestedStack(ctx.scope(), ctx.common(), dataExportConf, NestedStackProps.builder().build());
+    var standalone = new BcmDataExportStack(app, ctx.common(), dataExportConf, StackProps.builder().build());
+
+    assertEquals("test-bcmdataexport", standalone.getStackName());
+    assertNotNull(standalone.storage());
+    assertNotNull(standalone.export());
+    assertEquals(
+      ((Map<?, ?>) Template.fromStack(nested).toJSON().get("Resources")).keySet(),
+      ((Map<?, ?>) Template.fromStack(standalone).toJSON().get("Resources")).keySet());
+  }
 }
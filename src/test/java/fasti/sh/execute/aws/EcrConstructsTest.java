@@ -3,10 +3,18 @@ package fasti.sh.execute.aws;
 import static fasti.sh.test.CdkTestUtil.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import fasti.sh.execute.aws.ecr.EcrRegistryConstruct;
 import fasti.sh.execute.aws.ecr.EcrRepositoryConstruct;
+import fasti.sh.execute.aws.ecr.SociIndexConstruct;
+import fasti.sh.model.aws.ecr.EcrRegistry;
 import fasti.sh.model.aws.ecr.EcrRepository;
 import fasti.sh.model.aws.ecr.Encryption;
+import fasti.sh.model.aws.ecr.PullThroughCache;
+import fasti.sh.model.aws.ecr.Replication;
+import fasti.sh.model.aws.ecr.Soci;
 import fasti.sh.model.aws.kms.Kms;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import software.amazon.awscdk.RemovalPolicy;
 import software.amazon.awscdk.services.ecr.TagMutability;
@@ -15,6 +23,7 @@ import software.amazon.awscdk.services.ecr.TagMutability;
  * Tests for ECR constructs.
  */
 class EcrConstructsTest {
+  private static final String SOCI_SHA256 = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
 
   @Test
   void testEcrRepositoryBasic() {
@@ -27,7 +36,8 @@ class EcrConstructsTest {
       false,
       TagMutability.MUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
@@ -54,7 +64,8 @@ class EcrConstructsTest {
       false, // emptyOnDelete must be false when removalPolicy is RETAIN
       TagMutability.IMMUTABLE,
       RemovalPolicy.RETAIN,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
@@ -73,7 +84,8 @@ class EcrConstructsTest {
       false,
       TagMutability.IMMUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
@@ -92,7 +104,8 @@ class EcrConstructsTest {
       true,
       TagMutability.MUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
@@ -111,7 +124,8 @@ class EcrConstructsTest {
       true, // emptyOnDelete enabled
       TagMutability.MUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
@@ -138,7 +152,8 @@ class EcrConstructsTest {
       true, // emptyOnDelete
       TagMutability.IMMUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
@@ -157,7 +172,8 @@ class EcrConstructsTest {
       false, // emptyOnDelete must be false when using RETAIN
       TagMutability.IMMUTABLE,
       RemovalPolicy.RETAIN,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
@@ -184,11 +200,182 @@ class EcrConstructsTest {
       false,
       TagMutability.IMMUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
     assertNotNull(construct);
     assertNotNull(construct.repository());
   }
+
+  @Test
+  void testEcrRepositoryWithSociIndexBuilder() {
+    var ctx = createTestContext();
+
+    var ecrConf = new EcrRepository(
+      "model-server",
+      true,
+      false,
+      TagMutability.IMMUTABLE,
+      RemovalPolicy.DESTROY,
+      new Encryption(false, null),
+      new Soci(true, null, SOCI_SHA256, 0, List.of("release-"), null));
+
+    var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
+
+    assertNotNull(construct.soci());
+
+    var template = software.amazon.awscdk.assertions.Template.fromStack((software.amazon.awscdk.Stack) ctx.scope());
+    template.resourceCountIs("AWS::CodeBuild::Project", 1);
+    template
+      .hasResourceProperties(
+        "AWS::Events::Rule",
+        software.amazon.awscdk.assertions.Match
+          .objectLike(
+            Map
+              .of(
+                "EventPattern",
+                software.amazon.awscdk.assertions.Match
+                  .objectLike(
+                    Map
+                      .of(
+                        "source",
+                        List.of("aws.ecr"),
+                        "detail",
+                        software.amazon.awscdk.assertions.Match
+                          .objectLike(Map.of("action-type", List.of("PUSH"), "image-tag", List.of(Map.of("prefix", "release-")))))))));
+
+    var project = template.findResources("AWS::CodeBuild::Project").toString();
+    assertTrue(project.contains("soci create ${PLATFORMS} --min-layer-size ${MIN_LAYER_SIZE}"));
+    assertTrue(project.contains("--all-platforms"));
+    assertTrue(project.contains("10485760"));
+    assertTrue(project.contains(SociIndexConstruct.VERSION));
+    assertTrue(project.contains(SOCI_SHA256));
+    assertTrue(project.contains("sha256sum -c -"));
+  }
+
+  @Test
+  void testSociIndexBuilderRequiresReleaseChecksum() {
+    var ctx = createTestContext();
+    var repository = software.amazon.awscdk.services.ecr.Repository.Builder.create(ctx.scope(), "indexed").build();
+
+    assertThrows(
+      java.security.InvalidParameterException.class,
+      () -> new SociIndexConstruct(ctx.scope(), ctx.common(), new Soci(true, "0.9.0", null, 0, null, null), repository));
+  }
+
+  @Test
+  void testSociIndexBuilderNarrowsAndValidatesPlatforms() {
+    var ctx = createTestContext();
+    var repository = software.amazon.awscdk.services.ecr.Repository.Builder.create(ctx.scope(), "indexed").build();
+
+    var soci = new Soci(true, null, SOCI_SHA256, 0, null, List.of("linux/amd64", "linux/arm64/v8"));
+    new SociIndexConstruct(ctx.scope(), ctx.common(), soci, repository);
+
+    var project = software.amazon.awscdk.assertions.Template
+      .fromStack((software.amazon.awscdk.Stack) ctx.scope())
+      .findResources("AWS::CodeBuild::Project")
+      .toString();
+    assertTrue(project.contains("--platform linux/amd64 --platform linux/arm64/v8"));
+
+    var invalid = createTestContext();
+    var other = software.amazon.awscdk.services.ecr.Repository.Builder.create(invalid.scope(), "indexed").build();
+    assertThrows(
+      java.security.InvalidParameterException.class,
+      () -> new SociIndexConstruct(invalid.scope(), invalid.common(), new Soci(true, null, SOCI_SHA256, 0, null, List.of("arm64")), other));
+  }
+
+  @Test
+  void testEcrRepositoryWithDisabledSociCreatesNoBuilder() {
+    var ctx = createTestContext();
+
+    var ecrConf = new EcrRepository(
+      "plain",
+      false,
+      false,
+      TagMutability.MUTABLE,
+      RemovalPolicy.DESTROY,
+      new Encryption(false, null),
+      new Soci(false, null, null, 0, null, null));
+
+    var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
+
+    assertNull(construct.soci());
+    software.amazon.awscdk.assertions.Template
+      .fromStack((software.amazon.awscdk.Stack) ctx.scope())
+      .resourceCountIs("AWS::CodeBuild::Project", 0);
+  }
+
+  @Test
+  void testEcrRegistryPullThroughCacheAndReplication() {
+    var ctx = createTestContext();
+
+    var conf = new EcrRegistry(
+      List
+        .of(
+          new PullThroughCache("quay.io", null, null),
+          new PullThroughCache(
+            "registry-1.docker.io",
+            null,
+            "arn:aws:secretsmanager:us-east-1:123456789012:secret:ecr-pullthroughcache/hub")),
+      new Replication(List.of("us-west-2", "eu-west-1"), List.of("platform/")));
+
+    var construct = new EcrRegistryConstruct(ctx.scope(), ctx.common(), conf);
+
+    assertEquals(2, construct.pullThroughCacheRules().size());
+    assertNotNull(construct.replication());
+
+    var template = software.amazon.awscdk.assertions.Template.fromStack((software.amazon.awscdk.Stack) ctx.scope());
+    template
+      .hasResourceProperties("AWS::ECR::PullThroughCacheRule", Map.of("EcrRepositoryPrefix", "quay", "UpstreamRegistryUrl", "quay.io"));
+    template
+      .hasResourceProperties(
+        "AWS::ECR::PullThroughCacheRule",
+        software.amazon.awscdk.assertions.Match
+          .objectLike(Map.of("EcrRepositoryPrefix", "docker-hub", "CredentialArn", software.amazon.awscdk.assertions.Match.anyValue())));
+    template
+      .hasResourceProperties(
+        "AWS::ECR::ReplicationConfiguration",
+        Map
+          .of(
+            "ReplicationConfiguration",
+            Map
+              .of(
+                "Rules",
+                List
+                  .of(
+                    Map
+                      .of(
+                        "Destinations",
+                        List
+                          .of(
+                            Map.of("Region", "us-west-2", "RegistryId", "123456789012"),
+                            Map.of("Region", "eu-west-1", "RegistryId", "123456789012")),
+                        "RepositoryFilters",
+                        List.of(Map.of("Filter", "platform/", "FilterType", "PREFIX_MATCH")))))));
+  }
+
+  @Test
+  void testEcrRegistryRejectsUncredentialedDockerHubAndUnknownPrefix() {
+    var ctx = createTestContext();
+
+    var hub = new EcrRegistry(List.of(new PullThroughCache("registry-1.docker.io", null, null)), null);
+    var unknown = new EcrRegistry(List.of(new PullThroughCache("registry.example.com", null, null)), null);
+
+    assertThrows(java.security.InvalidParameterException.class, () -> new EcrRegistryConstruct(ctx.scope(), ctx.common(), hub));
+    assertThrows(
+      java.security.InvalidParameterException.class,
+      () -> new EcrRegistryConstruct(createTestContext().scope(), ctx.common(), unknown));
+  }
+
+  @Test
+  void testEcrRegistryRejectsPrefixTheImageRewriteDoesNotUse() {
+    var ctx = createTestContext();
+    ctx.scope().getNode().setContext(fasti.sh.execute.serialization.Template.CACHE, Map.of("quay.io", "quay-mirror"));
+
+    var quay = new EcrRegistry(List.of(new PullThroughCache("quay.io", null, null)), null);
+
+    assertThrows(java.security.InvalidParameterException.class, () -> new EcrRegistryConstruct(ctx.scope(), ctx.common(), quay));
+  }
 }
@@ -5,34 +5,54 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import fasti.sh.execute.aws.eks.*;
 import fasti.sh.execute.aws.vpc.VpcConstruct;
+import fasti.sh.execute.serialization.Mapper;
 import fasti.sh.model.aws.eks.*;
+import fasti.sh.model.aws.eks.addon.AddonsConf;
+import fasti.sh.model.aws.eks.addon.core.HeadroomAddon;
+import fasti.sh.model.aws.eks.addon.core.KedaAddon;
+import fasti.sh.model.aws.eks.addon.managed.AwsVpcCniAddon;
+import fasti.sh.model.aws.eks.addon.managed.CoreDnsAddon;
+import fasti.sh.model.aws.eks.addon.managed.CoreDnsScalingConf;
+import fasti.sh.model.aws.eks.addon.managed.EniConfigConf;
+import fasti.sh.model.aws.eks.addon.managed.KubeProxyAddon;
+import fasti.sh.model.aws.eks.addon.managed.ManagedAddon;
 import fasti.sh.model.aws.iam.IamRole;
 import fasti.sh.model.aws.iam.Principal;
 import fasti.sh.model.aws.iam.PrincipalType;
 import fasti.sh.model.aws.vpc.NetworkConf;
 import fasti.sh.model.aws.vpc.Subnet;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
+import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
 import software.amazon.awscdk.services.ec2.DefaultInstanceTenancy;
+import software.amazon.awscdk.services.ec2.InstanceClass;
+import software.amazon.awscdk.services.ec2.InstanceSize;
 import software.amazon.awscdk.services.ec2.SubnetType;
 import software.amazon.awscdk.services.eks.Cluster;
+import software.amazon.awscdk.services.eks.KubectlProvider;
+import software.amazon.awscdk.services.eks.KubernetesManifest;
 import software.amazon.awscdk.services.eks.KubernetesVersion;
+import software.amazon.awscdk.services.eks.NodegroupAmiType;
+import software.amazon.awscdk.services.lambda.LayerVersion;
 
 /**
  * Tests for EKS constructs.
  */
 class EksConstructsTest {
 
-  private Cluster createTestCluster(fasti.sh.test.CdkTestUtil.TestContext ctx, VpcConstruct vpcConstruct) {
+  private Cluster createTestCluster(TestContext ctx, VpcConstruct vpcConstruct) {
     return Cluster.Builder
       .create(ctx.scope(), "test-cluster")
       .clusterName("test-eks-cluster")
       .version(KubernetesVersion.V1_28)
       .vpc(vpcConstruct.vpc())
       .kubectlLayer(
-        software.amazon.awscdk.services.lambda.LayerVersion
+        LayerVersion
           .fromLayerVersionArn(
             ctx.scope(),
             "kubectl-layer",
@@ -40,7 +60,7 @@ class EksConstructsTest {
       .build();
   }
 
-  private VpcConstruct createTestVpc(fasti.sh.test.CdkTestUtil.TestContext ctx) {
+  private VpcConstruct createTestVpc(TestContext ctx) {
     var publicSubnet = new Subnet("public", SubnetType.PUBLIC, 24, false, true, Map.of());
     var privateSubnet = new Subnet("private", SubnetType.PRIVATE_WITH_EGRESS, 24, false, false, Map.of());
 
@@ -61,6 +81,27 @@ class EksConstructsTest {
     return new VpcConstruct(ctx.scope(), ctx.common(), networkConf);
   }
 
+  private static KubernetesConf kubernetesConf(String addons) {
+    return new KubernetesConf(
+      "test-cluster",
+      "1.28",
+      "public_and_private",
+      false,
+      null,
+      "default",
+      List.of("api", "audit"),
+      List.of("Public", "Private"),
+      null,
+      addons,
+      null,
+      null,
+      null,
+      null,
+      Map.of(),
+      Map.of(),
+      Map.of());
+  }
+
   @Test
   void testNamespaceConstructBasic() {
     var ctx = createTestContext();
@@ -963,7 +1004,7 @@ class EksConstructsTest {
   void testObservabilityConstructEmpty() {
     var ctx = createTestContext();
 
-    var construct = new fasti.sh.execute.aws.eks.ObservabilityConstruct(
+    var construct = new ObservabilityConstruct(
       ctx.scope(),
       ctx.common(),
       "eks/observability/empty.json");
@@ -979,7 +1020,7 @@ class EksConstructsTest {
   void testObservabilityConstructComplete() {
     var ctx = createTestContext();
 
-    var construct = new fasti.sh.execute.aws.eks.ObservabilityConstruct(
+    var construct = new ObservabilityConstruct(
       ctx.scope(),
       ctx.common(),
       "eks/observability/complete.json");
@@ -997,24 +1038,9 @@ class EksConstructsTest {
     var vpcConstruct = createTestVpc(ctx);
     var cluster = createTestCluster(ctx, vpcConstruct);
 
-    var kubernetesConf = new fasti.sh.model.aws.eks.KubernetesConf(
-      "test-cluster",
-      "1.28",
-      "public_and_private",
-      false,
-      null,
-      "default",
-      List.of("api", "audit"),
-      List.of("Public", "Private"),
-      null,
-      "eks/addons/minimal.json",
-      null,
-      null,
-      Map.of(),
-      Map.of(),
-      Map.of());
+    var kubernetesConf = kubernetesConf("eks/addons/minimal.json");
 
-    var construct = new fasti.sh.execute.aws.eks.ManagedAddonsConstruct(
+    var construct = new ManagedAddonsConstruct(
       ctx.scope(),
       ctx.common(),
       kubernetesConf,
@@ -1029,6 +1055,146 @@ class EksConstructsTest {
     assertNotNull(construct.containerInsightsConstruct());
   }
 
+  @Test
+  void testManagedAddonValuesRenderVpcCniSettingsOverRawValues() throws Exception {
+    var ctx = createTestContext();
+    var vpcCni = AwsVpcCniAddon
+      .builder()
+      .name("vpc-cni")
+      .configurationValues("{\"env\":{\"AWS_VPC_K8S_CNI_LOGLEVEL\":\"DEBUG\"}}")
+      .prefixDelegation(true)
+      .warmPrefixTarget(1)
+      .minimumIpTarget(30)
+      .eniConfigs(Map.of("us-east-1a", new EniConfigConf("subnet-pods-a", List.of("sg-pods"))))
+      .securityGroupsForPods(true)
+      .build();
+
+    var values = Mapper
+      .get()
+      .readValue(ManagedAddonValues.of(ctx.scope(), vpcCni), new com.fasterxml.jackson.core.type.TypeReference<Map<String, Object>>() {});
+
+    @SuppressWarnings("unchecked")
+    var env = (Map<String, Object>) values.get("env");
+    assertEquals("DEBUG", env.get("AWS_VPC_K8S_CNI_LOGLEVEL"));
+    assertEquals("true", env.get("ENABLE_PREFIX_DELEGATION"));
+    assertEquals("1", env.get("WARM_PREFIX_TARGET"));
+    assertEquals("30", env.get("MINIMUM_IP_TARGET"));
+    assertEquals("true", env.get("AWS_VPC_K8S_CNI_CUSTOM_NETWORK_CFG"));
+    assertEquals("true", env.get("ENABLE_POD_ENI"));
+    assertEquals(Map.of("env", Map.of("DISABLE_TCP_EARLY_DEMUX", "true")), values.get("init"));
+    assertEquals(
+      Map.of("us-east-1a", Map.of("id", "subnet-pods-a", "securityGroups", List.of("sg-pods"))),
+      ((Map<?, ?>) values.get("eniConfig")).get("subnets"));
+  }
+
+  @Test
+  void testManagedAddonValuesRenderKubeProxyModeAndPassThroughUntypedAddons() {
+    var ctx = createTestContext();
+    var kubeProxy = KubeProxyAddon
+      .builder()
+      .name("kube-proxy")
+      .mode("IPVS")
+      .ipvsScheduler("lc")
+      .build();
+    var coreDns = ManagedAddon
+      .builder()
+      .name("coredns")
+      .configurationValues("{\"replicaCount\":3}")
+      .build();
+    var untouched = AwsVpcCniAddon.builder().name("vpc-cni").build();
+
+    assertEquals("{\"mode\":\"ipvs\",\"ipvs\":{\"scheduler\":\"lc\"}}", ManagedAddonValues.of(ctx.scope(), kubeProxy));
+    assertEquals("{\"replicaCount\":3}", ManagedAddonValues.of(ctx.scope(), coreDns));
+    assertNull(ManagedAddonValues.of(ctx.scope(), untouched));
+  }
+
+  @Test
+  void testManagedAddonValuesRejectInvalidSettings() {
+    var ctx = createTestContext();
+    var warmPrefixOnly = AwsVpcCniAddon.builder().name("vpc-cni").warmPrefixTarget(1).build();
+    var unknownMode = KubeProxyAddon.builder().name("kube-proxy").mode("userspace").build();
+    var schedulerWithoutIpvs = KubeProxyAddon.builder().name("kube-proxy").ipvsScheduler("rr").build();
+
+    assertThrows(InvalidParameterException.class, () -> ManagedAddonValues.of(ctx.scope(), warmPrefixOnly));
+    assertThrows(InvalidParameterException.class, () -> ManagedAddonValues.of(ctx.scope(), unknownMode));
+    assertThrows(InvalidParameterException.class, () -> ManagedAddonValues.of(ctx.scope(), schedulerWithoutIpvs));
+  }
+
+  @Test
+  void testManagedAddonValuesRenderCoreDnsScalingAndCache() throws Exception {
+    var ctx = createTestContext();
+    var proportional = CoreDnsAddon
+      .builder()
+      .name("coredns")
+      .scaling(new CoreDnsScalingConf("proportional", 2, 20, 0))
+      .negativeTtl(10)
+      .build();
+    var unknownMode = CoreDnsAddon
+      .builder()
+      .name("coredns")
+      .scaling(new CoreDnsScalingConf("vertical", 2, 20, 0))
+      .build();
+
+    var rendered = ManagedAddonValues.of(ctx.scope(), proportional);
+    var values = Mapper
+      .get()
+      .readValue(rendered, new com.fasterxml.jackson.core.type.TypeReference<Map<String, Object>>() {});
+
+    assertEquals(Map.of("enabled", true, "minReplicas", 2, "maxReplicas", 20), values.get("autoScaling"));
+    assertTrue(values.get("corefile").toString().contains("success 9984 30"));
+    assertTrue(values.get("corefile").toString().contains("denial 9984 10"));
+    assertThrows(InvalidParameterException.class, () -> ManagedAddonValues.of(ctx.scope(), unknownMode));
+  }
+
+  @Test
+  void testManagedAddonsConstructCreatesCoreDnsAutoscaler() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var kubernetesConf = kubernetesConf("eks/addons/coredns-hpa.json");
+
+    var construct = new ManagedAddonsConstruct(ctx.scope(), ctx.common(), kubernetesConf, cluster);
+
+    assertNotNull(construct.coreDnsAutoscaler());
+    var template = Template.fromStack((Stack) ctx.scope());
+    template
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Manifest",
+                Match
+                  .stringLikeRegexp(".*HorizontalPodAutoscaler.*minReplicas.:2,.maxReplicas.:10.*averageUtilization.:60.*"))));
+    template
+      .hasResourceProperties(
+        "AWS::EKS::Addon",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "AddonName",
+                "coredns",
+                "ConfigurationValues",
+                Match.stringLikeRegexp(".*replicaCount.:2.*cache 60.*"))));
+  }
+
+  @Test
+  void testManagedAddonsConstructRejectsCoreDnsAutoscalerWithoutMetricsServer() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var kubernetesConf = kubernetesConf("eks/addons/coredns-hpa.json");
+    var hpa = AddonsContext.of(ctx.scope(), kubernetesConf).conf();
+    var context = new AddonsContext(
+      new AddonsConf(hpa.managed(), null, null, null, null, null, null, null, null, null, null, null));
+
+    assertThrows(
+      InvalidParameterException.class,
+      () -> new ManagedAddonsConstruct(ctx.scope(), ctx.common(), kubernetesConf, context, cluster));
+  }
+
   @Test
   void testNodeGroupsConstruct() {
     var ctx = createTestContext();
@@ -1037,22 +1203,24 @@ class EksConstructsTest {
 
     var nodeGroupConfs = List
       .of(
-        new fasti.sh.model.aws.eks.NodeGroup(
-          software.amazon.awscdk.services.eks.NodegroupAmiType.AL2_X86_64,
+        new NodeGroup(
+          NodegroupAmiType.AL2_X86_64,
           false,
           "on_demand",
           2,
-          software.amazon.awscdk.services.ec2.InstanceClass.T3,
-          software.amazon.awscdk.services.ec2.InstanceSize.MEDIUM,
+          InstanceClass.T3,
+          InstanceSize.MEDIUM,
+          null,
+          null,
           3,
           1,
           "test-nodegroup",
-          new fasti.sh.model.aws.iam.IamRole(
+          new IamRole(
             "test-ng-role",
             "Node group role",
-            fasti.sh.model.aws.iam.Principal
+            Principal
               .builder()
-              .type(fasti.sh.model.aws.iam.PrincipalType.SERVICE)
+              .type(PrincipalType.SERVICE)
               .value("ec2.amazonaws.com")
               .conditions(Map.of())
               .build(),
@@ -1062,7 +1230,7 @@ class EksConstructsTest {
           Map.of("role", "worker"),
           Map.of()));
 
-    var construct = new fasti.sh.execute.aws.eks.NodeGroupsConstruct(
+    var construct = new NodeGroupsConstruct(
       ctx.scope(),
       "test",
       ctx.common(),
@@ -1080,24 +1248,9 @@ class EksConstructsTest {
     var vpcConstruct = createTestVpc(ctx);
     var cluster = createTestCluster(ctx, vpcConstruct);
 
-    var kubernetesConf = new fasti.sh.model.aws.eks.KubernetesConf(
-      "test-cluster",
-      "1.28",
-      "public_and_private",
-      false,
-      null,
-      "default",
-      List.of("api", "audit"),
-      List.of("Public", "Private"),
-      null,
-      "eks/addons/with-service-accounts.json",
-      null,
-      null,
-      Map.of(),
-      Map.of(),
-      Map.of());
+    var kubernetesConf = kubernetesConf("eks/addons/with-service-accounts.json");
 
-    var construct = new fasti.sh.execute.aws.eks.ManagedAddonsConstruct(
+    var construct = new ManagedAddonsConstruct(
       ctx.scope(),
       ctx.common(),
       kubernetesConf,
@@ -1111,4 +1264,523 @@ class EksConstructsTest {
     assertNotNull(construct.podIdentityAgentConstruct());
     assertNotNull(construct.containerInsightsConstruct());
   }
+
+  @Test
+  void testManagedAddonsConstructWithSharedAddonsContext() {
+    var ctx = createTestContext();
+    var vpcConstruct = createTestVpc(ctx);
+    var cluster = createTestCluster(ctx, vpcConstruct);
+
+    var kubernetesConf = kubernetesConf("eks/addons/minimal.json");
+
+    var context = AddonsContext.of(ctx.scope(), kubernetesConf);
+    var construct = new ManagedAddonsConstruct(
+      ctx.scope(),
+      ctx.common(),
+      kubernetesConf,
+      context,
+      cluster);
+
+    assertNotNull(context.conf().managed());
+    assertNull(context.conf().grafana());
+    assertNotNull(construct.coreDnsConstruct());
+  }
+
+  @Test
+  void testAddonDependenciesDefaultToSerialChain() {
+    var addons = new AddonsConf(null, null, null, null, null, null, null, null, null, null, null, null);
+
+    var dependencies = AddonsConstruct.dependencies(addons);
+
+    assertEquals(List.of(), dependencies.get("alloyOperator"));
+    assertEquals(List.of("alloyOperator"), dependencies.get("grafana"));
+    assertEquals(List.of("karpenter"), dependencies.get("awsLoadBalancer"));
+  }
+
+  @Test
+  void testAddonDependenciesDefaultToSerialChainWhenParsedEmpty() throws Exception {
+    var missing = Mapper.get().readValue("managed: null\n", AddonsConf.class);
+    var blank = Mapper.get().readValue("dependencies: null\n", AddonsConf.class);
+
+    assertEquals(Map.of(), missing.dependencies());
+    assertEquals(Map.of(), blank.dependencies());
+    assertEquals(List.of("alloyOperator"), AddonsConstruct.dependencies(missing).get("grafana"));
+    assertEquals(List.of("karpenter"), AddonsConstruct.dependencies(blank).get("awsLoadBalancer"));
+  }
+
+  @Test
+  void testAddonDependenciesFromConfiguration() {
+    var addons = new AddonsConf(null, null, null, null, null, null, null, null, null, null, null,
+      Map.of("grafana", List.of("alloyOperator"), "awsLoadBalancer", List.of("certManager")));
+
+    var dependencies = AddonsConstruct.dependencies(addons);
+
+    assertEquals(6, dependencies.size());
+    assertEquals(List.of(), dependencies.get("karpenter"));
+    assertEquals(List.of(), dependencies.get("certManager"));
+    assertEquals(List.of("certManager"), dependencies.get("awsLoadBalancer"));
+  }
+
+  @Test
+  void testAddonDependenciesSkipAbsentOptionalAddons() {
+    var keda = new KedaAddon(null, null, List.of());
+    var headroom = new HeadroomAddon("headroom", -10, "pause", List.of());
+    var addons = new AddonsConf(null, null, null, null, null, null, null, null, null, keda, headroom, null);
+
+    var dependencies = AddonsConstruct.dependencies(addons);
+
+    assertEquals(8, dependencies.size());
+    assertFalse(dependencies.containsKey("metricsServer"));
+    assertFalse(dependencies.containsKey("nodeLocalDns"));
+    assertEquals(List.of("awsLoadBalancer"), dependencies.get("keda"));
+    assertEquals(List.of("keda"), dependencies.get("headroom"));
+  }
+
+  @Test
+  void testAddonDependenciesAcceptOptionalAddons() {
+    var keda = new KedaAddon(null, null, List.of());
+    var addons = new AddonsConf(null, null, null, null, null, null, null, null, null, keda, null,
+      Map.of("keda", List.of("metricsServer", "karpenter"), "metricsServer", List.of("certManager")));
+
+    var dependencies = AddonsConstruct.dependencies(addons);
+
+    assertEquals(List.of("certManager", "karpenter"), dependencies.get("keda"));
+  }
+
+  @Test
+  void testAddonDependenciesRejectUnknownAddonsAndCycles() {
+    var unknown = new AddonsConf(null, null, null, null, null, null, null, null, null, null, null,
+      Map.of("grafana", List.of("prometheus")));
+    var cycle = new AddonsConf(null, null, null, null, null, null, null, null, null, null, null,
+      Map.of("grafana", List.of("certManager"), "certManager", List.of("karpenter"), "karpenter", List.of("grafana")));
+
+    assertThrows(InvalidParameterException.class, () -> AddonsConstruct.dependencies(unknown));
+    assertThrows(InvalidParameterException.class, () -> AddonsConstruct.dependencies(cycle));
+  }
+
+  @Test
+  void testManifestsAreCreatedInPlaceWithoutBatching() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var metadata = new ObjectMeta();
+    metadata.setName("unbatched");
+    metadata.setNamespace("unbatched");
+
+    var construct = new NamespaceConstruct(ctx.scope(), ctx.common(), metadata, cluster);
+
+    assertInstanceOf(KubernetesManifest.class, construct.manifest());
+    assertNull(cluster.getNode().tryFindChild("manifest-batch"));
+  }
+
+  @Test
+  void testManifestBatchEmitsOneResourcePerWave() {
+    var ctx = createTestContext();
+    ctx.scope().getNode().setContext(ManifestBatchConstruct.BATCH, true);
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var metadata = new ObjectMeta();
+    metadata.setName("batched");
+    metadata.setNamespace("batched");
+
+    var role = Map.<String, Object>of("apiVersion", "rbac.authorization.k8s.io/v1", "kind", "ClusterRole", "metadata",
+      Map.of("name", "reader"));
+    var binding = ManifestBatchConstruct.manifest(ctx.scope(), "binding", cluster, ManifestBatchConstruct.CLUSTER_WAVE, role);
+    var namespace = new NamespaceConstruct(ctx.scope(), ctx.common(), metadata, cluster);
+    var late = ManifestBatchConstruct.manifest(ctx.scope(), "late", cluster, "addons", role);
+
+    var batch = ManifestBatchConstruct.of(cluster);
+    var manifests = batch.flush();
+
+    assertSame(binding, namespace.manifest());
+    assertNotSame(binding, late);
+    assertEquals(List.of("cluster", "addons"), List.copyOf(manifests.keySet()));
+    assertSame(manifests, batch.flush());
+    assertThrows(IllegalStateException.class, () -> batch.add("cluster", role));
+
+    var template = Template.fromStack((Stack) ctx.scope());
+    // one per wave plus the aws-auth config map the cluster manages itself
+    template.resourceCountIs("Custom::AWSCDK-EKS-KubernetesResource", 3);
+    template
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match.objectLike(Map.of("Manifest", Match.stringLikeRegexp(
+          "^\\[\\{\"apiVersion\":\"v1\",\"kind\":\"Namespace\".*ClusterRole.*"))));
+  }
+
+  @Test
+  void testManifestBatchFailsSynthesisWhenNeverFlushed() {
+    var ctx = createTestContext();
+    ctx.scope().getNode().setContext(ManifestBatchConstruct.BATCH, true);
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    ManifestBatchConstruct.manifest(ctx.scope(), "orphan", cluster, ManifestBatchConstruct.CLUSTER_WAVE, Map.of("kind", "Namespace"));
+
+    assertFalse(ManifestBatchConstruct.of(cluster).getNode().validate().isEmpty());
+  }
+
+  @Test
+  void testKubectlConfigureSizesTheHandler() {
+    var ctx = createTestContext();
+    var vpc = createTestVpc(ctx).vpc();
+    var kubectl = new KubectlConf(4096, Map.of("HTTPS_PROXY", "http://proxy:3128"));
+
+    var cluster = Kubectl
+      .configure(
+        Cluster.Builder
+          .create(ctx.scope(), "tuned-cluster")
+          .version(KubernetesVersion.V1_28)
+          .vpc(vpc)
+          .kubectlLayer(
+            LayerVersion
+              .fromLayerVersionArn(ctx.scope(), "tuned-layer", "arn:aws:lambda:us-east-1:123456789012:layer:kubectl:1")),
+        kubectl)
+      .build();
+    var provider = (Stack) KubectlProvider.getOrCreate(ctx.scope(), cluster);
+
+    Template
+      .fromStack(provider)
+      .hasResourceProperties(
+        "AWS::Lambda::Function",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "MemorySize",
+                4096,
+                "Environment",
+                Map.of("Variables", Match.objectLike(Map.of("HTTPS_PROXY", "http://proxy:3128"))))));
+  }
+
+  @Test
+  void testServiceAccountTrustUsesStaticIssuerWithoutCfnJson() {
+    var ctx = createTestContext();
+    ctx.scope().getNode()
+      .setContext(String.format(OidcTrustConstruct.ISSUER, "test-eks-cluster"), "https://oidc.eks.us-east-1.amazonaws.com/id/ABC123");
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    OidcTrustConstruct.of(cluster, "test-eks-cluster");
+
+    var metadata = new ObjectMeta();
+    metadata.setName("static-sa");
+    metadata.setNamespace("apps");
+    var role = new IamRole("static-sa-role", "Static issuer role", null, List.of(), List.of(), Map.of());
+
+    var construct = new ServiceAccountConstruct(ctx.scope(), ctx.common(), new ServiceAccountConf(metadata, role), cluster);
+
+    var template = Template.fromStack((Stack) ctx.scope());
+    template.resourceCountIs("Custom::AWSCDKCfnJson", 0);
+    template.resourceCountIs("Custom::OidcTrustConditions", 0);
+    assertTrue(construct.serviceAccount().getNode().getPath().endsWith("/static-sa/manifest-static-saServiceAccountResource"));
+    var issuer = "oidc.eks.us-east-1.amazonaws.com/id/ABC123";
+    var conditions = Map.of(issuer + ":aud", "sts.amazonaws.com", issuer + ":sub", "system:serviceaccount:apps:static-sa");
+    template
+      .hasResourceProperties(
+        "AWS::IAM::Role",
+        Map
+          .of(
+            "AssumeRolePolicyDocument",
+            Match
+              .objectLike(
+                Map
+                  .of(
+                    "Statement",
+                    List
+                      .of(
+                        Match
+                          .objectLike(Map.of("Condition", Map.of("StringEquals", conditions))))))));
+  }
+
+  @Test
+  void testServiceAccountTrustSharesOneResolverWithoutIssuer() {
+    var ctx = createTestContext();
+    ctx.scope().getNode()
+      .setContext(String.format(OidcTrustConstruct.ISSUER, "other-cluster"), "oidc.eks.us-east-1.amazonaws.com/id/ABC123");
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    OidcTrustConstruct.of(cluster, "test-eks-cluster");
+
+    for (var name : List.of("first-sa", "second-sa", "third-sa")) {
+      var metadata = new ObjectMeta();
+      metadata.setName(name);
+      metadata.setNamespace("apps");
+      var role = new IamRole(name + "-role", "Deploy-time issuer role", null, List.of(), List.of(), Map.of());
+      new ServiceAccountConstruct(ctx.scope(), ctx.common(), new ServiceAccountConf(metadata, role), cluster);
+    }
+
+    var template = Template.fromStack((Stack) ctx.scope());
+    template.resourceCountIs("Custom::AWSCDKCfnJson", 0);
+    template.resourceCountIs("Custom::OidcTrustConditions", 1);
+    template
+      .hasResourceProperties(
+        "Custom::OidcTrustConditions",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Subjects",
+                Map.of("Subject0", "apps:first-sa", "Subject1", "apps:second-sa", "Subject2", "apps:third-sa"))));
+  }
+
+  @Test
+  void testServiceAccountTrustOpensAnotherResolverPastTheResponseLimit() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var trust = OidcTrustConstruct.of(cluster);
+
+    for (int i = 0; i <= OidcTrustConstruct.SUBJECTS; i++) {
+      var metadata = new ObjectMeta();
+      metadata.setName("sa-" + i);
+      metadata.setNamespace("apps");
+      trust.conditions(metadata);
+    }
+
+    assertEquals(2, trust.resolvers().size());
+    Template
+      .fromStack((Stack) ctx.scope())
+      .resourcePropertiesCountIs("AWS::Lambda::Function", Map.of("Runtime", "python3.12"), 1);
+  }
+
+  @Test
+  void testOidcIssuerOverrideIsValidated() {
+    for (var issuer : List.of("https://example.com/id/ABC123", "oidc.eks.eu-west-1.amazonaws.com/id/ABC123")) {
+      var ctx = createTestContext();
+      ctx.scope().getNode().setContext(String.format(OidcTrustConstruct.ISSUER, "test-eks-cluster"), issuer);
+      var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+      assertThrows(InvalidParameterException.class, () -> OidcTrustConstruct.of(cluster, "test-eks-cluster"));
+    }
+  }
+
+  @Test
+  void testAccessEntriesGrantTenantsWithoutAwsAuth() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var tenancy = new TenancyConf(
+      List.of(new Tenant("admin@example.com", "arn:aws:iam::123456789012:role/admin", null)),
+      List.of(new Tenant("user@example.com", "arn:aws:iam::123456789012:role/user", "reader")),
+      TenancyConf.ACCESS_ENTRIES);
+
+    var construct = new AccessEntriesConstruct(ctx.scope(), ctx.common(), tenancy, cluster);
+
+    assertEquals(1, construct.administrators().size());
+    assertEquals(1, construct.users().size());
+
+    var template = Template.fromStack((Stack) ctx.scope());
+    template.resourceCountIs("AWS::EKS::AccessEntry", 2);
+    template
+      .hasResourceProperties(
+        "AWS::EKS::AccessEntry",
+        Map
+          .of(
+            "PrincipalArn",
+            "arn:aws:iam::123456789012:role/user",
+            "Username",
+            "reader",
+            "KubernetesGroups",
+            List.of(AccessEntriesConstruct.READ_ONLY_GROUP)));
+    template
+      .hasResourceProperties(
+        "AWS::EKS::AccessEntry",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "PrincipalArn",
+                "arn:aws:iam::123456789012:role/admin",
+                "AccessPolicies",
+                List.of(Match.objectLike(Map.of("AccessScope", Map.of("Type", "cluster")))))));
+  }
+
+  private static NodeGroup nodeGroup(String name, NodegroupAmiType amiType, List<String> types,
+    NodeLaunchTemplateConf launchTemplate) {
+    var principal = Principal.builder().type(PrincipalType.SERVICE).value("ec2.amazonaws.com").conditions(Map.of()).build();
+    var role = new IamRole(name + "-role", "Node group role", principal, List.of(), List.of(), Map.of());
+
+    return new NodeGroup(amiType, false, "spot", 2, null, null, types, launchTemplate, 4, 1, name, role, Map.of(), Map.of());
+  }
+
+  @Test
+  void testNodeGroupsDiversifySpotWithLaunchTemplate() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var launchTemplate = new NodeLaunchTemplateConf(
+      new NodeVolumeConf(null, 200, 8000, 600, true, null), true, new KubeletConf(110, 85, 70));
+    var types = List.of("m6i.large", "m6a.large", "m5.large");
+
+    var io = nodeGroup("io", NodegroupAmiType.AL2023_X86_64_STANDARD, types, launchTemplate);
+
+    new NodeGroupsConstruct(ctx.scope(), "io", ctx.common(), List.of(io), cluster);
+
+    var template = Template.fromStack((Stack) ctx.scope());
+    template
+      .hasResourceProperties(
+        "AWS::EKS::Nodegroup",
+        Map
+          .of(
+            "InstanceTypes",
+            types,
+            "CapacityType",
+            "SPOT",
+            "LaunchTemplate",
+            Match.objectLike(Map.of("Id", Match.anyValue()))));
+    template
+      .hasResourceProperties(
+        "AWS::EC2::LaunchTemplate",
+        Map
+          .of(
+            "LaunchTemplateData",
+            Match
+              .objectLike(
+                Map
+                  .of(
+                    "BlockDeviceMappings",
+                    List
+                      .of(
+                        Map
+                          .of(
+                            "DeviceName",
+                            "/dev/xvda",
+                            "Ebs",
+                            Map
+                              .of(
+                                "VolumeSize",
+                                200,
+                                "VolumeType",
+                                "gp3",
+                                "Iops",
+                                8000,
+                                "Throughput",
+                                600,
+                                "Encrypted",
+                                true,
+                                "DeleteOnTermination",
+                                true)))))));
+
+    var userData = template.findResources("AWS::EC2::LaunchTemplate").toString();
+    assertTrue(userData.contains("application/node.eks.aws"));
+    assertTrue(userData.contains("strategy: RAID0"));
+    assertTrue(userData.contains("maxPods: 110"));
+    assertTrue(userData.contains("imageGCLowThresholdPercent: 70"));
+  }
+
+  @Test
+  void testNodeGroupsBottlerocketSettings() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var launchTemplate = new NodeLaunchTemplateConf(new NodeVolumeConf(null, 100, 0, 0, false, null), true, new KubeletConf(58, 0, 0));
+
+    new NodeGroupsConstruct(ctx.scope(), "br", ctx.common(),
+      List.of(nodeGroup("br", NodegroupAmiType.BOTTLEROCKET_X86_64, List.of("c6id.xlarge"),
+        launchTemplate)), cluster);
+
+    var launchTemplates = Template
+      .fromStack((Stack) ctx.scope())
+      .findResources("AWS::EC2::LaunchTemplate")
+      .toString();
+    assertTrue(launchTemplates.contains("/dev/xvdb"));
+    assertTrue(launchTemplates.contains("max-pods = 58"));
+    assertTrue(launchTemplates.contains("ephemeral-storage"));
+    assertFalse(launchTemplates.contains("image-gc"));
+  }
+
+  @Test
+  void testNodeGroupsRejectKubeletSettingsOnAl2AndMissingTypes() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var al2 = nodeGroup("al2", NodegroupAmiType.AL2_X86_64, List.of("m5.large"),
+      new NodeLaunchTemplateConf(null, false, new KubeletConf(110, 0, 0)));
+    var untyped = nodeGroup("untyped", NodegroupAmiType.AL2_X86_64, null, null);
+
+    assertThrows(InvalidParameterException.class,
+      () -> new NodeGroupsConstruct(ctx.scope(), "al2", ctx.common(), List.of(al2), cluster));
+    assertThrows(InvalidParameterException.class,
+      () -> new NodeGroupsConstruct(ctx.scope(), "untyped", ctx.common(), List.of(untyped), cluster));
+  }
+
+  @Test
+  void testNodeGroupsRestoreImageCacheSnapshotOnBottlerocketOnly() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var cached = new NodeLaunchTemplateConf(new NodeVolumeConf(null, 80, 0, 250, false, "snap-0123456789abcdef0"), false, null);
+
+    new NodeGroupsConstruct(ctx.scope(), "cached", ctx.common(),
+      List.of(nodeGroup("cached", NodegroupAmiType.BOTTLEROCKET_X86_64, List.of("m6i.large"),
+        cached)), cluster);
+
+    Template
+      .fromStack((Stack) ctx.scope())
+      .hasResourceProperties(
+        "AWS::EC2::LaunchTemplate",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "LaunchTemplateData",
+                Match
+                  .objectLike(
+                    Map
+                      .of(
+                        "BlockDeviceMappings",
+                        List
+                          .of(
+                            Map
+                              .of(
+                                "DeviceName",
+                                "/dev/xvdb",
+                                "Ebs",
+                                Match
+                                  .objectLike(
+                                    Map.of("SnapshotId", "snap-0123456789abcdef0", "VolumeSize", 80, "Throughput", 250)))))))));
+
+    var al2023 = nodeGroup("al2023", NodegroupAmiType.AL2023_X86_64_STANDARD, List.of("m6i.large"),
+      cached);
+    assertThrows(InvalidParameterException.class,
+      () -> new NodeGroupsConstruct(ctx.scope(), "al2023", ctx.common(), List.of(al2023), cluster));
+  }
+
+  @Test
+  void testImageCacheConstructBuildsSnapshotAutomation() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var conf = new ImageCacheConf(
+      List.of("123456789012.dkr.ecr.us-west-2.amazonaws.com/model-server:1.4", "public.ecr.aws/docker/library/redis:7"),
+      null,
+      "arm64",
+      120,
+      "/test/images");
+
+    var construct = new ImageCacheConstruct(ctx.scope(), ctx.common(), conf, "1.33", cluster);
+
+    assertEquals("/test/images", construct.parameter());
+
+    var template = Template.fromStack((Stack) ctx.scope());
+    template
+      .hasResourceProperties(
+        "AWS::SSM::Document",
+        Match.objectLike(Map.of("DocumentType", "Automation", "UpdateMethod", "NewVersion")));
+
+    var document = template.findResources("AWS::SSM::Document").toString();
+    assertTrue(document.contains("aws-k8s-1.33/arm64/latest/image_id"));
+    assertTrue(document.contains("timeout 600 bash -c 'until apiclient exec admin true"));
+    assertTrue(document.contains("--user \"AWS:$(apiclient exec admin aws ecr get-login-password --region us-west-2)\" 123456789012"));
+    assertFalse(document.contains("GetAuthorizationToken"));
+    assertTrue(document.contains("--platform linux/arm64 public.ecr.aws/docker/library/redis:7"));
+    assertTrue(document.contains("VolumeSize=120"));
+    assertTrue(document.contains("Name=/test/images"));
+    template.resourceCountIs("AWS::IAM::InstanceProfile", 1);
+    assertFalse(template.findResources("AWS::IAM::Policy").toString().contains("ecr:"));
+    assertTrue(template.findResources("AWS::IAM::Role").toString().contains("AmazonEC2ContainerRegistryReadOnly"));
+  }
+
+  @Test
+  void testImageCacheConstructRejectsEmptyImagesAndUnknownArchitecture() {
+    var empty = new ImageCacheConf(List.of(), null, null, 0, null);
+    var unknown = new ImageCacheConf(List.of("nginx:1.27"), null, "s390x", 0, null);
+
+    for (var conf : List.of(empty, unknown)) {
+      var ctx = createTestContext();
+      var cluster = createTestCluster(ctx, createTestVpc(ctx));
+      assertThrows(InvalidParameterException.class,
+        () -> new ImageCacheConstruct(ctx.scope(), ctx.common(), conf, "1.33", cluster));
+    }
+  }
 }
@@ -381,4 +381,27 @@ class IamConstructsTest {
     assertNotNull(construct);
     assertNotNull(construct.role());
   }
+
+  @Test
+  void testRoleConstructCompactsInlinePolicies() {
+    var ctx = createTestContext();
+
+    Map<String, Object> mappings = Map.of("bucket", "assets");
+    var roleConf = new IamRole(
+      "compacted-role",
+      "Role with overlapping inline policies",
+      null,
+      List.of(),
+      List
+        .of(
+          new fasti.sh.model.aws.iam.PolicyConf("s3-all", "iam/s3-all.json", mappings),
+          new fasti.sh.model.aws.iam.PolicyConf("s3-read", "iam/s3-read.json", mappings)),
+      Map.of());
+
+    var construct = new RoleConstruct(ctx.scope(), ctx.common(), new ServicePrincipal("lambda.amazonaws.com"), roleConf);
+
+    assertNotNull(construct.compaction());
+    assertEquals(1, construct.compaction().statements().size());
+    assertTrue(construct.compaction().saved() > 0);
+  }
 }
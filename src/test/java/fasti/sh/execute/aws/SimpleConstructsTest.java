@@ -51,7 +51,8 @@ class SimpleConstructsTest {
       false,
       TagMutability.MUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
@@ -78,7 +79,8 @@ class SimpleConstructsTest {
       true,
       TagMutability.IMMUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
@@ -139,7 +141,7 @@ class SimpleConstructsTest {
     var kmsConstruct = new KmsConstruct(ctx.scope(), ctx.common(), kmsConf);
 
     var encryption = new Encryption(false, null);
-    var ecrConf = new EcrRepository("repo1", true, true, TagMutability.MUTABLE, RemovalPolicy.DESTROY, encryption);
+    var ecrConf = new EcrRepository("repo1", true, true, TagMutability.MUTABLE, RemovalPolicy.DESTROY, encryption, null);
     var ecrConstruct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
     var logConf = new LogGroupConf("logs1", "STANDARD", "ONE_WEEK", null, "DESTROY", Map.of());
@@ -241,7 +243,8 @@ class SimpleConstructsTest {
       false, // emptyOnDelete must be false with RETAIN
       TagMutability.IMMUTABLE,
       RemovalPolicy.RETAIN,
-      encryption);
+      encryption,
+      null);
 
     var construct = new EcrRepositoryConstruct(ctx.scope(), ctx.common(), ecrConf);
 
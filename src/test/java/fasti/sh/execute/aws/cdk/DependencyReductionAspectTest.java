@@ -0,0 +1,133 @@
+package fasti.sh.execute.aws.cdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import fasti.sh.test.CdkTestUtil;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.NestedStack;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Template;
+import software.amazon.awscdk.services.sns.Topic;
+import software.constructs.Construct;
+
+class DependencyReductionAspectTest {
+
+  private static Topic topic(Construct scope, String id) {
+    return Topic.Builder.create(scope, id).topicName(id).build();
+  }
+
+  private static String logicalId(Stack stack, Topic topic) {
+    return stack.resolve(((CfnResource) topic.getNode().getDefaultChild()).getLogicalId()).toString();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<String> dependsOn(Stack stack, Topic topic) {
+    var resource = (Map<String, Object>) Template.fromStack(stack).toJSON().get("Resources");
+    var rendered = (Map<String, Object>) resource.get(logicalId(stack, topic));
+    return (List<String>) rendered.getOrDefault("DependsOn", List.of());
+  }
+
+  @Test
+  void testDropsRedundantConstructDependencies() {
+    var app = new App();
+    var stack = CdkTestUtil.createTestStack(app);
+    var a = topic(stack, "a");
+    var b = topic(stack, "b");
+    var c = topic(stack, "c");
+    b.getNode().addDependency(a);
+    c.getNode().addDependency(a, b, b);
+
+    var reduction = DependencyReductionAspect.of(app, true);
+    app.synth();
+
+    assertEquals(List.of(logicalId(stack, b)), dependsOn(stack, c));
+    assertEquals(List.of(logicalId(stack, a)), dependsOn(stack, b));
+    assertEquals(1, reduction.removed().size());
+    assertEquals(new DependencyReductionAspect.Edge("test-stack/c/Resource", "test-stack/a/Resource"), reduction.removed().get(0));
+    assertTrue(reduction.dot().contains("\"test-stack/c/Resource\" -> \"test-stack/b/Resource\";"));
+  }
+
+  @Test
+  void testDropsRedundantResourceDependencies() {
+    var app = new App();
+    var stack = CdkTestUtil.createTestStack(app);
+    var a = topic(stack, "a");
+    var b = topic(stack, "b");
+    var c = topic(stack, "c");
+    var ca = (CfnResource) a.getNode().getDefaultChild();
+    var cb = (CfnResource) b.getNode().getDefaultChild();
+    var cc = (CfnResource) c.getNode().getDefaultChild();
+    cb.addDependency(ca);
+    cc.addDependency(ca);
+    c.getNode().addDependency(b);
+
+    DependencyReductionAspect.of(app, true);
+    app.synth();
+
+    assertEquals(List.of(logicalId(stack, b)), dependsOn(stack, c));
+  }
+
+  @Test
+  void testReportOnlyLeavesTemplateUnchanged() {
+    var app = new App();
+    var stack = CdkTestUtil.createTestStack(app);
+    var a = topic(stack, "a");
+    var b = topic(stack, "b");
+    var c = topic(stack, "c");
+    b.getNode().addDependency(a);
+    c.getNode().addDependency(a, b);
+
+    var reduction = DependencyReductionAspect.of(app, false);
+    app.synth();
+
+    assertEquals(2, dependsOn(stack, c).size());
+    assertEquals(1, reduction.removed().size());
+  }
+
+  @Test
+  void testResourcesWithDependenciesOutsideTheirStackAreNotRewritten() {
+    var app = new App();
+    var stack = CdkTestUtil.createTestStack(app);
+    var nested = new NestedStack(stack, "nested");
+    var inner = topic(nested, "inner");
+    var a = topic(stack, "a");
+    var b = topic(stack, "b");
+    b.getNode().addDependency(a);
+    b.getNode().addDependency(inner);
+    var c = topic(stack, "c");
+    c.getNode().addDependency(a, b);
+
+    var reduction = DependencyReductionAspect.of(app, true);
+    app.synth();
+
+    assertEquals(List.of(logicalId(stack, b)), dependsOn(stack, c));
+    assertFalse(dependsOn(stack, b).isEmpty());
+    assertTrue(reduction.graph().get("test-stack/b/Resource").contains("test-stack/a/Resource"));
+  }
+
+  @Test
+  void testRedundantEdgesOfUntouchedResourcesAreNotReported() {
+    var app = new App();
+    var stack = CdkTestUtil.createTestStack(app);
+    var nested = new NestedStack(stack, "nested");
+    var inner = topic(nested, "inner");
+    var a = topic(stack, "a");
+    var b = topic(stack, "b");
+    var c = topic(stack, "c");
+    b.getNode().addDependency(a);
+    c.getNode().addDependency(inner);
+    c.getNode().addDependency(a, b);
+
+    var reduction = DependencyReductionAspect.of(app, true);
+    app.synth();
+
+    assertEquals(2, dependsOn(stack, c).stream().filter(id -> !id.contains("nested")).count());
+    assertTrue(reduction.removed().isEmpty());
+  }
+}
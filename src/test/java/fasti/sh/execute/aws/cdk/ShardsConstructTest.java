@@ -0,0 +1,132 @@
+package fasti.sh.execute.aws.cdk;
+
+import static fasti.sh.test.CdkTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import fasti.sh.execute.aws.eks.ObservabilityConstruct;
+import fasti.sh.model.aws.cdk.ShardConf;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.CfnResource;
+import software.amazon.awscdk.Stack;
+import software.constructs.Construct;
+
+/**
+ * Tests for ShardsConstruct.
+ */
+class ShardsConstructTest {
+
+  private static Construct topics(Construct scope, String id, int count) {
+    var construct = new Construct(scope, id);
+    for (int i = 0; i < count; i++) {
+      CfnResource.Builder.create(construct, "topic" + i).type("AWS::SNS::Topic").build();
+    }
+    return construct;
+  }
+
+  @Test
+  void testOverflowMovesToNextShard() {
+    var ctx = createTestContext();
+    var shards = new ShardsConstruct(ctx.scope(), ctx.common(), new ShardConf("alarms", 4, Map.of()));
+
+    shards.add("a", 2, s -> topics(s, "a", 2));
+    shards.add("b", 2, s -> topics(s, "b", 2));
+    shards.add("c", 2, s -> topics(s, "c", 2));
+
+    assertEquals(2, shards.shards().size());
+    assertEquals(Map.of("a", 0, "b", 0, "c", 1), shards.assignments());
+    assertEquals(4, shards.counts().get(0));
+    assertEquals(2, shards.counts().get(1));
+    assertNull(shards.shards().get(0).getNode().tryFindChild("c"));
+    assertNotNull(shards.shards().get(1).getNode().tryFindChild("c"));
+  }
+
+  @Test
+  void testFactoryRunsOnceInItsShard() {
+    var ctx = createTestContext();
+    var shards = new ShardsConstruct(ctx.scope(), ctx.common(), new ShardConf("alarms", 2, Map.of()));
+    var calls = new java.util.concurrent.atomic.AtomicInteger();
+
+    shards.add("a", 2, s -> topics(s, "a", 2));
+    shards.add("b", 2, s -> {
+      calls.incrementAndGet();
+      return topics(s, "b", 2);
+    });
+
+    assertEquals(1, calls.get());
+    assertEquals(1, shards.assignments().get("b"));
+  }
+
+  @Test
+  void testOversizedConstructKeptInEmptyShard() {
+    var ctx = createTestContext();
+    var shards = new ShardsConstruct(ctx.scope(), ctx.common(), new ShardConf("alarms", 2, Map.of()));
+
+    shards.add("a", 5, s -> topics(s, "a", 5));
+    shards.add("b", 1, s -> topics(s, "b", 1));
+
+    assertEquals(2, shards.shards().size());
+    assertEquals(5, shards.counts().get(0));
+    assertEquals(1, shards.assignments().get("b"));
+  }
+
+  @Test
+  void testPinnedConstructsKeepTheirShard() {
+    var ctx = createTestContext();
+    var shards = new ShardsConstruct(ctx.scope(), ctx.common(), new ShardConf("alarms", 10, Map.of("late", 2)));
+
+    shards.add("early", 1, s -> topics(s, "early", 1));
+    shards.add("late", 1, s -> topics(s, "late", 1));
+
+    assertEquals(java.util.Set.of(2, 3), shards.shards().keySet());
+    assertEquals(3, shards.assignments().get("early"));
+    assertEquals(2, shards.assignments().get("late"));
+    assertDoesNotThrow(() -> synthesizeStack((Stack) ctx.scope()));
+  }
+
+  @Test
+  void testRecordedLayoutIsStickyWhenConstructsGrow() {
+    var ctx = createTestContext();
+    ctx.scope().getNode().setContext(String.format(ShardsConstruct.LAYOUT, "alarms"), Map.of("a", 0, "b", 0));
+    var shards = new ShardsConstruct(ctx.scope(), ctx.common(), new ShardConf("alarms", 4, Map.of()));
+
+    shards.add("a", 4, s -> topics(s, "a", 4));
+    shards.add("b", 2, s -> topics(s, "b", 2));
+    shards.add("c", 1, s -> topics(s, "c", 1));
+
+    assertEquals(Map.of("a", 0, "b", 0, "c", 1), shards.assignments());
+    assertEquals(6, shards.counts().get(0));
+  }
+
+  @Test
+  void testEmptyShardFailsValidation() {
+    var ctx = createTestContext();
+    var shards = new ShardsConstruct(ctx.scope(), ctx.common(), new ShardConf("alarms", 4, Map.of()));
+
+    shards.add("empty", 1, s -> new Construct(s, "empty"));
+
+    assertEquals(1, shards.getNode().validate().size());
+  }
+
+  @Test
+  void testDefaultBudget() {
+    var ctx = createTestContext();
+    var shards = new ShardsConstruct(ctx.scope(), ctx.common(), new ShardConf("alarms", 0, null));
+
+    assertEquals(ShardsConstruct.DEFAULT_RESOURCE_BUDGET, shards.budget());
+  }
+
+  @Test
+  void testObservabilityConstructSharded() {
+    var ctx = createTestContext();
+    var shards = new ShardsConstruct(ctx.scope(), ctx.common(), new ShardConf("observability", 1, Map.of()));
+
+    var construct = new ObservabilityConstruct(ctx.scope(), ctx.common(), "eks/observability/complete.json", shards);
+
+    assertEquals(1, construct.alarms().size());
+    assertEquals(1, construct.dashboards().size());
+    assertEquals(3, shards.assignments().size());
+    assertEquals(3, shards.shards().size());
+    assertDoesNotThrow(() -> synthesizeStack((Stack) ctx.scope()));
+  }
+}
@@ -0,0 +1,26 @@
+package fasti.sh.execute.aws.cdk;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+
+class StacksTest {
+
+  @Test
+  void testStandaloneDefaultsToNested() {
+    assertFalse(Stacks.standalone(new App()));
+  }
+
+  @Test
+  void testStandaloneFromContext() {
+    var app = new App();
+    app.getNode().setContext(Stacks.STANDALONE, "true");
+    assertTrue(Stacks.standalone(app));
+
+    var nested = new App();
+    nested.getNode().setContext(Stacks.STANDALONE, false);
+    assertFalse(Stacks.standalone(nested));
+  }
+}
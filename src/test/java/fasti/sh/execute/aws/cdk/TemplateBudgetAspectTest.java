@@ -0,0 +1,106 @@
+package fasti.sh.execute.aws.cdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import fasti.sh.model.aws.cdk.TemplateBudget;
+import fasti.sh.test.CdkTestUtil;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Aspects;
+import software.amazon.awscdk.CfnOutput;
+import software.amazon.awscdk.NestedStack;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Annotations;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.services.sns.Topic;
+
+class TemplateBudgetAspectTest {
+
+  private static Stack stack(App app, int topics) {
+    var stack = CdkTestUtil.createTestStack(app);
+    var nested = new NestedStack(stack, "nested");
+    for (int i = 0; i < topics; i++)
+      Topic.Builder.create(nested, "topic" + i).build();
+
+    CfnOutput.Builder.create(stack, "output").value("value").exportName("exported").build();
+    return stack;
+  }
+
+  @Test
+  void testBudgetDefaultsWithoutContext() {
+    var budget = TemplateBudgetAspect.budget(new App());
+
+    assertEquals(TemplateBudget.defaults(), budget);
+    assertEquals(500, budget.resources());
+    assertEquals(1_048_576L, budget.bytes());
+  }
+
+  @Test
+  void testBudgetFromContext() {
+    var app = new App();
+    app.getNode().setContext("hosted:budget:resources", "120");
+    app.getNode().setContext("hosted:budget:bytes", 250000);
+    app.getNode().setContext("hosted:budget:warn", "90");
+
+    var budget = TemplateBudgetAspect.budget(app);
+
+    assertEquals(120, budget.resources());
+    assertEquals(250000L, budget.bytes());
+    assertEquals(90, budget.warnPercent());
+    assertEquals(200, budget.outputs());
+  }
+
+  @Test
+  void testAspectAnnotatesStacksOverBudget() {
+    var app = new App();
+    var stack = stack(app, 5);
+    Aspects.of(app).add(new TemplateBudgetAspect(new TemplateBudget(4, 1, 200, 0, 80, 5)));
+
+    app.synth();
+
+    // nested stack annotations are reported on the parent stack artifact
+    Annotations.fromStack(stack).hasError("/test-stack/nested", Match.stringLikeRegexp(".*resources: 5 of 4"));
+    Annotations.fromStack(stack).hasWarning("/test-stack", Match.stringLikeRegexp(".*outputs: 1 of 1.*"));
+    Annotations.fromStack(stack).hasNoError("/test-stack", Match.anyValue());
+  }
+
+  @Test
+  void testAnalyzerReportsNestedTemplates() {
+    var app = new App();
+    stack(app, 3);
+
+    var reports = TemplateAnalyzer.analyze(app.synth(), 2);
+
+    assertEquals(2, reports.size());
+    var nested = reports.stream().filter(r -> r.template().contains("nested")).findFirst().orElseThrow();
+    assertEquals(3, nested.resources());
+    assertEquals(2, nested.contributors().size());
+    assertTrue(nested.bytes() > 0);
+
+    var parent = reports.stream().filter(r -> !r.template().contains("nested")).findFirst().orElseThrow();
+    assertEquals(1, parent.exports());
+  }
+
+  @Test
+  void testEnforceThrowsWhenBytesExceeded() {
+    var app = new App();
+    stack(app, 3);
+    var assembly = app.synth();
+
+    assertThrows(IllegalStateException.class, () -> TemplateAnalyzer.enforce(assembly, new TemplateBudget(500, 200, 200, 100, 80, 5)));
+    assertFalse(TemplateAnalyzer.enforce(assembly, TemplateBudget.defaults()).isEmpty());
+  }
+
+  @Test
+  void testSeverityThresholds() {
+    assertNull(TemplateAnalyzer.severity(10, 0, 80));
+    assertNull(TemplateAnalyzer.severity(79, 100, 80));
+    assertEquals(TemplateAnalyzer.Severity.WARNING, TemplateAnalyzer.severity(80, 100, 80));
+    assertEquals(TemplateAnalyzer.Severity.WARNING, TemplateAnalyzer.severity(100, 100, 80));
+    assertEquals(TemplateAnalyzer.Severity.ERROR, TemplateAnalyzer.severity(101, 100, 80));
+  }
+}
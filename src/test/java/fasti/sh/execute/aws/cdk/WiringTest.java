@@ -0,0 +1,68 @@
+package fasti.sh.execute.aws.cdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import fasti.sh.test.CdkTestUtil;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
+
+class WiringTest {
+
+  private static Stack stack(String mode) {
+    var app = new App();
+    if (mode != null)
+      app.getNode().setContext(Wiring.MODE, mode);
+
+    var stack = CdkTestUtil.createTestStack(app);
+    Wiring.publish(stack, CdkTestUtil.createTestCommon(), "vpc.id", "vpcid", "vpc-123", "vpc id");
+    return stack;
+  }
+
+  @Test
+  void testModeDefaultsToExports() {
+    assertEquals(Wiring.Mode.EXPORTS, Wiring.mode(new App()));
+  }
+
+  @Test
+  void testExportsMode() {
+    var template = Template.fromStack(stack(null));
+
+    template.hasOutput("*", Map.of("Export", Map.of("Name", "test-synthesizertestvpcid")));
+    template.resourceCountIs("AWS::SSM::Parameter", 0);
+  }
+
+  @Test
+  void testParametersMode() {
+    var template = Template.fromStack(stack("parameters"));
+
+    template.hasOutput("*", Match.objectLike(Map.of("Export", Match.absent())));
+    template
+      .hasResourceProperties("AWS::SSM::Parameter", Map.of("Name", "/test-synthesizer/test/vpcid", "Value", "vpc-123", "Type", "String"));
+  }
+
+  @Test
+  void testBothMode() {
+    var template = Template.fromStack(stack("both"));
+
+    template.hasOutput("*", Map.of("Export", Map.of("Name", "test-synthesizertestvpcid")));
+    template.resourceCountIs("AWS::SSM::Parameter", 1);
+  }
+
+  @Test
+  void testResolveReadsParameterAtDeployTime() {
+    var stack = CdkTestUtil.createTestStack(new App());
+
+    var value = Wiring.resolve(stack, "vpcid");
+
+    assertFalse(value.isEmpty());
+    var parameters = Template.fromStack(stack).toJSON().get("Parameters").toString();
+    assertTrue(parameters.contains("AWS::SSM::Parameter::Value<String>"));
+    assertTrue(parameters.contains("/test-synthesizer/test/vpcid"));
+  }
+}
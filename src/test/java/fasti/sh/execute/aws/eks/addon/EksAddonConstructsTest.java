@@ -3,38 +3,59 @@ package fasti.sh.execute.aws.eks.addon;
 import static fasti.sh.test.CdkTestUtil.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import fasti.sh.execute.aws.eks.AddonsConstruct;
+import fasti.sh.execute.aws.eks.HelmChartSource;
+import fasti.sh.execute.aws.eks.ManifestBatchConstruct;
 import fasti.sh.execute.aws.vpc.VpcConstruct;
 import fasti.sh.model.aws.eks.HelmChart;
+import fasti.sh.model.aws.eks.NodeVolumeConf;
 import fasti.sh.model.aws.eks.PodIdentity;
+import fasti.sh.model.aws.eks.ServiceAccountConf;
 import fasti.sh.model.aws.eks.addon.core.*;
+import fasti.sh.model.aws.eks.addon.core.karpenter.DisruptionBudgetConf;
+import fasti.sh.model.aws.eks.addon.core.karpenter.Ec2NodeClassConf;
 import fasti.sh.model.aws.eks.addon.core.karpenter.KarpenterAddon;
+import fasti.sh.model.aws.eks.addon.core.karpenter.NodePoolConf;
+import fasti.sh.model.aws.eks.addon.managed.KubeProxyAddon;
 import fasti.sh.model.aws.iam.IamRole;
 import fasti.sh.model.aws.iam.Principal;
 import fasti.sh.model.aws.iam.PrincipalType;
 import fasti.sh.model.aws.vpc.NetworkConf;
 import fasti.sh.model.aws.vpc.Subnet;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awscdk.CfnElement;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.assertions.Match;
+import software.amazon.awscdk.assertions.Template;
 import software.amazon.awscdk.services.ec2.DefaultInstanceTenancy;
 import software.amazon.awscdk.services.ec2.SubnetType;
 import software.amazon.awscdk.services.eks.Cluster;
 import software.amazon.awscdk.services.eks.KubernetesVersion;
+import software.amazon.awscdk.services.lambda.LayerVersion;
+import software.amazon.awscdk.services.sqs.Queue;
+import software.constructs.Construct;
 
 /**
  * Tests for EKS addon constructs.
  */
 class EksAddonConstructsTest {
 
-  private Cluster createTestCluster(fasti.sh.test.CdkTestUtil.TestContext ctx, VpcConstruct vpcConstruct) {
+  private Cluster createTestCluster(TestContext ctx, VpcConstruct vpcConstruct) {
     return Cluster.Builder
       .create(ctx.scope(), "test-cluster")
       .clusterName("test-eks-cluster")
       .version(KubernetesVersion.V1_28)
       .vpc(vpcConstruct.vpc())
       .kubectlLayer(
-        software.amazon.awscdk.services.lambda.LayerVersion
+        LayerVersion
           .fromLayerVersionArn(
             ctx.scope(),
             "kubectl-layer",
@@ -42,7 +63,7 @@ class EksAddonConstructsTest {
       .build();
   }
 
-  private VpcConstruct createTestVpc(fasti.sh.test.CdkTestUtil.TestContext ctx) {
+  private VpcConstruct createTestVpc(TestContext ctx) {
     var publicSubnet = new Subnet("public", SubnetType.PUBLIC, 24, false, true, Map.of());
     var privateSubnet = new Subnet("private", SubnetType.PRIVATE_WITH_EGRESS, 24, false, false, Map.of());
 
@@ -75,7 +96,8 @@ class EksAddonConstructsTest {
       "cert-manager",
       "https://charts.jetstack.io",
       "eks/addon/cert-manager.mustache",
-      "v1.13.0");
+      "v1.13.0",
+      false);
 
     var addon = new CertManagerAddon(chart);
     var construct = new CertManagerConstruct(ctx.scope(), ctx.common(), addon, cluster);
@@ -84,6 +106,160 @@ class EksAddonConstructsTest {
     assertNotNull(construct.chart());
   }
 
+  @Test
+  void testCertManagerConstructMirrorsChartFromLocalCache(@TempDir Path cache) throws IOException {
+    var ctx = createTestContext();
+    var cached = cache.resolve("https_charts.jetstack.io/cert-manager/v1.13.0/cert-manager");
+    Files.createDirectories(cached);
+    Files.writeString(cached.resolve("Chart.yaml"), "apiVersion: v2\nname: cert-manager\nversion: v1.13.0\n");
+    ctx.scope().getNode().setContext(HelmChartSource.CACHE, cache.toString());
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var chart = new HelmChart(
+      "cert-manager",
+      "cert-manager",
+      "cert-manager",
+      "https://charts.jetstack.io",
+      "eks/addon/cert-manager.mustache",
+      "v1.13.0",
+      true);
+
+    new CertManagerConstruct(ctx.scope(), ctx.common(), new CertManagerAddon(chart), cluster);
+
+    Template
+      .fromStack((Stack) ctx.scope())
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-HelmChart",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Release",
+                "cert-manager",
+                "ChartAssetURL",
+                Match.anyValue(),
+                "Repository",
+                Match.absent())));
+  }
+
+  @Test
+  void testValuesOverThresholdAreBakedIntoChartAsset(@TempDir Path cache) throws IOException {
+    var ctx = createTestContext();
+    var cached = cache.resolve("https_charts.jetstack.io/cert-manager/v1.13.0/cert-manager");
+    Files.createDirectories(cached);
+    Files.writeString(cached.resolve("Chart.yaml"), "apiVersion: v2\nname: cert-manager\nversion: v1.13.0\n");
+    Files.writeString(cached.resolve("values.yaml"), "replicaCount: 3\nwebhook:\n  timeoutSeconds: 10\n");
+    ctx.scope().getNode().setContext(HelmChartSource.CACHE, cache.toString());
+    ctx.scope().getNode().setContext(HelmChartSource.THRESHOLD, "1");
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var chart = new HelmChart(
+      "cert-manager",
+      "cert-manager",
+      "cert-manager",
+      "https://charts.jetstack.io",
+      "eks/addon/cert-manager.mustache",
+      "v1.13.0",
+      false);
+
+    new CertManagerConstruct(ctx.scope(), ctx.common(), new CertManagerAddon(chart), cluster);
+
+    Template
+      .fromStack((Stack) ctx.scope())
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-HelmChart",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "ChartAssetURL",
+                Match.anyValue(),
+                "Values",
+                Match.absent())));
+
+    try (var baked = Files.list(cached.getParent())) {
+      var values = baked
+        .filter(path -> path.getFileName().toString().startsWith("cert-manager-values-"))
+        .map(path -> path.resolve("cert-manager/values.yaml"))
+        .findFirst()
+        .orElseThrow();
+      var merged = Files.readString(values);
+      assertTrue(merged.contains("replicaCount: 1"));
+      assertTrue(merged.contains("installCRDs: true"));
+      assertTrue(merged.contains("timeoutSeconds: 10"));
+    }
+  }
+
+  @Test
+  void testValuesUnderThresholdStayInline() {
+    var ctx = createTestContext();
+    ctx.scope().getNode().setContext(HelmChartSource.THRESHOLD, "65536");
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var chart = new HelmChart(
+      "cert-manager",
+      "cert-manager",
+      "cert-manager",
+      "https://charts.jetstack.io",
+      "eks/addon/cert-manager.mustache",
+      "v1.13.0",
+      false);
+
+    new CertManagerConstruct(ctx.scope(), ctx.common(), new CertManagerAddon(chart), cluster);
+
+    Template
+      .fromStack((Stack) ctx.scope())
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-HelmChart",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Repository",
+                "https://charts.jetstack.io",
+                "Values",
+                Match.anyValue())));
+  }
+
+  @Test
+  void testMirroredChartNeedsPinnedVersion() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var chart = new HelmChart(
+      "cert-manager",
+      "cert-manager",
+      "cert-manager",
+      "https://charts.jetstack.io",
+      "eks/addon/cert-manager.mustache",
+      null,
+      true);
+
+    var error = assertThrows(InvalidParameterException.class,
+      () -> new CertManagerConstruct(ctx.scope(), ctx.common(), new CertManagerAddon(chart), cluster));
+    assertTrue(error.getMessage().contains("it is mirrored"));
+  }
+
+  @Test
+  void testOffloadedChartNeedsPinnedVersion() {
+    var ctx = createTestContext();
+    ctx.scope().getNode().setContext(HelmChartSource.THRESHOLD, "1");
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var chart = new HelmChart(
+      "cert-manager",
+      "cert-manager",
+      "cert-manager",
+      "https://charts.jetstack.io",
+      "eks/addon/cert-manager.mustache",
+      null,
+      false);
+
+    var error = assertThrows(InvalidParameterException.class,
+      () -> new CertManagerConstruct(ctx.scope(), ctx.common(), new CertManagerAddon(chart), cluster));
+    assertTrue(error.getMessage().contains(HelmChartSource.THRESHOLD));
+  }
+
   @Test
   void testCertManagerConstructWithValues() {
     var ctx = createTestContext();
@@ -96,7 +272,8 @@ class EksAddonConstructsTest {
       "cert-manager-release",
       "https://charts.jetstack.io",
       "eks/addon/cert-manager.mustache",
-      "v1.14.0");
+      "v1.14.0",
+      false);
 
     var addon = new CertManagerAddon(chart);
     var construct = new CertManagerConstruct(ctx.scope(), ctx.common(), addon, cluster);
@@ -117,7 +294,8 @@ class EksAddonConstructsTest {
       "csi-secrets-store",
       "https://kubernetes-sigs.github.io/secrets-store-csi-driver/charts",
       "eks/addon/secrets-store.mustache",
-      "v1.4.0");
+      "v1.4.0",
+      false);
 
     var addon = new AwsSecretsStoreAddon(chart);
     var construct = new AwsSecretsStoreConstruct(ctx.scope(), ctx.common(), addon, cluster);
@@ -138,7 +316,8 @@ class EksAddonConstructsTest {
       "secrets-store",
       "https://kubernetes-sigs.github.io/secrets-store-csi-driver/charts",
       "eks/addon/secrets-store.mustache",
-      "v1.4.1");
+      "v1.4.1",
+      false);
 
     var addon = new AwsSecretsStoreAddon(chart);
     var construct = new AwsSecretsStoreConstruct(ctx.scope(), ctx.common(), addon, cluster);
@@ -159,7 +338,8 @@ class EksAddonConstructsTest {
       "karpenter",
       "oci://public.ecr.aws/karpenter/karpenter",
       "eks/addon/karpenter.mustache",
-      "v0.32.0");
+      "v0.32.0",
+      false);
 
     var principal = Principal
       .builder()
@@ -182,8 +362,8 @@ class EksAddonConstructsTest {
 
     var podIdentity = new PodIdentity(metadata, role, Map.of("Environment", "production"));
 
-    var addon = new KarpenterAddon(chart, podIdentity);
-    var construct = new KarpenterConstruct(ctx.scope(), ctx.common(), addon, cluster);
+    var addon = new KarpenterAddon(chart, podIdentity, null, null);
+    var construct = new KarpenterConstruct(ctx.scope(), ctx.common(), addon, cluster, "test-eks-cluster");
 
     assertNotNull(construct);
     assertNotNull(construct.chart());
@@ -203,7 +383,8 @@ class EksAddonConstructsTest {
       "karpenter-controller",
       "oci://public.ecr.aws/karpenter/karpenter",
       "eks/addon/karpenter.mustache",
-      "v0.33.0");
+      "v0.33.0",
+      false);
 
     var principal = Principal
       .builder()
@@ -230,8 +411,8 @@ class EksAddonConstructsTest {
       role,
       Map.of("Environment", "staging", "CostCenter", "engineering"));
 
-    var addon = new KarpenterAddon(chart, podIdentity);
-    var construct = new KarpenterConstruct(ctx.scope(), ctx.common(), addon, cluster);
+    var addon = new KarpenterAddon(chart, podIdentity, null, null);
+    var construct = new KarpenterConstruct(ctx.scope(), ctx.common(), addon, cluster, "test-eks-cluster");
 
     assertNotNull(construct);
     assertNotNull(construct.chart());
@@ -251,7 +432,8 @@ class EksAddonConstructsTest {
       "cert-manager-production",
       "https://charts.jetstack.io",
       "eks/addon/cert-manager.mustache",
-      "v1.13.3");
+      "v1.13.3",
+      false);
 
     var addon = new CertManagerAddon(chart);
     var construct = new CertManagerConstruct(ctx.scope(), ctx.common(), addon, cluster);
@@ -272,7 +454,8 @@ class EksAddonConstructsTest {
       "secrets-store-ha",
       "https://kubernetes-sigs.github.io/secrets-store-csi-driver/charts",
       "eks/addon/secrets-store.mustache",
-      "v1.4.2");
+      "v1.4.2",
+      false);
 
     var addon = new AwsSecretsStoreAddon(chart);
     var construct = new AwsSecretsStoreConstruct(ctx.scope(), ctx.common(), addon, cluster);
@@ -293,7 +476,8 @@ class EksAddonConstructsTest {
       "karpenter-dev",
       "oci://public.ecr.aws/karpenter/karpenter",
       "eks/addon/karpenter.mustache",
-      "v0.32.1");
+      "v0.32.1",
+      false);
 
     var principal = Principal
       .builder()
@@ -317,8 +501,8 @@ class EksAddonConstructsTest {
 
     var podIdentity = new PodIdentity(metadata, role, Map.of("Environment", "development"));
 
-    var addon = new KarpenterAddon(chart, podIdentity);
-    var construct = new KarpenterConstruct(ctx.scope(), ctx.common(), addon, cluster);
+    var addon = new KarpenterAddon(chart, podIdentity, null, null);
+    var construct = new KarpenterConstruct(ctx.scope(), ctx.common(), addon, cluster, "test-eks-cluster");
 
     assertNotNull(construct);
     assertNotNull(construct.chart());
@@ -338,7 +522,8 @@ class EksAddonConstructsTest {
       "cert-manager-minimal",
       "https://charts.jetstack.io",
       "eks/addon/cert-manager.mustache",
-      "v1.12.0");
+      "v1.12.0",
+      false);
 
     var addon = new CertManagerAddon(chart);
     var construct = new CertManagerConstruct(ctx.scope(), ctx.common(), addon, cluster);
@@ -359,7 +544,8 @@ class EksAddonConstructsTest {
       "aws-load-balancer",
       "https://aws.github.io/eks-charts",
       "eks/addon/aws-load-balancer.mustache",
-      "v2.6.2");
+      "v2.6.2",
+      false);
 
     var metadata = new ObjectMeta();
     metadata.setName("aws-load-balancer-controller");
@@ -380,8 +566,8 @@ class EksAddonConstructsTest {
       List.of(),
       Map.of());
 
-    var serviceAccount = new fasti.sh.model.aws.eks.ServiceAccountConf(metadata, role);
-    var addon = new AwsLoadBalancerAddon(chart, serviceAccount);
+    var serviceAccount = new ServiceAccountConf(metadata, role);
+    var addon = new AwsLoadBalancerAddon(chart, serviceAccount, null);
     var construct = new AwsLoadBalancerConstruct(ctx.scope(), ctx.common(), addon, cluster);
 
     assertNotNull(construct);
@@ -402,7 +588,8 @@ class EksAddonConstructsTest {
       "aws-load-balancer-prod",
       "https://aws.github.io/eks-charts",
       "eks/addon/aws-load-balancer.mustache",
-      "v2.7.0");
+      "v2.7.0",
+      false);
 
     var metadata = new ObjectMeta();
     metadata.setName("aws-load-balancer-controller-prod");
@@ -424,8 +611,8 @@ class EksAddonConstructsTest {
       List.of(),
       Map.of("Environment", "production"));
 
-    var serviceAccount = new fasti.sh.model.aws.eks.ServiceAccountConf(metadata, role);
-    var addon = new AwsLoadBalancerAddon(chart, serviceAccount);
+    var serviceAccount = new ServiceAccountConf(metadata, role);
+    var addon = new AwsLoadBalancerAddon(chart, serviceAccount, null);
     var construct = new AwsLoadBalancerConstruct(ctx.scope(), ctx.common(), addon, cluster);
 
     assertNotNull(construct);
@@ -433,4 +620,506 @@ class EksAddonConstructsTest {
     assertNotNull(construct.serviceAccount());
     assertNotNull(construct.chart());
   }
+
+  @Test
+  void testAwsLoadBalancerConstructAppliesTypedDefaults() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var defaults = new AwsLoadBalancerDefaults(null, List.of("apps"), true, false, 0);
+
+    var construct = new AwsLoadBalancerConstruct(ctx.scope(), ctx.common(), awsLoadBalancerAddon(defaults), cluster);
+
+    Template
+      .fromStack((Stack) ctx.scope())
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-HelmChart",
+        Map
+          .of(
+            "Values",
+            Match
+              .serializedJson(
+                Match
+                  .objectLike(
+                    Map
+                      .of(
+                        "defaultTargetType",
+                        "ip",
+                        "enableEndpointSlices",
+                        true,
+                        "webhookNamespaceSelectors",
+                        List.of(Map.of("key", "kubernetes.io/metadata.name", "operator", "In", "values", List.of("apps"))))))));
+
+    assertEquals("ip", construct.serviceAnnotations().get("service.beta.kubernetes.io/aws-load-balancer-nlb-target-type"));
+    assertEquals("load_balancing.cross_zone.enabled=false",
+      construct.serviceAnnotations().get("service.beta.kubernetes.io/aws-load-balancer-attributes"));
+    assertEquals("Auto", construct.serviceAnnotations().get("service.kubernetes.io/topology-mode"));
+    assertTrue(construct
+      .serviceAnnotations()
+      .get("service.beta.kubernetes.io/aws-load-balancer-target-group-attributes")
+      .contains("deregistration_delay.timeout_seconds=30"));
+    assertEquals("deregistration_delay.timeout_seconds=30,load_balancing.cross_zone.enabled=false",
+      construct.ingressAnnotations().get("alb.ingress.kubernetes.io/target-group-attributes"));
+  }
+
+  @Test
+  void testAwsLoadBalancerConstructRendersAnnotationsIntoValues() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var defaults = new AwsLoadBalancerDefaults("instance", List.of(), false, true, 10);
+
+    var addon = awsLoadBalancerAddon(defaults, "eks/addon/aws-load-balancer-annotated.mustache");
+    var construct = new AwsLoadBalancerConstruct(ctx.scope(), ctx.common(), addon, cluster);
+
+    Template
+      .fromStack((Stack) ctx.scope())
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-HelmChart",
+        Map
+          .of(
+            "Values",
+            Match
+              .serializedJson(
+                Match
+                  .objectLike(
+                    Map
+                      .of(
+                        "service",
+                        Map.of("annotations", construct.serviceAnnotations()),
+                        "ingress",
+                        Map.of("annotations", construct.ingressAnnotations()))))));
+    assertEquals("instance", construct.ingressAnnotations().get("alb.ingress.kubernetes.io/target-type"));
+  }
+
+  @Test
+  void testAwsLoadBalancerConstructWithoutDefaultsLeavesAnnotationsEmpty() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var construct = new AwsLoadBalancerConstruct(ctx.scope(), ctx.common(), awsLoadBalancerAddon(null), cluster);
+
+    assertTrue(construct.serviceAnnotations().isEmpty());
+    assertTrue(construct.ingressAnnotations().isEmpty());
+  }
+
+  @Test
+  void testAwsLoadBalancerConstructRejectsUnknownTargetType() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var defaults = new AwsLoadBalancerDefaults("alb", List.of(), false, false, 0);
+
+    assertThrows(InvalidParameterException.class,
+      () -> new AwsLoadBalancerConstruct(ctx.scope(), ctx.common(), awsLoadBalancerAddon(defaults), cluster));
+  }
+
+  private AwsLoadBalancerAddon awsLoadBalancerAddon(AwsLoadBalancerDefaults defaults) {
+    return awsLoadBalancerAddon(defaults, "eks/addon/aws-load-balancer.mustache");
+  }
+
+  private AwsLoadBalancerAddon awsLoadBalancerAddon(AwsLoadBalancerDefaults defaults, String values) {
+    var chart = new HelmChart(
+      "aws-load-balancer-controller",
+      "aws-load-balancer-controller",
+      "aws-load-balancer",
+      "https://aws.github.io/eks-charts",
+      values,
+      "v2.7.0",
+      false);
+
+    var metadata = new ObjectMeta();
+    metadata.setName("aws-load-balancer-controller");
+    metadata.setNamespace("kube-system");
+
+    var principal = Principal
+      .builder()
+      .type(PrincipalType.SERVICE)
+      .value("pods.eks.amazonaws.com")
+      .conditions(Map.of())
+      .build();
+
+    var role = new IamRole(
+      "alb-controller-role",
+      "AWS Load Balancer Controller role",
+      principal,
+      List.of("arn:aws:iam::aws:policy/AWSLoadBalancerControllerPolicy"),
+      List.of(),
+      Map.of());
+
+    return new AwsLoadBalancerAddon(chart, new ServiceAccountConf(metadata, role), defaults);
+  }
+
+  @Test
+  void testKarpenterConstructRendersNodeClassesAndPools() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var construct = new KarpenterConstruct(ctx.scope(), ctx.common(), karpenterWithNodes(), cluster, "test-eks-cluster");
+
+    assertEquals(1, construct.nodeClasses().size());
+    assertEquals(2, construct.nodePools().size());
+    assertTrue(construct.nodePools().get(0).getNode().getDependencies().contains(construct.chart()));
+
+    var template = Template.fromStack((Stack) ctx.scope());
+    template
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Manifest",
+                Match
+                  .stringLikeRegexp(".*EC2NodeClass.*bottlerocket@latest.*/dev/xvdb.*throughput.:500.*"))));
+    template
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Manifest",
+                Match
+                  .stringLikeRegexp(".*NodePool.*weight.:100.*karpenter.sh/capacity-type.*spot.*expireAfter.:.720h.*"
+                    + "WhenEmptyOrUnderutilized.*schedule.:.0 9 . . mon-fri.*"))));
+  }
+
+  @Test
+  void testKarpenterConstructBatchesNodeManifestsIntoOneWave() {
+    var ctx = createTestContext();
+    ctx.scope().getNode().setContext(ManifestBatchConstruct.BATCH, true);
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var construct = new KarpenterConstruct(ctx.scope(), ctx.common(), karpenterWithNodes(), cluster, "test-eks-cluster");
+    var manifests = ManifestBatchConstruct.of(cluster).flush();
+
+    assertSame(construct.nodeClasses().get(0), construct.nodePools().get(1));
+    assertTrue(manifests.containsKey(KarpenterConstruct.WAVE));
+    assertTrue(construct.nodePools().get(0).getNode().getDependencies().contains(construct.chart()));
+  }
+
+  @Test
+  void testKarpenterConstructTagsPrivateSubnetsForDefaultSelectors() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var addon = karpenterWithNodes();
+    var nodeClass = new Ec2NodeClassConf("default", "al2023", null, "karpenter-node", null, null, null, null);
+
+    new KarpenterConstruct(ctx.scope(), ctx.common(), new KarpenterAddon(addon.chart(), addon.podIdentity(), List.of(nodeClass),
+      addon.nodePools()), cluster, "test-eks-cluster");
+
+    var template = Template.fromStack((Stack) ctx.scope());
+    template
+      .hasResourceProperties(
+        "AWS::EC2::Subnet",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Tags",
+                Match
+                  .arrayWith(List.of(Map.of("Key", KarpenterConstruct.DISCOVERY, "Value", "test-eks-cluster"))))));
+    template
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Manifest",
+                Match
+                  .stringLikeRegexp(".*securityGroupSelectorTerms.*aws:eks:cluster-name.:.test-eks-cluster.*"))));
+  }
+
+  @Test
+  void testKarpenterConstructRejectsMissingRoleAndUnknownNodeClass() {
+    var addon = karpenterWithNodes();
+    var roleless = new Ec2NodeClassConf("default", "al2023", null, null, null, null, null, null);
+    var orphan = new NodePoolConf("orphan", "missing", 0, null, null, null, null, null, null, null, null, null, null);
+
+    for (var conf : List
+      .of(
+        new KarpenterAddon(addon.chart(), addon.podIdentity(), List.of(roleless), List.of()),
+        new KarpenterAddon(addon.chart(), addon.podIdentity(), addon.nodeClasses(), List.of(orphan)))) {
+      var ctx = createTestContext();
+      var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+      assertThrows(
+        InvalidParameterException.class,
+        () -> new KarpenterConstruct(ctx.scope(), ctx.common(), conf, cluster, "test-eks-cluster"));
+    }
+  }
+
+  @Test
+  void testNodeLocalDnsConstruct() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var conf = new NodeLocalDnsAddon(null, null, "172.20.0.10", null, 60, 0);
+    var construct = new NodeLocalDnsConstruct(ctx.scope(), ctx.common(), conf, cluster);
+
+    assertEquals(4, construct.manifests().size());
+    var template = Template.fromStack((Stack) ctx.scope());
+    template
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Manifest",
+                Match
+                  .stringLikeRegexp(".*DaemonSet.*k8s-dns-node-cache.*-localip.*169.254.20.10,172.20.0.10.*"))));
+    template
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Manifest",
+                Match
+                  .stringLikeRegexp(".*ConfigMap.*cluster.local:53.*success 9984 60.*denial 9984 5.*bind 169.254.20.10 172.20.0.10.*"))));
+  }
+
+  @Test
+  void testNodeLocalDnsConstructLeavesKubeDnsIpToIpvs() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var conf = new NodeLocalDnsAddon(null, null, "172.20.0.10", null, 0, 0);
+    var kubeProxy = KubeProxyAddon.builder().name("kube-proxy").mode("IPVS").build();
+    new NodeLocalDnsConstruct(ctx.scope(), ctx.common(), conf, kubeProxy, cluster);
+
+    var manifests = Template
+      .fromStack((Stack) ctx.scope())
+      .findResources("Custom::AWSCDK-EKS-KubernetesResource")
+      .toString();
+    assertTrue(manifests.contains("bind 169.254.20.10\\n"));
+    assertTrue(manifests.contains("-localip"));
+    assertFalse(manifests.contains("172.20.0.10"));
+  }
+
+  @Test
+  void testNodeLocalDnsWaveCarriesAddonDependenciesWhenBatched() {
+    var ctx = createTestContext();
+    ctx.scope().getNode().setContext(ManifestBatchConstruct.BATCH, true);
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var loadBalancer = new Construct(ctx.scope(), "alb");
+    var conf = new NodeLocalDnsAddon(null, null, "172.20.0.10", null, 0, 0);
+    var construct = new NodeLocalDnsConstruct(ctx.scope(), ctx.common(), conf, cluster);
+
+    AddonsConstruct.depend(construct, loadBalancer);
+
+    assertTrue(construct.manifests().get(0).getNode().getDependencies().contains(loadBalancer));
+    assertEquals(List.of(NodeLocalDnsConstruct.WAVE), List.copyOf(ManifestBatchConstruct.of(cluster).flush().keySet()));
+  }
+
+  @Test
+  void testNodeLocalDnsConstructRequiresKubeDnsIp() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var conf = new NodeLocalDnsAddon(null, null, null, null, 0, 0);
+
+    assertThrows(
+      InvalidParameterException.class,
+      () -> new NodeLocalDnsConstruct(ctx.scope(), ctx.common(), conf, cluster));
+  }
+
+  @Test
+  void testMetricsServerConstruct() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var chart = new HelmChart(
+      "metrics-server",
+      "kube-system",
+      "metrics-server",
+      "https://kubernetes-sigs.github.io/metrics-server",
+      "eks/addon/metrics-server.mustache",
+      "3.12.2",
+      false);
+
+    var construct = new MetricsServerConstruct(ctx.scope(), ctx.common(), new MetricsServerAddon(chart), cluster);
+
+    assertNotNull(construct.chart());
+  }
+
+  @Test
+  void testKedaConstructGrantsQueueAndCloudWatchAccess() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+    var queue = new Queue(ctx.scope(), "interrupt-queue");
+
+    var chart = new HelmChart("keda", "keda", "keda", "https://kedacore.github.io/charts", "eks/addon/keda.mustache", "2.17.2", false);
+    var principal = Principal.builder().type(PrincipalType.SERVICE).value("pods.eks.amazonaws.com").conditions(Map.of()).build();
+    var role = new IamRole("keda-operator-role", "KEDA operator role", principal, List.of(), List.of(), Map.of());
+
+    var metadata = new ObjectMeta();
+    metadata.setName("keda-operator");
+    metadata.setNamespace("keda");
+
+    var addon = new KedaAddon(
+      chart,
+      new PodIdentity(metadata, role, Map.of()),
+      List.of("arn:aws:sqs:us-east-1:123456789012:orders"));
+    var construct = new KedaConstruct(ctx.scope(), ctx.common(), addon, cluster, List.of(queue));
+
+    assertNotNull(construct.chart());
+    assertTrue(construct.triggerAuthentication().getNode().getDependencies().contains(construct.chart()));
+
+    var template = Template.fromStack((Stack) ctx.scope());
+    var policy = template.findResources("AWS::IAM::Policy").toString();
+    assertTrue(policy.contains("sqs:GetQueueAttributes"));
+    assertTrue(policy.contains("arn:aws:sqs:us-east-1:123456789012:orders"));
+    assertTrue(policy.contains("cloudwatch:GetMetricData"));
+    template
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Manifest",
+                Match.stringLikeRegexp(".*ClusterTriggerAuthentication.*keda-aws.*provider.:.aws.*"))));
+  }
+
+  @Test
+  void testHeadroomConstructDeploysPausePodsPerPool() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var conf = new HeadroomAddon(
+      null,
+      0,
+      null,
+      List
+        .of(
+          new HeadroomPoolConf("spot", 2, "1", "2Gi", Map.of("karpenter.sh/nodepool", "spot")),
+          new HeadroomPoolConf("system", 1, "500m", "512Mi", null)));
+    var construct = new HeadroomConstruct(ctx.scope(), ctx.common(), conf, cluster);
+
+    assertEquals(2, construct.deployments().size());
+    assertTrue(construct.deployments().get(0).getNode().getDependencies().contains(construct.priorityClass()));
+
+    var template = Template.fromStack((Stack) ctx.scope());
+    template
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match
+          .objectLike(
+            Map.of("Manifest", Match.stringLikeRegexp(".*PriorityClass.*value.:-10.*Never.*"))));
+    template
+      .hasResourceProperties(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Manifest",
+                Match
+                  .stringLikeRegexp(".*headroom-spot.*replicas.:2.*priorityClassName.:.headroom.*cpu.:.1.*nodepool.:.spot.*"))));
+  }
+
+  @Test
+  void testHeadroomWaveWaitsForItsDependenciesWhenBatched() {
+    var ctx = createTestContext();
+    ctx.scope().getNode().setContext(ManifestBatchConstruct.BATCH, true);
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var keda = new Construct(ctx.scope(), "keda");
+    var queue = Queue.Builder.create(keda, "queue").build();
+    var conf = new HeadroomAddon(null, 0, null, List.of(new HeadroomPoolConf("spot", 1, "1", "1Gi", null)));
+    var headroom = new HeadroomConstruct(ctx.scope(), ctx.common(), conf, cluster);
+
+    AddonsConstruct.depend(headroom, keda);
+    var manifests = ManifestBatchConstruct.of(cluster).flush();
+
+    assertEquals(List.of(HeadroomConstruct.WAVE), List.copyOf(manifests.keySet()));
+    var stack = (Stack) ctx.scope();
+    var waves = Template
+      .fromStack(stack)
+      .findResources(
+        "Custom::AWSCDK-EKS-KubernetesResource",
+        Match
+          .objectLike(
+            Map
+              .of(
+                "Properties",
+                Match
+                  .objectLike(Map.of("Manifest", Match.stringLikeRegexp(".*PriorityClass.*"))))));
+    assertEquals(1, waves.size());
+    var dependsOn = waves.values().iterator().next().get("DependsOn").toString();
+    assertTrue(dependsOn.contains(stack.getLogicalId((CfnElement) queue.getNode().getDefaultChild())));
+  }
+
+  @Test
+  void testHeadroomConstructRejectsNonNegativePriority() {
+    var ctx = createTestContext();
+    var cluster = createTestCluster(ctx, createTestVpc(ctx));
+
+    var conf = new HeadroomAddon(null, 10, null, List.of());
+
+    assertThrows(InvalidParameterException.class, () -> new HeadroomConstruct(ctx.scope(), ctx.common(), conf, cluster));
+  }
+
+  private KarpenterAddon karpenterWithNodes() {
+    var chart = new HelmChart(
+      "karpenter",
+      "karpenter",
+      "karpenter",
+      "oci://public.ecr.aws/karpenter/karpenter",
+      "eks/addon/karpenter.mustache",
+      "1.6.0",
+      false);
+
+    var principal = Principal.builder().type(PrincipalType.SERVICE).value("pods.eks.amazonaws.com").conditions(Map.of()).build();
+    var role = new IamRole("karpenter-role", "Karpenter controller role", principal, List.of(), List.of(), Map.of());
+
+    var metadata = new ObjectMeta();
+    metadata.setName("karpenter");
+    metadata.setNamespace("karpenter");
+
+    var nodeClass = new Ec2NodeClassConf(
+      "default",
+      "Bottlerocket",
+      null,
+      "karpenter-node",
+      Map.of("karpenter.sh/discovery", "test-eks-cluster"),
+      Map.of("karpenter.sh/discovery", "test-eks-cluster"),
+      new NodeVolumeConf(null, 100, 6000, 500, true, null),
+      Map.of("team", "platform"));
+
+    var businessHours = new DisruptionBudgetConf("0", "0 9 * * mon-fri", "8h", List.of("Underutilized"));
+    var spot = new NodePoolConf(
+      "spot",
+      "default",
+      100,
+      List.of("m7g", "c7g"),
+      null,
+      List.of("arm64"),
+      List.of("spot"),
+      null,
+      "1m",
+      List.of(businessHours),
+      "720h",
+      Map.of("capacity", "spot"),
+      Map.of("cpu", "1000"));
+    var onDemand = new NodePoolConf(
+      "on-demand",
+      "default",
+      10,
+      null,
+      List.of("c", "m", "r"),
+      List.of("amd64", "arm64"),
+      List.of("on-demand"),
+      "WhenEmpty",
+      "5m",
+      null,
+      "Never",
+      null,
+      null);
+
+    return new KarpenterAddon(chart, new PodIdentity(metadata, role, Map.of()), List.of(nodeClass), List.of(spot, onDemand));
+  }
 }
@@ -209,4 +209,94 @@ class IamPolicyTest {
     assertEquals(Effect.ALLOW, policyStatements.get(0).getEffect());
     assertEquals(Effect.DENY, policyStatements.get(1).getEffect());
   }
+
+  @Test
+  void testCompactDedupesAndCollapsesWildcards() {
+    var statement = new PolicyStatementConf(
+      "S3",
+      "allow",
+      List.of("s3:GetObject", "s3:GetObject", "s3:*", "S3:PutObject"),
+      List.of("arn:aws:s3:::bucket/key", "arn:aws:s3:::bucket/*"),
+      Map.of());
+
+    var compaction = IamPolicy.compact(List.of(statement));
+
+    assertEquals(1, compaction.statements().size());
+    assertEquals(List.of("s3:*"), compaction.statements().get(0).actions());
+    assertEquals(List.of("arn:aws:s3:::bucket/*"), compaction.statements().get(0).resources());
+    assertTrue(compaction.saved() > 0);
+  }
+
+  @Test
+  void testSizeMeasuresRenderedPolicyDocument() {
+    var statement = new PolicyStatementConf("S3", "allow", List.of("s3:GetObject"), List.of("*"), Map.of());
+
+    var rendered = "{\"Statement\":[{\"Action\":\"s3:GetObject\",\"Effect\":\"Allow\",\"Resource\":\"*\"}],\"Version\":\"2012-10-17\"}";
+
+    assertEquals(rendered.length(), IamPolicy.size(List.of(statement)));
+  }
+
+  @Test
+  void testCompactMergesStatementsWithSameResources() {
+    var statements = List
+      .of(
+        new PolicyStatementConf("A", "allow", List.of("sqs:SendMessage"), List.of("arn:aws:sqs:us-east-1:123456789012:q"), null),
+        new PolicyStatementConf("B", "Allow", List.of("sqs:ReceiveMessage"), List.of("arn:aws:sqs:us-east-1:123456789012:q"), Map.of()));
+
+    var compaction = IamPolicy.compact(statements);
+
+    assertEquals(1, compaction.statements().size());
+    assertNull(compaction.statements().get(0).sid());
+    assertEquals(List.of("sqs:SendMessage", "sqs:ReceiveMessage"), compaction.statements().get(0).actions());
+  }
+
+  @Test
+  void testCompactMergesStatementsWithSameActions() {
+    var statements = List
+      .of(
+        new PolicyStatementConf("Read", "allow", List.of("s3:GetObject"), List.of("arn:aws:s3:::a/*"), Map.of()),
+        new PolicyStatementConf("Read", "allow", List.of("s3:GetObject"), List.of("arn:aws:s3:::b/*"), Map.of()));
+
+    var compaction = IamPolicy.compact(statements);
+
+    assertEquals(1, compaction.statements().size());
+    assertEquals("Read", compaction.statements().get(0).sid());
+    assertEquals(List.of("arn:aws:s3:::a/*", "arn:aws:s3:::b/*"), compaction.statements().get(0).resources());
+  }
+
+  @Test
+  void testCompactKeepsDifferentEffectsAndConditions() {
+    Map<String, Object> conditions = Map.of("StringEquals", Map.of("aws:RequestedRegion", "us-east-1"));
+    var statements = List
+      .of(
+        new PolicyStatementConf(null, "allow", List.of("ec2:*"), List.of("*"), Map.of()),
+        new PolicyStatementConf(null, "deny", List.of("ec2:TerminateInstances"), List.of("*"), Map.of()),
+        new PolicyStatementConf(null, "allow", List.of("ec2:RunInstances"), List.of("*"), conditions));
+
+    var compaction = IamPolicy.compact(statements);
+
+    assertEquals(3, compaction.statements().size());
+  }
+
+  @Test
+  void testCompactDropsCoveredStatements() {
+    var statements = List
+      .of(
+        new PolicyStatementConf(null, "allow", List.of("logs:CreateLogStream"), List.of("arn:aws:logs:*:*:log-group:app:*"), Map.of()),
+        new PolicyStatementConf(null, "allow", List.of("logs:*"), List.of("*"), Map.of()));
+
+    var compaction = IamPolicy.compact(statements);
+
+    assertEquals(1, compaction.statements().size());
+    assertEquals(List.of("logs:*"), compaction.statements().get(0).actions());
+  }
+
+  @Test
+  void testCoversDoesNotTreatSingleCharacterWildcardAsStar() {
+    var narrow = new PolicyStatementConf(null, "allow", List.of("s3:Get?"), List.of("*"), Map.of());
+    var wide = new PolicyStatementConf(null, "allow", List.of("s3:G*"), List.of("*"), Map.of());
+
+    assertTrue(IamPolicy.covers(wide, narrow));
+    assertFalse(IamPolicy.covers(narrow, wide));
+  }
 }
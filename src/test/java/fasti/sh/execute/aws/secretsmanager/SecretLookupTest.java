@@ -0,0 +1,77 @@
+package fasti.sh.execute.aws.secretsmanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import fasti.sh.execute.serialization.Mapper;
+import fasti.sh.model.aws.eks.addon.core.GrafanaSecret;
+import fasti.sh.test.CdkTestUtil;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SecretLookupTest {
+
+  @AfterEach
+  void tearDown() {
+    SecretLookup.get().clear();
+  }
+
+  @Test
+  void testSharedInstance() {
+    assertSame(SecretLookup.get(), SecretLookup.get());
+  }
+
+  @Test
+  void testEmptyIdReturnsNull() {
+    var ctx = CdkTestUtil.createTestContext();
+
+    assertNull(SecretLookup.get().value(ctx.scope(), ctx.common(), null));
+    assertNull(SecretLookup.get().value(ctx.scope(), ctx.common(), ""));
+  }
+
+  @Test
+  void testInMemoryStandIn() {
+    var ctx = CdkTestUtil.createTestContext();
+    SecretLookup.get().standIn("grafana-cloud", "{\"key\":\"abc\"}");
+
+    var future = SecretLookup.get().prefetch(ctx.scope(), ctx.common(), "grafana-cloud");
+
+    assertTrue(future.isDone());
+    assertEquals("{\"key\":\"abc\"}", SecretLookup.get().value(ctx.scope(), ctx.common(), "grafana-cloud"));
+  }
+
+  @Test
+  void testFileStandInFromContext(@TempDir Path dir) throws Exception {
+    var file = dir.resolve("lookups.yaml");
+    Files.writeString(file, """
+      grafana-cloud:
+        key: abc
+        lokiHost: logs.example.com
+      plain: value
+      """);
+
+    var ctx = CdkTestUtil.createTestContext();
+    ctx.scope().getNode().setContext(SecretLookup.FILE, file.toString());
+    ctx.scope().getNode().setContext(SecretLookup.OFFLINE, "true");
+
+    var secret = Mapper.get().readValue(SecretLookup.get().value(ctx.scope(), ctx.common(), "grafana-cloud"), GrafanaSecret.class);
+
+    assertEquals("abc", secret.key());
+    assertEquals("logs.example.com", secret.lokiHost());
+    assertEquals("value", SecretLookup.get().value(ctx.scope(), ctx.common(), "plain"));
+  }
+
+  @Test
+  void testOfflineWithoutStandInFails() {
+    var ctx = CdkTestUtil.createTestContext();
+    ctx.scope().getNode().setContext(SecretLookup.OFFLINE, true);
+
+    assertThrows(IllegalStateException.class, () -> SecretLookup.get().value(ctx.scope(), ctx.common(), "missing"));
+  }
+}
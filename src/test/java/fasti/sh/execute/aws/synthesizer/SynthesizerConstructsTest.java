@@ -14,8 +14,10 @@ import fasti.sh.model.main.SynthesizerResources;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.App;
 import software.amazon.awscdk.NestedStackProps;
 import software.amazon.awscdk.RemovalPolicy;
+import software.amazon.awscdk.StackProps;
 import software.amazon.awscdk.services.ecr.TagMutability;
 import software.amazon.awscdk.services.s3.BucketAccessControl;
 import software.amazon.awscdk.services.s3.ObjectOwnership;
@@ -56,7 +58,8 @@ class SynthesizerConstructsTest {
       true,
       TagMutability.IMMUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var principal = Principal
       .builder()
@@ -169,6 +172,22 @@ class SynthesizerConstructsTest {
     assertNotNull(construct.storage());
   }
 
+  @Test
+  void testSynthesizerStandaloneStack() {
+    var app = new App();
+    app.getNode().setContext("host:id", "test");
+    app.getNode().setContext("hosted:id", "test");
+    var conf = createTestSynthesizerResources();
+
+    var construct = new SynthesizerStack(app, createTestCommon(), conf, StackProps.builder().build());
+
+    assertEquals("test-synthesizer", construct.getStackName());
+    assertNotNull(construct.key());
+    assertNotNull(construct.version());
+    assertEquals(construct, construct.roles().getNestedStackParent());
+    assertNotNull(construct.storage());
+  }
+
   @Test
   void testSynthesizerStorageWithRetainPolicy() {
     var ctx = createTestContext();
@@ -203,7 +222,8 @@ class SynthesizerConstructsTest {
       false, // cannot use emptyOnDelete with RETAIN policy
       TagMutability.IMMUTABLE,
       RemovalPolicy.RETAIN,
-      encryption);
+      encryption,
+      null);
 
     var principal = Principal
       .builder()
@@ -254,7 +274,8 @@ class SynthesizerConstructsTest {
       false,
       TagMutability.MUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var principal = Principal
       .builder()
@@ -298,7 +319,7 @@ class SynthesizerConstructsTest {
       Map.of());
 
     var encryption = new Encryption(false, null);
-    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption);
+    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption, null);
 
     var principal = Principal
       .builder()
@@ -357,7 +378,7 @@ class SynthesizerConstructsTest {
       Map.of("Versioning", "enabled"));
 
     var encryption = new Encryption(true, kms);
-    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption);
+    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption, null);
 
     var principal = Principal
       .builder()
@@ -407,7 +428,8 @@ class SynthesizerConstructsTest {
       true,
       TagMutability.IMMUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     var principal = Principal
       .builder()
@@ -451,7 +473,7 @@ class SynthesizerConstructsTest {
       Map.of());
 
     var encryption = new Encryption(false, null);
-    var ecr = new EcrRepository("minimal-ecr", false, false, TagMutability.MUTABLE, RemovalPolicy.DESTROY, encryption);
+    var ecr = new EcrRepository("minimal-ecr", false, false, TagMutability.MUTABLE, RemovalPolicy.DESTROY, encryption, null);
 
     var principal = Principal
       .builder()
@@ -495,7 +517,7 @@ class SynthesizerConstructsTest {
       Map.of());
 
     var encryption = new Encryption(false, null);
-    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption);
+    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption, null);
 
     var principal = Principal
       .builder()
@@ -539,7 +561,7 @@ class SynthesizerConstructsTest {
       Map.of());
 
     var encryption = new Encryption(false, null);
-    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption);
+    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption, null);
 
     var principal = Principal
       .builder()
@@ -583,7 +605,7 @@ class SynthesizerConstructsTest {
       Map.of("Environment", "production", "CostCenter", "engineering"));
 
     var encryption = new Encryption(false, null);
-    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption);
+    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption, null);
 
     var principal = Principal
       .builder()
@@ -636,7 +658,7 @@ class SynthesizerConstructsTest {
       Map.of());
 
     var encryption = new Encryption(true, kms);
-    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption);
+    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption, null);
 
     var principal = Principal
       .builder()
@@ -680,7 +702,7 @@ class SynthesizerConstructsTest {
       Map.of());
 
     var encryption = new Encryption(false, null);
-    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption);
+    var ecr = new EcrRepository("ecr", true, true, TagMutability.IMMUTABLE, RemovalPolicy.DESTROY, encryption, null);
 
     var principal = Principal
       .builder()
@@ -56,7 +56,8 @@ class InitConstructsTest {
       false, // emptyOnDelete must be false when RemovalPolicy is RETAIN
       TagMutability.IMMUTABLE,
       RemovalPolicy.RETAIN,
-      encryption);
+      encryption,
+      null);
 
     var principal = Principal
       .builder()
@@ -203,7 +204,8 @@ class InitConstructsTest {
       false,
       TagMutability.MUTABLE,
       RemovalPolicy.DESTROY,
-      encryption2);
+      encryption2,
+      null);
 
     var principal = Principal
       .builder()
@@ -89,6 +89,20 @@ public class FormatTest {
     assertEquals("host123-hosted456-resource", result);
   }
 
+  @Test
+  public void testParameterMethod() {
+    Construct scope = mock(Construct.class);
+    Node node = mock(Node.class);
+
+    when(scope.getNode()).thenReturn(node);
+    when(node.tryGetContext("hosted:synthesizer:name")).thenReturn(null);
+    when(node.getContext("host:id")).thenReturn("host123");
+    when(node.getContext("hosted:id")).thenReturn("hosted456");
+
+    String result = Format.parameter(scope, "vpcid");
+    assertEquals("/host123/hosted456/vpcid", result);
+  }
+
   @Test
   public void testExportedMethodWithSynthesizerName() {
     // Test Format.exported() with hosted:synthesizer:name present
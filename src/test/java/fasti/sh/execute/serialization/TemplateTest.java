@@ -3,6 +3,7 @@ package fasti.sh.execute.serialization;
 import static fasti.sh.test.CdkTestUtil.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.security.InvalidParameterException;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -92,4 +93,47 @@ class TemplateTest {
     assertEquals("us-east-1", defaults.get("host:region"));
     assertEquals("test-deployment", defaults.get("host:name"));
   }
+
+  @Test
+  void testImageLambdaRewritesToPullThroughCacheWhenEnabled() {
+    var ctx = createTestContext();
+
+    assertEquals(
+      "image: \"quay.io/jetstack/cert-manager-controller\"",
+      Template.parse(ctx.scope(), "test/image-template.mustache").strip());
+
+    ctx.scope().getNode().setContext(Template.CACHE, Map.of("quay.io", "quay-mirror"));
+
+    assertEquals(
+      "image: \"123456789012.dkr.ecr.us-east-1.amazonaws.com/quay-mirror/jetstack/cert-manager-controller\"",
+      Template.parse(ctx.scope(), "test/image-template.mustache").strip());
+  }
+
+  @Test
+  void testCachesAcceptStringContextAndRejectFlags() {
+    var ctx = createTestContext();
+    ctx.scope().getNode().setContext(Template.CACHE, "{\"registry.k8s.io\": \"kubernetes\"}");
+
+    assertEquals(Map.of("registry.k8s.io", "kubernetes"), Template.caches(ctx.scope()));
+
+    var flag = createTestContext();
+    flag.scope().getNode().setContext(Template.CACHE, "true");
+
+    assertThrows(InvalidParameterException.class, () -> Template.caches(flag.scope()));
+  }
+
+  @Test
+  void testCachedResolvesDockerHubAndKeepsUnknownRegistries() {
+    var registry = "123456789012.dkr.ecr.us-east-1.amazonaws.com";
+    var caches = Map.of("registry-1.docker.io", "docker-hub", "public.ecr.aws", "ecr-public");
+
+    assertEquals(registry + "/docker-hub/library/redis:7", Template.cached(registry, caches, "redis:7"));
+    assertEquals(registry + "/docker-hub/grafana/alloy:v1.5.0", Template.cached(registry, caches, "grafana/alloy:v1.5.0"));
+    assertEquals(registry + "/docker-hub/grafana/grafana", Template.cached(registry, caches, "docker.io/grafana/grafana"));
+    assertEquals(
+      registry + "/ecr-public/karpenter/controller:1.0.0",
+      Template.cached(registry, caches, "public.ecr.aws/karpenter/controller:1.0.0"));
+    assertEquals("mcr.microsoft.com/dotnet/runtime:8.0", Template.cached(registry, caches, "mcr.microsoft.com/dotnet/runtime:8.0"));
+    assertEquals("redis:7", Template.cached(registry, Map.of(), "redis:7"));
+  }
 }
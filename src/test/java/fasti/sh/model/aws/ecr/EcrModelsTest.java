@@ -49,7 +49,8 @@ class EcrModelsTest {
       false,
       TagMutability.MUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     assertEquals("my-repo", repo.name());
     assertTrue(repo.scanOnPush());
@@ -67,7 +68,8 @@ class EcrModelsTest {
       true,
       TagMutability.IMMUTABLE,
       RemovalPolicy.DESTROY,
-      encryption);
+      encryption,
+      null);
 
     assertTrue(repo.encryption().enabled());
     assertEquals(TagMutability.IMMUTABLE, repo.tagMutability());
@@ -77,8 +79,8 @@ class EcrModelsTest {
   @Test
   void testEcrRepositoryEquality() {
     var encryption = new Encryption(false, null);
-    var repo1 = new EcrRepository("repo", true, false, TagMutability.MUTABLE, RemovalPolicy.DESTROY, encryption);
-    var repo2 = new EcrRepository("repo", true, false, TagMutability.MUTABLE, RemovalPolicy.DESTROY, encryption);
+    var repo1 = new EcrRepository("repo", true, false, TagMutability.MUTABLE, RemovalPolicy.DESTROY, encryption, null);
+    var repo2 = new EcrRepository("repo", true, false, TagMutability.MUTABLE, RemovalPolicy.DESTROY, encryption, null);
 
     assertRecordEquality(repo1, repo2);
     assertRecordToString(repo1);
@@ -93,7 +95,8 @@ class EcrModelsTest {
       false,
       TagMutability.IMMUTABLE,
       RemovalPolicy.RETAIN,
-      encryption);
+      encryption,
+      null);
 
     assertEquals(TagMutability.IMMUTABLE, repo.tagMutability());
     assertEquals(RemovalPolicy.RETAIN, repo.removalPolicy());
@@ -43,7 +43,7 @@ class EksModelsTest {
     var admin = new Tenant("admin@example.com", "admin", "admin");
     var user = new Tenant("user@example.com", "developer", "dev");
 
-    var tenancy = new TenancyConf(List.of(admin), List.of(user));
+    var tenancy = new TenancyConf(List.of(admin), List.of(user), null);
 
     assertEquals(1, tenancy.administrators().size());
     assertEquals(1, tenancy.users().size());
@@ -57,7 +57,7 @@ class EksModelsTest {
     var admin1 = new Tenant("admin1@example.com", "admin", "admin1");
     var admin2 = new Tenant("admin2@example.com", "admin", "admin2");
 
-    var tenancy = new TenancyConf(List.of(admin1, admin2), List.of());
+    var tenancy = new TenancyConf(List.of(admin1, admin2), List.of(), null);
 
     assertEquals(2, tenancy.administrators().size());
     assertTrue(tenancy.users().isEmpty());
@@ -69,7 +69,7 @@ class EksModelsTest {
     var user2 = new Tenant("user2@example.com", "developer", "user2");
     var user3 = new Tenant("user3@example.com", "viewer", "user3");
 
-    var tenancy = new TenancyConf(List.of(), List.of(user1, user2, user3));
+    var tenancy = new TenancyConf(List.of(), List.of(user1, user2, user3), null);
 
     assertTrue(tenancy.administrators().isEmpty());
     assertEquals(3, tenancy.users().size());
@@ -77,10 +77,19 @@ class EksModelsTest {
 
   @Test
   void testTenancyConfEmpty() {
-    var tenancy = new TenancyConf(List.of(), List.of());
+    var tenancy = new TenancyConf(List.of(), List.of(), null);
 
     assertTrue(tenancy.administrators().isEmpty());
     assertTrue(tenancy.users().isEmpty());
+    assertFalse(tenancy.accessEntries());
+  }
+
+  @Test
+  void testTenancyConfAccessEntries() {
+    var tenancy = new TenancyConf(List.of(), List.of(), "ACCESS_ENTRIES");
+
+    assertTrue(tenancy.accessEntries());
+    assertFalse(new TenancyConf(List.of(), List.of(), TenancyConf.CONFIG_MAP).accessEntries());
   }
 
   @Test
@@ -91,7 +100,8 @@ class EksModelsTest {
       "my-nginx",
       "https://kubernetes.github.io/ingress-nginx",
       "values.yaml",
-      "4.0.0");
+      "4.0.0",
+      false);
 
     assertEquals("nginx-ingress", chart.name());
     assertEquals("ingress-nginx", chart.namespace());
@@ -110,7 +120,8 @@ class EksModelsTest {
       "cert-manager-release",
       "https://charts.jetstack.io",
       "cert-manager-values.yaml",
-      "v1.12.0");
+      "v1.12.0",
+      false);
 
     assertEquals("cert-manager", chart.name());
     assertEquals("cert-manager", chart.namespace());
@@ -125,7 +136,8 @@ class EksModelsTest {
       "prometheus-release",
       "https://prometheus-community.github.io/helm-charts",
       null,
-      "15.0.0");
+      "15.0.0",
+      false);
 
     assertEquals("prometheus", chart.name());
     assertEquals("monitoring", chart.namespace());
@@ -134,8 +146,8 @@ class EksModelsTest {
 
   @Test
   void testHelmChartEquality() {
-    var chart1 = new HelmChart("app", "default", "release1", "repo", "values", "1.0");
-    var chart2 = new HelmChart("app", "default", "release1", "repo", "values", "1.0");
+    var chart1 = new HelmChart("app", "default", "release1", "repo", "values", "1.0", false);
+    var chart2 = new HelmChart("app", "default", "release1", "repo", "values", "1.0", false);
 
     assertRecordEquality(chart1, chart2);
   }
@@ -164,6 +176,8 @@ class EksModelsTest {
       2,
       software.amazon.awscdk.services.ec2.InstanceClass.M5,
       software.amazon.awscdk.services.ec2.InstanceSize.LARGE,
+      null,
+      null,
       5,
       1,
       "default-node-group",
@@ -210,6 +224,8 @@ class EksModelsTest {
       3,
       software.amazon.awscdk.services.ec2.InstanceClass.T4G,
       software.amazon.awscdk.services.ec2.InstanceSize.MEDIUM,
+      List.of("t3a.medium", "t3.medium"),
+      new NodeLaunchTemplateConf(new NodeVolumeConf(null, 100, 6000, 500, true, null), true, new KubeletConf(110, 85, 80)),
       10,
       2,
       "spot-node-group",
@@ -221,6 +237,9 @@ class EksModelsTest {
     assertTrue(nodeGroup.forceUpdate());
     assertEquals(software.amazon.awscdk.services.eks.NodegroupAmiType.AL2_ARM_64, nodeGroup.amiType());
     assertEquals("spot-node-group", nodeGroup.name());
+    assertEquals(2, nodeGroup.instanceTypes().size());
+    assertEquals(500, nodeGroup.launchTemplate().volume().throughput());
+    assertEquals(110, nodeGroup.launchTemplate().kubelet().maxPods());
   }
 
   @Test
@@ -307,6 +326,8 @@ class EksModelsTest {
       "{\"managed\":{}}",
       "{\"queues\":[]}",
       "{\"metrics\":{}}",
+      "eks/image-cache.json",
+      new KubectlConf(4096, java.util.Map.of("HTTPS_PROXY", "http://proxy:3128")),
       java.util.Map.of("app.kubernetes.io/managed-by", "cdk"),
       java.util.Map.of("cluster-name", "my-cluster"),
       java.util.Map.of("Environment", "production"));
@@ -323,12 +344,25 @@ class EksModelsTest {
     assertEquals(2, config.vpcSubnetTypes().size());
     assertNotNull(config.nodeGroups());
     assertNotNull(config.addons());
+    assertEquals("eks/image-cache.json", config.imageCache());
+    assertEquals(4096, config.kubectl().memory());
+    assertEquals("http://proxy:3128", config.kubectl().environment().get("HTTPS_PROXY"));
     assertEquals("cdk", config.annotations().get("app.kubernetes.io/managed-by"));
     assertEquals("my-cluster", config.labels().get("cluster-name"));
     assertEquals("production", config.tags().get("Environment"));
     assertRecordToString(config);
   }
 
+  @Test
+  void testKubectlConfRejectsImportedClusterSettings() {
+    var mapper = fasti.sh.execute.serialization.Mapper.get();
+
+    var imported = "memory: 2048\nroleArn: arn:aws:iam::123456789012:role/kubectl\n";
+
+    assertThrows(Exception.class, () -> mapper.readValue(imported, KubectlConf.class));
+    assertEquals(2048, assertDoesNotThrow(() -> mapper.readValue("memory: 2048\n", KubectlConf.class)).memory());
+  }
+
   @Test
   void testKubernetesConfMinimal() {
     var config = new KubernetesConf(
@@ -344,6 +378,8 @@ class EksModelsTest {
       "{}",
       "{}",
       "{}",
+      null,
+      null,
       java.util.Map.of(),
       java.util.Map.of(),
       java.util.Map.of());
@@ -351,6 +387,8 @@ class EksModelsTest {
     assertEquals("minimal-cluster", config.name());
     assertEquals("1.27", config.version());
     assertFalse(config.prune());
+    assertNull(config.kubectl());
+    assertNull(config.imageCache());
     assertTrue(config.loggingTypes().isEmpty());
     assertTrue(config.annotations().isEmpty());
     assertTrue(config.labels().isEmpty());
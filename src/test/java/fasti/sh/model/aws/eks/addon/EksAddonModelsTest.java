@@ -103,13 +103,13 @@ class EksAddonModelsTest {
 
   @Test
   void testManagedAddonsBasic() {
-    var coreDns = ManagedAddon
+    var coreDns = CoreDnsAddon
       .builder()
       .name("coredns")
       .version("v1.10.1")
       .build();
 
-    var kubeProxy = ManagedAddon
+    var kubeProxy = KubeProxyAddon
       .builder()
       .name("kube-proxy")
       .version("v1.28.2")
@@ -144,19 +144,19 @@ class EksAddonModelsTest {
 
     var ebsCsi = new AwsEbsCsiAddon(kms, "gp3");
 
-    var vpcCni = ManagedAddon
+    var vpcCni = AwsVpcCniAddon
       .builder()
       .name("vpc-cni")
       .version("v1.15.1")
       .build();
 
-    var coreDns = ManagedAddon
+    var coreDns = CoreDnsAddon
       .builder()
       .name("coredns")
       .version("v1.10.1")
       .build();
 
-    var kubeProxy = ManagedAddon
+    var kubeProxy = KubeProxyAddon
       .builder()
       .name("kube-proxy")
       .version("v1.28.2")
@@ -198,7 +198,8 @@ class EksAddonModelsTest {
       "cert-manager-release",
       "https://charts.jetstack.io",
       null,
-      "v1.13.2");
+      "v1.13.2",
+      false);
 
     var addon = new CertManagerAddon(chart);
 
@@ -237,9 +238,10 @@ class EksAddonModelsTest {
       "aws-load-balancer-controller-release",
       "https://aws.github.io/eks-charts",
       null,
-      "1.6.2");
+      "1.6.2",
+      false);
 
-    var addon = new AwsLoadBalancerAddon(chart, serviceAccount);
+    var addon = new AwsLoadBalancerAddon(chart, serviceAccount, null);
 
     assertNotNull(addon.chart());
     assertNotNull(addon.serviceAccount());
@@ -256,7 +258,8 @@ class EksAddonModelsTest {
       "secrets-store-csi-driver-release",
       "https://kubernetes-sigs.github.io/secrets-store-csi-driver/charts",
       null,
-      "1.4.0");
+      "1.4.0",
+      false);
 
     var addon = new AwsSecretsStoreAddon(chart);
 
@@ -298,7 +301,8 @@ class EksAddonModelsTest {
       "grafana-release",
       "https://grafana.github.io/helm-charts",
       null,
-      "7.0.8");
+      "7.0.8",
+      false);
 
     var addon = new GrafanaAddon(chart, "grafana-secret");
 
@@ -316,7 +320,8 @@ class EksAddonModelsTest {
       "alloy-operator-release",
       "https://grafana.github.io/helm-charts",
       null,
-      "0.1.0");
+      "0.1.0",
+      false);
 
     var addon = new AlloyOperatorAddon(chart, "alloy-secret");
 
@@ -355,9 +360,10 @@ class EksAddonModelsTest {
       "karpenter-release",
       "oci://public.ecr.aws/karpenter",
       null,
-      "v0.32.1");
+      "v0.32.1",
+      false);
 
-    var addon = new KarpenterAddon(chart, podIdentity);
+    var addon = new KarpenterAddon(chart, podIdentity, null, null);
 
     assertNotNull(addon.chart());
     assertNotNull(addon.podIdentity());
@@ -374,7 +380,8 @@ class EksAddonModelsTest {
       "cert-manager-release",
       "https://charts.jetstack.io",
       null,
-      "v1.13.2");
+      "v1.13.2",
+      false);
 
     var certManager = new CertManagerAddon(certManagerChart);
 
@@ -385,6 +392,11 @@ class EksAddonModelsTest {
       certManager,
       null,
       null,
+      null,
+      null,
+      null,
+      null,
+      null,
       null);
 
     assertNotNull(addons.certManager());
@@ -396,7 +408,7 @@ class EksAddonModelsTest {
 
   @Test
   void testAddonsConfComplete() {
-    var coreDns = ManagedAddon
+    var coreDns = CoreDnsAddon
       .builder()
       .name("coredns")
       .version("v1.10.1")
@@ -410,7 +422,8 @@ class EksAddonModelsTest {
       "secrets-store-release",
       "https://kubernetes-sigs.github.io/secrets-store-csi-driver/charts",
       null,
-      "1.4.0");
+      "1.4.0",
+      false);
 
     var secretsStore = new AwsSecretsStoreAddon(secretsStoreChart);
 
@@ -441,9 +454,10 @@ class EksAddonModelsTest {
       "alb-controller-release",
       "https://aws.github.io/eks-charts",
       null,
-      "1.6.2");
+      "1.6.2",
+      false);
 
-    var albAddon = new AwsLoadBalancerAddon(albChart, albServiceAccount);
+    var albAddon = new AwsLoadBalancerAddon(albChart, albServiceAccount, null);
 
     var certManagerChart = new HelmChart(
       "cert-manager",
@@ -451,7 +465,8 @@ class EksAddonModelsTest {
       "cert-manager-release",
       "https://charts.jetstack.io",
       null,
-      "v1.13.2");
+      "v1.13.2",
+      false);
 
     var certManager = new CertManagerAddon(certManagerChart);
 
@@ -461,7 +476,8 @@ class EksAddonModelsTest {
       "grafana-release",
       "https://grafana.github.io/helm-charts",
       null,
-      "7.0.8");
+      "7.0.8",
+      false);
 
     var grafana = new GrafanaAddon(grafanaChart, "grafana-secret");
 
@@ -471,7 +487,8 @@ class EksAddonModelsTest {
       "alloy-release",
       "https://grafana.github.io/helm-charts",
       null,
-      "0.1.0");
+      "0.1.0",
+      false);
 
     var alloy = new AlloyOperatorAddon(alloyChart, "alloy-secret");
 
@@ -495,9 +512,10 @@ class EksAddonModelsTest {
       "karpenter-release",
       "oci://public.ecr.aws/karpenter",
       null,
-      "v0.32.1");
+      "v0.32.1",
+      false);
 
-    var karpenter = new KarpenterAddon(karpenterChart, karpenterPodIdentity);
+    var karpenter = new KarpenterAddon(karpenterChart, karpenterPodIdentity, null, null);
 
     var addons = new AddonsConf(
       managedAddons,
@@ -506,7 +524,12 @@ class EksAddonModelsTest {
       certManager,
       karpenter,
       alloy,
-      grafana);
+      grafana,
+      null,
+      null,
+      null,
+      null,
+      Map.of("grafana", List.of("alloyOperator")));
 
     assertNotNull(addons.managed());
     assertNotNull(addons.awsSecretsStore());
@@ -515,6 +538,7 @@ class EksAddonModelsTest {
     assertNotNull(addons.karpenter());
     assertNotNull(addons.alloyOperator());
     assertNotNull(addons.grafana());
+    assertEquals(List.of("alloyOperator"), addons.dependencies().get("grafana"));
   }
 
   @Test
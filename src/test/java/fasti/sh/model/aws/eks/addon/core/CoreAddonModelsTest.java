@@ -25,7 +25,8 @@ class CoreAddonModelsTest {
       "test-namespace",
       "https://charts.example.com",
       "values.yaml",
-      "1.0.0");
+      "1.0.0",
+      false);
   }
 
   private ServiceAccountConf createTestServiceAccount() {
@@ -146,7 +147,7 @@ class CoreAddonModelsTest {
   void testAwsLoadBalancerAddonInstantiation() {
     var chart = createTestHelmChart();
     var serviceAccount = createTestServiceAccount();
-    var addon = new AwsLoadBalancerAddon(chart, serviceAccount);
+    var addon = new AwsLoadBalancerAddon(chart, serviceAccount, null);
 
     assertNotNull(addon.chart());
     assertNotNull(addon.serviceAccount());
@@ -157,7 +158,7 @@ class CoreAddonModelsTest {
   void testAwsLoadBalancerAddonSerialization() throws Exception {
     var chart = createTestHelmChart();
     var serviceAccount = createTestServiceAccount();
-    var addon = new AwsLoadBalancerAddon(chart, serviceAccount);
+    var addon = new AwsLoadBalancerAddon(chart, serviceAccount, null);
 
     var json = Mapper.get().writeValueAsString(addon);
 
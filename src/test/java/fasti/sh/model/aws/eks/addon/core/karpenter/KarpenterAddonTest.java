@@ -26,7 +26,8 @@ class KarpenterAddonTest {
       "karpenter",
       "https://charts.karpenter.sh",
       "values.yaml",
-      "v0.32.0");
+      "v0.32.0",
+      false);
 
     var principal = Principal
       .builder()
@@ -49,7 +50,7 @@ class KarpenterAddonTest {
 
     var podIdentity = new PodIdentity(metadata, role, Map.of());
 
-    var addon = new KarpenterAddon(chart, podIdentity);
+    var addon = new KarpenterAddon(chart, podIdentity, null, null);
 
     assertNotNull(addon.chart());
     assertNotNull(addon.podIdentity());
@@ -65,7 +66,8 @@ class KarpenterAddonTest {
       "kube-system",
       "https://charts.karpenter.sh",
       "karpenter/values.yaml",
-      "v0.31.0");
+      "v0.31.0",
+      false);
 
     var principal = Principal
       .builder()
@@ -88,7 +90,7 @@ class KarpenterAddonTest {
 
     var podIdentity = new PodIdentity(metadata, role, Map.of());
 
-    var addon = new KarpenterAddon(chart, podIdentity);
+    var addon = new KarpenterAddon(chart, podIdentity, null, null);
 
     var json = Mapper.get().writeValueAsString(addon);
 
@@ -138,4 +140,41 @@ class KarpenterAddonTest {
     assertNotNull(addon.podIdentity());
     assertEquals("karpenter", addon.chart().name());
   }
+
+  @Test
+  void testKarpenterAddonNodeClassesAndPoolsDeserialization() throws Exception {
+    var json = """
+      {
+        "nodeClasses": [
+          {
+            "name": "default",
+            "amiFamily": "al2023",
+            "role": "karpenter-node",
+            "volume": { "size": 100, "throughput": 250, "encrypted": true }
+          }
+        ],
+        "nodePools": [
+          {
+            "name": "spot",
+            "nodeClass": "default",
+            "weight": 100,
+            "instanceCategories": ["c", "m"],
+            "architectures": ["arm64"],
+            "capacityTypes": ["spot"],
+            "budgets": [{ "nodes": "10%", "reasons": ["Underutilized"] }],
+            "expireAfter": "720h"
+          }
+        ]
+      }
+      """;
+
+    var addon = Mapper.get().readValue(json, KarpenterAddon.class);
+
+    assertNull(addon.chart());
+    assertEquals(250, addon.nodeClasses().get(0).volume().throughput());
+    assertTrue(addon.nodeClasses().get(0).subnetSelector().isEmpty());
+    assertEquals(100, addon.nodePools().get(0).weight());
+    assertEquals(List.of("spot"), addon.nodePools().get(0).capacityTypes());
+    assertEquals("10%", addon.nodePools().get(0).budgets().get(0).nodes());
+  }
 }
@@ -117,19 +117,19 @@ class ManagedAddonModelsTest {
   void testManagedAddonsInstantiation() {
     var ebsCsi = new AwsEbsCsiAddon();
 
-    var vpcCni = ManagedAddon
+    var vpcCni = AwsVpcCniAddon
       .builder()
       .name("vpc-cni")
       .version("v1.12.0")
       .build();
 
-    var coreDns = ManagedAddon
+    var coreDns = CoreDnsAddon
       .builder()
       .name("coredns")
       .version("v1.9.3")
       .build();
 
-    var kubeProxy = ManagedAddon
+    var kubeProxy = KubeProxyAddon
       .builder()
       .name("kube-proxy")
       .version("v1.27.1")
@@ -153,7 +153,7 @@ class ManagedAddonModelsTest {
 
   @Test
   void testManagedAddonsSerialization() throws Exception {
-    var vpcCni = ManagedAddon
+    var vpcCni = AwsVpcCniAddon
       .builder()
       .name("vpc-cni")
       .version("v1.12.0")